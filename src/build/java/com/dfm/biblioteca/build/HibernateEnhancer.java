@@ -0,0 +1,75 @@
+package com.dfm.biblioteca.build;
+
+import org.hibernate.bytecode.enhance.spi.DefaultEnhancementContext;
+import org.hibernate.bytecode.enhance.spi.EnhancementContext;
+import org.hibernate.bytecode.enhance.spi.Enhancer;
+import org.hibernate.bytecode.enhance.spi.UnloadedClass;
+import org.hibernate.bytecode.enhance.spi.UnloadedField;
+import org.hibernate.bytecode.internal.BytecodeProviderInitiator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Enhancement de bytecode do Hibernate em tempo de build, executado pelo pom na fase process-classes como
+ * programa de arquivo único (java HibernateEnhancer.java &lt;classes&gt; &lt;pacote&gt;...).
+ *
+ * Liga dirty tracking inline e carga lazy de atributos básicos (@Basic(fetch = LAZY) / @LazyGroup). Só as
+ * classes do pacote informado são lidas; as que não são entidades e as já enhanced são ignoradas pelo próprio
+ * Enhancer, então rodar de novo sobre um build incremental não muda nada.
+ */
+public final class HibernateEnhancer {
+
+    private HibernateEnhancer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: HibernateEnhancer <classes directory> <package>...");
+        }
+        Path classes = Path.of(args[0]);
+        ClassLoader loader = HibernateEnhancer.class.getClassLoader();
+        EnhancementContext context = new DefaultEnhancementContext() {
+            @Override
+            public ClassLoader getLoadingClassLoader() {
+                return loader;
+            }
+
+            @Override
+            public boolean doBiDirectionalAssociationManagement(UnloadedField field) {
+                return false;
+            }
+
+            @Override
+            public boolean doExtendedEnhancement(UnloadedClass classDescriptor) {
+                return false;
+            }
+        };
+        Enhancer enhancer = BytecodeProviderInitiator.buildDefaultBytecodeProvider().getEnhancer(context);
+
+        int enhanced = 0;
+        for (int i = 1; i < args.length; i++) {
+            Path directory = classes.resolve(args[i].replace('.', '/'));
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                // Classes com $ são internas ou geradas pelo Micronaut (introspecções), nunca entidades
+                files = stream.filter(file -> file.getFileName().toString().endsWith(".class"))
+                        .filter(file -> !file.getFileName().toString().contains("$"))
+                        .toList();
+            }
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String className = args[i] + "." + fileName.substring(0, fileName.length() - ".class".length());
+                byte[] result = enhancer.enhance(className, Files.readAllBytes(file));
+                if (result != null) {
+                    Files.write(file, result);
+                    enhanced++;
+                }
+            }
+        }
+        System.out.println("Hibernate enhancement: " + enhanced + " class(es) enhanced");
+    }
+}
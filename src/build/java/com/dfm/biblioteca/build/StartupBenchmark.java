@@ -0,0 +1,170 @@
+package com.dfm.biblioteca.build;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Benchmark de startup do BibliotecaApplication, executado pelo profile startup-benchmark como programa de
+ * arquivo único (java StartupBenchmark.java &lt;execuções&gt; &lt;jar&gt; [binário nativo]).
+ *
+ * Cada execução sobe um processo novo contra um H2 em memória, em uma porta livre, e mede o tempo entre o
+ * spawn e a primeira resposta 200 de /health (o health indicator de JDBC já passa pelo pool, então o tempo
+ * inclui o bootstrap do Hibernate e os jobs de StartupEvent). O RSS é lido de /proc/&lt;pid&gt;/status nesse
+ * instante (VmRSS) junto com o pico até ali (VmHWM); fora do Linux só o tempo é medido. O binário nativo é
+ * opcional: se não existir (build sem -Pnative-image), só a JVM é medida.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+    private static final long POLL_INTERVAL_MS = 5;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: StartupBenchmark <runs> <jar> [native binary]");
+        }
+        int runs = Integer.parseInt(args[0]);
+        Path jar = Path.of(args[1]);
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Jar not found: " + jar + " (run the package phase first)");
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Target> targets = new ArrayList<>();
+        targets.add(new Target("jvm", List.of(java, "-jar", jar.toString())));
+        if (args.length > 2 && Files.isExecutable(Path.of(args[2]))) {
+            targets.add(new Target("native", List.of(args[2])));
+        } else {
+            System.out.println("Native binary not found, measuring the JVM only");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        System.out.printf("%-8s %4s %12s %10s %10s%n", "target", "run", "first (ms)", "RSS (MB)", "peak (MB)");
+        List<String> summaries = new ArrayList<>();
+        for (Target target : targets) {
+            // Primeira execução descartada: tira do resultado o cache frio de disco do jar/binário
+            measure(target, client);
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Sample sample = measure(target, client);
+                samples.add(sample);
+                System.out.printf("%-8s %4d %12.1f %10.1f %10.1f%n", target.name(), run,
+                        sample.firstRequestMs(), sample.rssMb(), sample.peakRssMb());
+            }
+            summaries.add(summary(target.name(), samples));
+        }
+        System.out.println();
+        System.out.printf("%-8s %18s %18s %18s%n", "target", "first median (ms)", "RSS median (MB)", "peak median (MB)");
+        summaries.forEach(System.out::println);
+    }
+
+    private static Sample measure(Target target, HttpClient client) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(target.command());
+        // Logo após o executável: antes do -jar na JVM; o binário nativo também aceita -D na linha de comando
+        command.addAll(1, List.of(
+                "-Dmicronaut.server.port=" + port,
+                "-Ddatasources.default.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                "-Ddatasources.default.driver-class-name=org.h2.Driver",
+                "-Ddatasources.default.username=sa",
+                "-Ddatasources.default.password=",
+                "-Djpa.default.properties.hibernate.hbm2ddl.auto=create-drop"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(target.name() + " exited with code " + process.exitValue()
+                            + " before answering /health");
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(target.name() + " did not answer /health within " + TIMEOUT);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // Servidor ainda não abriu a porta
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            double firstRequestMs = (System.nanoTime() - start) / 1_000_000.0;
+            Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+            return new Sample(firstRequestMs, memoryMb(status, "VmRSS:"), memoryMb(status, "VmHWM:"));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static double memoryMb(Path status, String field) {
+        if (!Files.isReadable(status)) {
+            return Double.NaN;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(field)) {
+                    // Formato: "VmRSS:     123456 kB"
+                    String kb = line.substring(field.length()).trim().split("\\s+")[0];
+                    return Long.parseLong(kb) / 1024.0;
+                }
+            }
+            return Double.NaN;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String summary(String target, List<Sample> samples) {
+        return String.format("%-8s %18.1f %18.1f %18.1f", target,
+                median(samples, Sample::firstRequestMs), median(samples, Sample::rssMb),
+                median(samples, Sample::peakRssMb));
+    }
+
+    private static double median(List<Sample> samples, ToDoubleFunction<Sample> metric) {
+        double[] values = samples.stream().mapToDouble(metric).sorted().toArray();
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Target(String name, List<String> command) {
+    }
+
+    private record Sample(double firstRequestMs, double rssMb, double peakRssMb) {
+    }
+}
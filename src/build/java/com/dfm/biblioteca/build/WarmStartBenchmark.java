@@ -0,0 +1,285 @@
+package com.dfm.biblioteca.build;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Benchmark de tempo até o pico de throughput, executado pelo profile warm-start como programa de arquivo
+ * único (java WarmStartBenchmark.java &lt;execuções&gt; &lt;segundos&gt; &lt;jar&gt; &lt;arquivo AppCDS&gt; &lt;diretório CRaC&gt;).
+ *
+ * Compara o java -jar puro com o mesmo jar usando o arquivo AppCDS do treino e, se o checkpoint existir, com
+ * o restore CRaC. Cada execução sobe um processo novo contra H2 em memória, configurado por um arquivo em
+ * MICRONAUT_CONFIG_FILES (o ambiente é relido pelo processo restaurado), espera /health, popula usuários pelo
+ * import e dispara leituras por CPF, listagem e busca por nome com clientes concorrentes. As respostas são
+ * contadas em janelas de 500 ms desde o spawn: o pico é a mediana do último terço da carga, e o tempo até o
+ * pico é o fim da primeira janela cuja média móvel de três janelas chega a 90% dele. Uma requisição sem
+ * resposta em 30 s aborta o benchmark, já que um servidor travado não tem tempo até o pico. A segurança fica
+ * desligada só nesses processos para a carga alcançar as rotas de /users.
+ */
+public final class WarmStartBenchmark {
+
+    private static final int CLIENTS = 8;
+    private static final int SEED_USERS = 500;
+    private static final long BUCKET_MS = 500;
+    private static final double PEAK_FRACTION = 0.9;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    // Uma resposta que demora isso indica servidor travado: a execução é abortada, não contada como erro
+    private static final Duration STALL_TIMEOUT = Duration.ofSeconds(30);
+
+    private WarmStartBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException(
+                    "Usage: WarmStartBenchmark <runs> <seconds> <jar> [AppCDS archive] [CRaC checkpoint directory]");
+        }
+        int runs = Integer.parseInt(args[0]);
+        int seconds = Integer.parseInt(args[1]);
+        Path jar = Path.of(args[2]);
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Jar not found: " + jar + " (run the package phase first)");
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Target> targets = new ArrayList<>();
+        targets.add(new Target("jar", List.of(java, "-jar", jar.toString())));
+        if (args.length > 3 && Files.isRegularFile(Path.of(args[3]))) {
+            targets.add(new Target("appcds", List.of(java, "-XX:SharedArchiveFile=" + args[3], "-jar", jar.toString())));
+        } else {
+            System.out.println("AppCDS archive not found, skipping appcds");
+        }
+        if (args.length > 4 && Files.isDirectory(Path.of(args[4]))) {
+            targets.add(new Target("crac", List.of(java, "-XX:CRaCRestoreFrom=" + args[4])));
+        } else {
+            System.out.println("CRaC checkpoint not found, skipping crac");
+        }
+
+        System.out.printf("%-7s %4s %12s %14s %12s %8s%n", "target", "run", "first (ms)", "to peak (ms)", "peak (req/s)", "errors");
+        List<String> summaries = new ArrayList<>();
+        for (Target target : targets) {
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Sample sample = measure(target, seconds);
+                samples.add(sample);
+                System.out.printf("%-7s %4d %12.0f %14.0f %12.0f %8d%n", target.name(), run,
+                        sample.firstRequestMs(), sample.timeToPeakMs(), sample.peakThroughput(), sample.errors());
+            }
+            summaries.add(String.format("%-7s %20.0f %22.0f %20.0f", target.name(),
+                    median(samples, Sample::firstRequestMs), median(samples, Sample::timeToPeakMs),
+                    median(samples, Sample::peakThroughput)));
+        }
+        System.out.println();
+        System.out.printf("%-7s %20s %22s %20s%n", "target", "first median (ms)", "to peak median (ms)", "peak median (req/s)");
+        summaries.forEach(System.out::println);
+    }
+
+    private static Sample measure(Target target, int seconds) throws Exception {
+        int port = freePort();
+        ProcessBuilder builder = new ProcessBuilder(target.command())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        // Lido na subida do contexto, inclusive no processo restaurado do checkpoint, que mantém as -D do treino
+        builder.environment().put("MICRONAUT_CONFIG_FILES", configuration(port).toString());
+
+        URI base = URI.create("http://localhost:" + port);
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build()) {
+            long start = System.nanoTime();
+            Process process = builder.start();
+            try {
+                awaitHealth(process, client, base, start);
+                double firstRequestMs = (System.nanoTime() - start) / 1_000_000.0;
+                seed(client, base);
+                return load(client, base, start, seconds, firstRequestMs);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+    }
+
+    private static Path configuration(int port) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("micronaut.server.port", Integer.toString(port));
+        properties.setProperty("micronaut.security.enabled", "false");
+        properties.setProperty("datasources.default.url", "jdbc:h2:mem:warm-start-benchmark;DB_CLOSE_DELAY=-1");
+        properties.setProperty("datasources.default.driver-class-name", "org.h2.Driver");
+        properties.setProperty("datasources.default.username", "sa");
+        properties.setProperty("datasources.default.password", "");
+        properties.setProperty("datasources.default.dialect", "H2");
+        properties.setProperty("jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop");
+        Path file = Files.createTempFile("warm-start-benchmark", ".properties");
+        file.toFile().deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, null);
+        }
+        return file;
+    }
+
+    private static void awaitHealth(Process process, HttpClient client, URI base, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/health")).timeout(Duration.ofSeconds(5)).build();
+        long deadline = start + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with code " + process.exitValue() + " before answering /health");
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Process did not answer /health within " + STARTUP_TIMEOUT);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Servidor ainda não abriu a porta
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void seed(HttpClient client, URI base) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED_USERS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"firstName\":\"").append(i % 2 == 0 ? "João" : "Ana")
+                    .append("\",\"lastName\":\"Silva\",\"birthDate\":\"1990-05-15\",\"cpf\":\"").append(cpf(i))
+                    .append("\",\"nationality\":\"Brasileira\",\"street\":\"Rua das Flores\",\"number\":\"").append(i)
+                    .append("\",\"neighborhood\":\"Centro\",\"zipCode\":\"30130100\",\"city\":\"Belo Horizonte\"")
+                    .append(",\"state\":\"MG\",\"country\":\"Brasil\",\"status\":\"REGULAR\"}");
+        }
+        body.append(']');
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/users/import"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static Sample load(HttpClient client, URI base, long start, int seconds, double firstRequestMs)
+            throws InterruptedException {
+        long loadStart = System.nanoTime();
+        long end = loadStart + TimeUnit.SECONDS.toNanos(seconds);
+        int buckets = (int) ((end - start) / TimeUnit.MILLISECONDS.toNanos(BUCKET_MS)) + 1;
+        AtomicLongArray completed = new AtomicLongArray(buckets);
+        LongAdder errors = new LongAdder();
+        AtomicReference<IllegalStateException> stall = new AtomicReference<>();
+
+        List<Thread> clients = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            int offset = c;
+            clients.add(Thread.ofPlatform().start(() -> {
+                for (long i = offset; System.nanoTime() < end && stall.get() == null; i += CLIENTS) {
+                    String cpf = cpf((int) (i % SEED_USERS));
+                    String path = switch ((int) (i % 4)) {
+                        case 0 -> "/users/cpf/" + cpf;
+                        case 1 -> "/users/cpf/" + cpf + "/status";
+                        case 2 -> "/users?size=20";
+                        default -> "/users/search?name=jo&size=20";
+                    };
+                    try {
+                        int status = client.send(HttpRequest.newBuilder(base.resolve(path)).timeout(STALL_TIMEOUT).build(),
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 200) {
+                            long now = System.nanoTime();
+                            completed.incrementAndGet((int) ((now - start) / TimeUnit.MILLISECONDS.toNanos(BUCKET_MS)));
+                        } else {
+                            errors.increment();
+                        }
+                    } catch (HttpTimeoutException e) {
+                        stall.compareAndSet(null, new IllegalStateException(
+                                "GET " + path + " got no response within " + STALL_TIMEOUT + "; the server is stalled", e));
+                        return;
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        if (stall.get() != null) {
+            throw stall.get();
+        }
+
+        // Janelas a partir da primeira inteira de carga; a última é parcial e fica de fora
+        int first = (int) ((loadStart - start) / TimeUnit.MILLISECONDS.toNanos(BUCKET_MS)) + 1;
+        double[] throughput = new double[Math.max(0, buckets - 1 - first)];
+        for (int b = 0; b < throughput.length; b++) {
+            throughput[b] = completed.get(first + b) * 1000.0 / BUCKET_MS;
+        }
+        double[] tail = Arrays.copyOfRange(throughput, throughput.length * 2 / 3, throughput.length);
+        double peak = median(tail);
+        double timeToPeakMs = Double.NaN;
+        for (int b = 2; b < throughput.length; b++) {
+            double average = (throughput[b - 2] + throughput[b - 1] + throughput[b]) / 3;
+            if (average >= peak * PEAK_FRACTION) {
+                timeToPeakMs = (first + b + 1) * (double) BUCKET_MS;
+                break;
+            }
+        }
+        return new Sample(firstRequestMs, timeToPeakMs, peak, errors.sum());
+    }
+
+    private static String cpf(int index) {
+        return "88" + String.format("%09d", index);
+    }
+
+    private static double median(List<Sample> samples, ToDoubleFunction<Sample> metric) {
+        return median(samples.stream().mapToDouble(metric).toArray());
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Target(String name, List<String> command) {
+    }
+
+    private record Sample(double firstRequestMs, double timeToPeakMs, double peakThroughput, long errors) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.infrastructure.index.CpfCodec;
+import com.dfm.biblioteca.infrastructure.index.CpfIdTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolução CPF→id em memória: HashMap&lt;String, Long&gt; (caminho por String) contra
+ * CpfCodec + CpfIdTable (caminho primitivo).
+ *
+ * As consultas são Strings novas, como chegam de uma requisição; depois da primeira passada o hash
+ * delas fica em cache na própria String, o que favorece o caminho por String. A alocação por operação
+ * vem do -prof gc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CpfIndexBenchmark {
+
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Map<String, Long> stringIndex;
+    private CpfIdTable packedIndex;
+    private String[] hits;
+    private String[] misses;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stringIndex = new HashMap<>((int) (size / 0.75f) + 1);
+        packedIndex = new CpfIdTable(size);
+        for (int i = 0; i < size; i++) {
+            String cpf = UserFixtures.cpf(i);
+            stringIndex.put(cpf, (long) i + 1);
+            packedIndex.put(CpfCodec.pack(cpf), i + 1);
+        }
+
+        Random random = new Random(42);
+        hits = new String[QUERIES];
+        misses = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            hits[i] = new String(UserFixtures.cpf(random.nextInt(size)).toCharArray());
+            misses[i] = UserFixtures.cpf(UserFixtures.FRESH_CPF_BASE + random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public Long stringHit() {
+        return stringIndex.get(hits[next()]);
+    }
+
+    @Benchmark
+    public long packedHit() {
+        return packedIndex.get(CpfCodec.pack(hits[next()]));
+    }
+
+    @Benchmark
+    public Long stringMiss() {
+        return stringIndex.get(misses[next()]);
+    }
+
+    @Benchmark
+    public long packedMiss() {
+        return packedIndex.get(CpfCodec.pack(misses[next()]));
+    }
+
+    private int next() {
+        return cursor++ & (QUERIES - 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.dfm.biblioteca.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Soma uma espera fixa a cada comando SQL, simulando a ida e volta de rede que o H2 em memória não tem.
+ *
+ * A espera acontece com a conexão já obtida, como num banco remoto.
+ */
+public class SimulatedLatencyInspector implements StatementInspector {
+
+    static volatile long latencyMillis;
+
+    @Override
+    public String inspect(String sql) {
+        long millis = latencyMillis;
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,148 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estado compartilhado dos benchmarks: sobe um contexto Micronaut apontando para um H2 em memória
+ * e popula a tabela users com {@code rows} registros via JDBC em lote.
+ *
+ * Distribuição de status: 2% BLOCKED, 0,2% PERSONA_NON_GRATA e o restante REGULAR.
+ * O CPF do registro i é o próprio i com 11 dígitos, então qualquer valor em [0, rows) existe.
+ */
+@State(Scope.Benchmark)
+public class UserDatabaseState {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    public ApplicationContext context;
+    public UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = ApplicationContext.run(properties());
+        userRepository = context.getBean(UserRepository.class);
+        // Força a criação do schema (hbm2ddl) antes de popular via JDBC
+        userRepository.count();
+        seed(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    protected Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("datasources.default.url", JDBC_URL);
+        properties.put("datasources.default.driver-class-name", "org.h2.Driver");
+        properties.put("datasources.default.username", "sa");
+        properties.put("datasources.default.password", "");
+        properties.put("datasources.default.dialect", "H2");
+        properties.put("jpa.default.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("jpa.default.properties.hibernate.show_sql", false);
+        properties.put("jpa.default.properties.hibernate.format_sql", false);
+        properties.put("jpa.default.properties.hibernate.use_sql_comments", false);
+        // O log síncrono de SQL distorce as medições
+        properties.put("logger.levels.root", "WARN");
+        properties.put("logger.levels.com.dfm.biblioteca", "WARN");
+        properties.put("logger.levels.io.micronaut.http", "WARN");
+        properties.put("logger.levels.org.hibernate.SQL", "WARN");
+        properties.put("logger.levels.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        return properties;
+    }
+
+    private void seed(int count) throws SQLException {
+        String sql = "INSERT INTO users (id, first_name, last_name, birth_date, cpf, nationality_id, street, number, "
+                + "complement, neighborhood, zip_code, city_id, state, country_id, status, created_at, updated_at, "
+                + "first_name_key, last_name_key, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            int nationality = referenceId(connection, "nationalities", "Brasileira");
+            int city = referenceId(connection, "cities", "Belo Horizonte");
+            int country = referenceId(connection, "countries", "Brasil");
+            for (int i = 0; i < count; i++) {
+                statement.setLong(1, i + 1L);
+                statement.setString(2, "Nome" + i);
+                statement.setString(3, "Sobrenome" + i);
+                statement.setObject(4, LocalDate.of(1950 + i % 60, 1 + i % 12, 1 + i % 28));
+                statement.setString(5, UserFixtures.cpf(i));
+                statement.setInt(6, nationality);
+                statement.setString(7, "Rua " + i);
+                statement.setString(8, String.valueOf(i % 1000));
+                statement.setString(9, null);
+                statement.setString(10, "Centro");
+                statement.setString(11, "30130100");
+                statement.setInt(12, city);
+                statement.setString(13, "MG");
+                statement.setInt(14, country);
+                statement.setString(15, UserFixtures.statusFor(i).name());
+                statement.setTimestamp(16, now);
+                statement.setTimestamp(17, now);
+                statement.setString(18, "nome" + i);
+                statement.setString(19, "sobrenome" + i);
+                statement.addBatch();
+                if ((i + 1) % SEED_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            // Ids explícitos: a sequência precisa continuar depois deles (o pooled usa o valor lido como limite superior)
+            try (Statement restart = connection.createStatement()) {
+                restart.execute("ALTER SEQUENCE users_seq RESTART WITH " + (count + User.ID_ALLOCATION_SIZE + 1L));
+            }
+            connection.commit();
+        }
+    }
+
+    // Todas as linhas populadas apontam para o mesmo nome de referência
+    private static int referenceId(Connection connection, String table, String name) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, name);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Usuário ainda não persistido, com CPF fora da faixa populada.
+     */
+    public User newUser(long sequence) {
+        return UserFixtures.user(UserFixtures.cpf(UserFixtures.FRESH_CPF_BASE + sequence));
+    }
+}
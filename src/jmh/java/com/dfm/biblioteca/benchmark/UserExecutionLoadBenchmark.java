@@ -0,0 +1,93 @@
+package com.dfm.biblioteca.benchmark;
+
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga do /users com 128 clientes simultâneos, com o mesmo pool Hikari em todos os modos. A base
+ * de comparação é BLOCKING, o executor que o controller usava antes de users.execution.mode existir; os
+ * executores do Micronaut ficam com a configuração padrão.
+ *
+ * Throughput dá requisições por milissegundo e SampleTime dá a distribuição de latência (p99 em
+ * "·p0.99"). latencyMs simula a ida e volta até o banco em cada comando SQL; com 0 o H2 em memória
+ * responde quase sem espera e a diferença entre os modos some.
+ *
+ * Uso: mvn -B -Pbenchmark -DskipTests verify -Djmh.args="UserExecutionLoadBenchmark -p rows=10000"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(128)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class UserExecutionLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server extends UserDatabaseState {
+
+        @Param({"BLOCKING", "PLATFORM", "VIRTUAL"})
+        public String mode;
+
+        @Param({"0", "5"})
+        public int latencyMs;
+
+        @Param({"10"})
+        public int poolSize;
+
+        HttpClient client;
+        URI page;
+
+        @Override
+        protected Map<String, Object> properties() {
+            Map<String, Object> properties = super.properties();
+            properties.put("micronaut.server.port", -1);
+            properties.put("micronaut.security.enabled", false);
+            properties.put("datasources.default.maximum-pool-size", poolSize);
+            properties.put("users.execution.mode", mode);
+            // Mede só o executor: o controle de admissão enfileiraria e descartaria requisições com o pool cheio
+            properties.put("users.admission.enabled", false);
+            properties.put("jpa.default.properties.hibernate.session_factory.statement_inspector",
+                    SimulatedLatencyInspector.class.getName());
+            SimulatedLatencyInspector.latencyMillis = latencyMs;
+            return properties;
+        }
+
+        // Roda depois do setUp() de UserDatabaseState, com o banco já populado
+        @Setup(Level.Trial)
+        public void startServer() {
+            EmbeddedServer server = context.getBean(EmbeddedServer.class).start();
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            page = server.getURI().resolve("/users?status=BLOCKED&size=20");
+        }
+    }
+
+    @Benchmark
+    public int listPage(Server server) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = server.client.send(HttpRequest.newBuilder(server.page).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
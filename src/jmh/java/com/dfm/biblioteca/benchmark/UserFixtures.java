@@ -0,0 +1,50 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.domain.entity.User;
+
+import java.time.LocalDate;
+
+/**
+ * Geração determinística de dados para os benchmarks.
+ */
+final class UserFixtures {
+
+    /** CPFs a partir daqui nunca são populados: usados para inserções e buscas sem resultado. */
+    static final long FRESH_CPF_BASE = 90_000_000_000L;
+
+    private UserFixtures() {
+    }
+
+    static String cpf(long value) {
+        String digits = Long.toString(value);
+        return "0".repeat(11 - digits.length()) + digits;
+    }
+
+    static User.UserStatus statusFor(int index) {
+        if (index % 500 == 1) {
+            return User.UserStatus.PERSONA_NON_GRATA;
+        }
+        if (index % 50 == 0) {
+            return User.UserStatus.BLOCKED;
+        }
+        return User.UserStatus.REGULAR;
+    }
+
+    static User user(String cpf) {
+        User user = new User();
+        user.setFirstName("Benchmark");
+        user.setLastName("Usuario");
+        user.setBirthDate(LocalDate.of(1990, 5, 15));
+        user.setCpf(cpf);
+        user.setNationality("Brasileira");
+        user.setStreet("Rua das Flores");
+        user.setNumber("123");
+        user.setNeighborhood("Centro");
+        user.setZipCode("30130100");
+        user.setCity("Belo Horizonte");
+        user.setState("MG");
+        user.setCountry("Brasil");
+        user.setStatus(User.UserStatus.REGULAR);
+        return user;
+    }
+}
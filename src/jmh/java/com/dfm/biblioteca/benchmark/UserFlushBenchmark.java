@@ -0,0 +1,101 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.domain.entity.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma sessão do Hibernate com {@code entities} usuários gerenciados, dos quais só um muda de status
+ * (o caso comum: uma transação lê vários usuários e altera um).
+ *
+ * load mede a carga das entidades; a alocação por operação (-prof gc) inclui o estado guardado por entidade.
+ * flush mede só o flush, com a sessão já carregada a cada invocação. As alterações sofrem rollback.
+ *
+ * Antes/depois do enhancement de bytecode (o clean é necessário, as classes enhanced ficam em target):
+ * mvn -B clean verify -Pbenchmark -DskipTests -Dhibernate.enhance.skip=true -Djmh.args="UserFlushBenchmark -p rows=10000"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class UserFlushBenchmark {
+
+    private static final String LOAD = "from User u where u.id <= :last order by u.id";
+
+    @State(Scope.Benchmark)
+    public static class Database extends UserDatabaseState {
+
+        @Param({"1000"})
+        public int entities;
+
+        SessionFactory sessionFactory;
+
+        @Setup(Level.Trial)
+        public void openSessionFactory() {
+            sessionFactory = context.getBean(SessionFactory.class);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LoadedSession {
+
+        Session session;
+        Transaction transaction;
+        List<User> users;
+
+        @Setup(Level.Invocation)
+        public void load(Database database) {
+            session = database.sessionFactory.openSession();
+            transaction = session.beginTransaction();
+            users = loadUsers(session, database.entities);
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() {
+            transaction.rollback();
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public List<User> load(Database database) {
+        try (Session session = database.sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            List<User> users = loadUsers(session, database.entities);
+            transaction.rollback();
+            return users;
+        }
+    }
+
+    @Benchmark
+    public int flush(LoadedSession loaded) {
+        User user = loaded.users.get(0);
+        user.setStatus(user.getStatus() == User.UserStatus.BLOCKED ? User.UserStatus.REGULAR : User.UserStatus.BLOCKED);
+        loaded.session.flush();
+        return loaded.users.size();
+    }
+
+    private static List<User> loadUsers(Session session, int entities) {
+        return session.createSelectionQuery(LOAD, User.class)
+                .setParameter("last", (long) entities)
+                .list();
+    }
+}
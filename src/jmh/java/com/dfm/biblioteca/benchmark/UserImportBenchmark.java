@@ -0,0 +1,68 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.importer.UserImportReport;
+import com.dfm.biblioteca.domain.service.UserImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de um lote de usuários: save() um a um contra o UserImportService (blocos + JDBC batch).
+ *
+ * O score é o tempo médio por usuário inserido.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@OperationsPerInvocation(UserImportBenchmark.BATCH)
+public class UserImportBenchmark {
+
+    static final int BATCH = 1_000;
+
+    // Faixa própria de CPFs para não colidir com o UserRepositoryBenchmark
+    private static final long CPF_BASE = UserFixtures.FRESH_CPF_BASE + 1_000_000_000L;
+
+    @State(Scope.Thread)
+    public static class Batch {
+
+        private long next;
+        List<User> users;
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            users = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                users.add(UserFixtures.user(UserFixtures.cpf(CPF_BASE + next++)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void oneByOne(UserDatabaseState state, Batch batch, Blackhole blackhole) {
+        for (User user : batch.users) {
+            blackhole.consume(state.userRepository.save(user));
+        }
+    }
+
+    @Benchmark
+    public UserImportReport bulkImport(UserDatabaseState state, Batch batch) {
+        return state.context.getBean(UserImportService.class).importUsers(batch.users);
+    }
+}
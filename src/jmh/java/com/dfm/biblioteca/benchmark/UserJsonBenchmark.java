@@ -0,0 +1,104 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.type.Argument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização das páginas de usuários pelo ObjectMapper do Micronaut: serializadores escritos à mão para User e
+ * UserSummary (handwritten) contra o BeanSerializer/BeanDeserializer do Jackson sobre a introspecção (jackson),
+ * com e sem indentação. Cada operação é uma página de {@code PAGE} itens; a alocação por operação vem do -prof gc.
+ *
+ * mvn -B verify -Pbenchmark -DskipTests -Djmh.args="UserJsonBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class UserJsonBenchmark {
+
+    private static final int PAGE = 100;
+
+    @Param({"handwritten", "jackson"})
+    public String serializers;
+
+    @Param({"false", "true"})
+    public boolean prettyPrint;
+
+    private ApplicationContext context;
+    private ObjectWriter writer;
+    private ObjectReader usersReader;
+    private List<User> users;
+    private List<UserSummary> summaries;
+    private byte[] usersJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Map<String, Object> properties = new UserDatabaseState().properties();
+        properties.put("users.json.hand-written-serializers", "handwritten".equals(serializers));
+        properties.put("users.json.pretty-print", prettyPrint);
+        context = ApplicationContext.run(properties);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        writer = objectMapper.writer();
+        usersReader = objectMapper.readerFor(objectMapper.constructType(Argument.listOf(User.class).asType()));
+
+        users = new ArrayList<>(PAGE);
+        summaries = new ArrayList<>(PAGE);
+        LocalDateTime now = LocalDateTime.of(2024, 5, 15, 10, 30, 15);
+        for (int i = 0; i < PAGE; i++) {
+            User user = UserFixtures.user(UserFixtures.cpf(i));
+            user.setId(i + 1L);
+            user.setVersion(0L);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            users.add(user);
+            summaries.add(new UserSummary(user.getId(), user.getFirstName(), user.getLastName(), user.getCpf(), user.getStatus()));
+        }
+        usersJson = writer.writeValueAsBytes(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] writeUsers() throws Exception {
+        return writer.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] writeSummaries() throws Exception {
+        return writer.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public List<User> readUsers() throws Exception {
+        return usersReader.readValue(usersJson);
+    }
+}
@@ -0,0 +1,90 @@
+package com.dfm.biblioteca.benchmark;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.pagination.CursorPage;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.domain.search.UserNameSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métodos mais chamados do UserRepository.
+ *
+ * Throughput dá operações por segundo, SampleTime dá os percentis de latência (p50 a p99.99)
+ * e a taxa de alocação por operação vem do profiler de GC (-prof gc, padrão do profile benchmark).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class UserRepositoryBenchmark {
+
+    private static final AtomicLong SAVE_SEQUENCE = new AtomicLong();
+
+    @Benchmark
+    public Optional<User> findByCpf(UserDatabaseState state) {
+        return state.userRepository.findByCpf(randomExistingCpf(state));
+    }
+
+    @Benchmark
+    public Optional<User.UserStatus> findStatusByCpf(UserDatabaseState state) {
+        return state.userRepository.findStatusByCpf(randomExistingCpf(state));
+    }
+
+    @Benchmark
+    public boolean existsByCpfHit(UserDatabaseState state) {
+        return state.userRepository.existsByCpf(randomExistingCpf(state));
+    }
+
+    @Benchmark
+    public boolean existsByCpfMiss(UserDatabaseState state) {
+        long offset = ThreadLocalRandom.current().nextLong(1_000_000_000L);
+        return state.userRepository.existsByCpf(UserFixtures.cpf(UserFixtures.FRESH_CPF_BASE + 5_000_000_000L + offset));
+    }
+
+    @Benchmark
+    public User save(UserDatabaseState state) {
+        return state.userRepository.save(state.newUser(SAVE_SEQUENCE.incrementAndGet()));
+    }
+
+    // BLOCKED representa 2% da tabela; REGULAR retornaria praticamente todas as linhas
+    @Benchmark
+    public List<User> findByStatus(UserDatabaseState state) {
+        return state.userRepository.findByStatus(User.UserStatus.BLOCKED);
+    }
+
+    // Mesmas linhas de findByStatus, projetadas em UserSummary
+    @Benchmark
+    public List<UserSummary> listByStatus(UserDatabaseState state) {
+        return state.userRepository.listByStatus(User.UserStatus.BLOCKED);
+    }
+
+    @Benchmark
+    public long countByStatus(UserDatabaseState state) {
+        return state.userRepository.countByStatus(User.UserStatus.REGULAR);
+    }
+
+    // Primeira página (50) da busca por nome; "nome123" casa com nome123, nome1230..., então a faixa por prefixo
+    // cresce com a tabela enquanto a página continua do mesmo tamanho
+    @Benchmark
+    public CursorPage<UserSummary> searchByName(UserDatabaseState state) {
+        return state.context.getBean(UserNameSearchService.class)
+                .search("Nome" + ThreadLocalRandom.current().nextInt(1000), 50, null);
+    }
+
+    private static String randomExistingCpf(UserDatabaseState state) {
+        return UserFixtures.cpf(ThreadLocalRandom.current().nextInt(state.rows));
+    }
+}
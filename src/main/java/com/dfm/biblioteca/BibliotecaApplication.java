@@ -1,12 +1,18 @@
 package com.dfm.biblioteca;
 
+import com.dfm.biblioteca.infrastructure.warmup.WarmStart;
 import io.micronaut.runtime.Micronaut;
 
 
 public class BibliotecaApplication {
 
     public static void main(String[] args) {
+        // Treino do warm start (AppCDS/CRaC); depois de um restore CRaC segue para o startup normal
+        if (WarmStart.trainIfRequested(BibliotecaApplication.class, args)) {
+            // A JVM grava o arquivo AppCDS (-XX:ArchiveClassesAtExit) ao sair
+            System.exit(0);
+        }
         Micronaut.run(BibliotecaApplication.class, args);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.dfm.biblioteca.domain.bulkdelete;
+
+import com.dfm.biblioteca.domain.entity.UserBulkDeleteJob;
+import com.dfm.biblioteca.domain.repository.UserBulkDeleteJobRepository;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.TransactionStatus;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Remove um bloco e avança o progresso do trabalho na mesma transação, separado do UserBulkDeleteService
+ * para que o proxy transacional seja aplicado a cada chamada.
+ *
+ * O progresso é gravado com um UPDATE condicionado ao estado RUNNING e ao dono no banco, não a partir do
+ * trabalho em memória: se outra instância cancelou o trabalho ou o assumiu depois de o lease vencer, o UPDATE
+ * não afeta nenhuma linha, o bloco é desfeito e o outro lado prevalece. O mesmo UPDATE renova o heartbeat.
+ */
+@Singleton
+public class UserBulkDeleteChunkWriter {
+
+    // Retornado por deleteChunk quando o trabalho já não está RUNNING no banco ou passou para outra instância
+    public static final long STOPPED = -1;
+
+    private final UserRepository userRepository;
+    private final UserBulkDeleteJobRepository jobRepository;
+    private final TransactionOperations<Session> transactionOperations;
+
+    public UserBulkDeleteChunkWriter(UserRepository userRepository,
+                                     UserBulkDeleteJobRepository jobRepository,
+                                     TransactionOperations<Session> transactionOperations) {
+        this.userRepository = userRepository;
+        this.jobRepository = jobRepository;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Transactional
+    public long deleteChunk(UserBulkDeleteJob job, String owner, List<Long> ids) {
+        long deleted = userRepository.deleteByIdInListAndStatus(ids, job.getTargetStatus());
+        long lastId = ids.get(ids.size() - 1);
+        if (jobRepository.updateProgress(job.getId(), UserBulkDeleteJob.State.RUNNING, owner, lastId, deleted,
+                LocalDateTime.now()) == 0) {
+            transactionOperations.findTransactionStatus().ifPresent(TransactionStatus::setRollbackOnly);
+            return STOPPED;
+        }
+        job.setLastId(lastId);
+        job.setDeleted(job.getDeleted() + deleted);
+        return deleted;
+    }
+}
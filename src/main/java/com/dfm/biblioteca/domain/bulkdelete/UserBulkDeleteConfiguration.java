@@ -0,0 +1,49 @@
+package com.dfm.biblioteca.domain.bulkdelete;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.bulk-delete")
+public class UserBulkDeleteConfiguration {
+
+    private int chunkSize = 1000;
+    // Zero desliga o limite
+    private int rowsPerSecond = 5000;
+    // Retoma os trabalhos RUNNING sem dono vivo na inicialização e, depois, a cada lease
+    private boolean resumeOnStartup = true;
+    // Tempo sem heartbeat depois do qual outra instância assume o trabalho; maior que a duração de um bloco
+    private Duration lease = Duration.ofMinutes(1);
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(int rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public boolean isResumeOnStartup() {
+        return resumeOnStartup;
+    }
+
+    public void setResumeOnStartup(boolean resumeOnStartup) {
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+}
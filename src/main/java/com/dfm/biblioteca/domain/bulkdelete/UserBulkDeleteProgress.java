@@ -0,0 +1,24 @@
+package com.dfm.biblioteca.domain.bulkdelete;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.entity.UserBulkDeleteJob;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+@Introspected
+public record UserBulkDeleteProgress(Long id,
+                                     User.UserStatus status,
+                                     UserBulkDeleteJob.State state,
+                                     long deleted,
+                                     long lastId,
+                                     @Nullable String failure,
+                                     LocalDateTime createdAt,
+                                     LocalDateTime updatedAt) {
+
+    public static UserBulkDeleteProgress of(UserBulkDeleteJob job) {
+        return new UserBulkDeleteProgress(job.getId(), job.getTargetStatus(), job.getState(), job.getDeleted(),
+                job.getLastId(), job.getFailure(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+}
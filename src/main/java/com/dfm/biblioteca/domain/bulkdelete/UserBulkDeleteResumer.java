@@ -0,0 +1,60 @@
+package com.dfm.biblioteca.domain.bulkdelete;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Retoma em segundo plano as remoções interrompidas, sem fazer a inicialização depender do banco.
+ *
+ * Além da inicialização, procura de novo a cada users.bulk-delete.lease: um trabalho cujo dono caiu só pode ser
+ * assumido depois que o lease vence, inclusive quando o dono é a instância anterior a esta mesma subida.
+ */
+@Singleton
+public class UserBulkDeleteResumer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserBulkDeleteResumer.class);
+
+    private final BeanProvider<UserBulkDeleteService> service;
+    private final UserBulkDeleteConfiguration configuration;
+    private final ExecutorService executor;
+
+    public UserBulkDeleteResumer(BeanProvider<UserBulkDeleteService> service,
+                                 UserBulkDeleteConfiguration configuration,
+                                 @Named(TaskExecutors.IO) ExecutorService executor) {
+        this.service = service;
+        this.configuration = configuration;
+        this.executor = executor;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        resume();
+    }
+
+    @Scheduled(fixedDelay = "${users.bulk-delete.lease:1m}", initialDelay = "${users.bulk-delete.lease:1m}")
+    void scheduledResume() {
+        resume();
+    }
+
+    private void resume() {
+        if (!configuration.isResumeOnStartup()) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                service.get().resumeInterrupted();
+            } catch (RuntimeException e) {
+                LOG.warn("Could not resume interrupted bulk deletes", e);
+            }
+        });
+    }
+}
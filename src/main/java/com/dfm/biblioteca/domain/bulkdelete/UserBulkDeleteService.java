@@ -0,0 +1,189 @@
+package com.dfm.biblioteca.domain.bulkdelete;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.entity.UserBulkDeleteJob;
+import com.dfm.biblioteca.domain.repository.UserBulkDeleteJobRepository;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Remoção de todos os usuários de um status em blocos, alternativa ao UserRepository.deleteAllByStatus
+ * para status com muitas linhas.
+ *
+ * Cada bloco busca até chunk-size ids do status depois do último processado e os remove numa transação
+ * curta, junto com o avanço do progresso em user_bulk_delete_jobs. O ritmo é limitado a rows-per-second.
+ * Cada trabalho tem um dono (a instância que o executa) e um heartbeat renovado a cada bloco. Trabalhos que
+ * ficaram RUNNING (queda da aplicação) são retomados por qualquer instância com resume-on-startup ligado, mas
+ * só depois de assumidos com um UPDATE condicionado a não haver dono ou a o heartbeat ser mais velho que lease;
+ * enquanto o lease do dono estiver vivo, ninguém mais os executa. O cancelamento é verificado entre blocos; o
+ * que já foi removido permanece removido. Progresso e estado são gravados com UPDATEs condicionados ao estado
+ * RUNNING e ao dono, então um cancelamento feito por outra instância nunca é sobrescrito e um dono que perdeu o
+ * lease para no bloco seguinte.
+ */
+@Singleton
+public class UserBulkDeleteService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserBulkDeleteService.class);
+
+    private final UserRepository userRepository;
+    private final UserBulkDeleteJobRepository jobRepository;
+    private final UserBulkDeleteChunkWriter chunkWriter;
+    private final UserBulkDeleteConfiguration configuration;
+    private final ExecutorService executor;
+    private final Map<Long, AtomicBoolean> running = new ConcurrentHashMap<>();
+    // Identifica esta instância como dona dos trabalhos que executa
+    private final String owner = UUID.randomUUID().toString();
+
+    public UserBulkDeleteService(UserRepository userRepository,
+                                 UserBulkDeleteJobRepository jobRepository,
+                                 UserBulkDeleteChunkWriter chunkWriter,
+                                 UserBulkDeleteConfiguration configuration,
+                                 @Named(TaskExecutors.IO) ExecutorService executor) {
+        this.userRepository = userRepository;
+        this.jobRepository = jobRepository;
+        this.chunkWriter = chunkWriter;
+        this.configuration = configuration;
+        this.executor = executor;
+    }
+
+    /**
+     * Remove todos os usuários do status em blocos e retorna quantos foram removidos, como o
+     * UserRepository.deleteAllByStatus. Bloqueia até terminar (ou ser cancelado).
+     */
+    public long deleteAllByStatus(User.UserStatus status) {
+        UserBulkDeleteJob job = jobRepository.save(newJob(status));
+        return run(job).getDeleted();
+    }
+
+    /**
+     * Inicia a remoção em segundo plano e retorna o trabalho criado, para acompanhar pelo id.
+     */
+    public UserBulkDeleteProgress start(User.UserStatus status) {
+        UserBulkDeleteJob job = jobRepository.save(newJob(status));
+        executor.execute(() -> run(job));
+        return UserBulkDeleteProgress.of(job);
+    }
+
+    public Optional<UserBulkDeleteProgress> find(Long id) {
+        return jobRepository.findById(id).map(UserBulkDeleteProgress::of);
+    }
+
+    /**
+     * Pede o cancelamento. Se o trabalho roda nesta instância ele para depois do bloco atual; se ficou
+     * RUNNING sem ninguém executando (queda), é marcado como CANCELLED na hora.
+     */
+    public Optional<UserBulkDeleteProgress> cancel(Long id) {
+        AtomicBoolean cancelled = running.get(id);
+        if (cancelled != null) {
+            cancelled.set(true);
+            return find(id);
+        }
+        jobRepository.updateState(id, UserBulkDeleteJob.State.RUNNING, UserBulkDeleteJob.State.CANCELLED, null,
+                LocalDateTime.now());
+        return find(id);
+    }
+
+    /**
+     * Retoma os trabalhos que ficaram RUNNING e cujo lease venceu. Chamado na inicialização e periodicamente
+     * pelo {@link UserBulkDeleteResumer}.
+     */
+    public void resumeInterrupted() {
+        for (UserBulkDeleteJob job : jobRepository.findByState(UserBulkDeleteJob.State.RUNNING)) {
+            if (running.containsKey(job.getId())) {
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (jobRepository.claim(job.getId(), UserBulkDeleteJob.State.RUNNING, owner,
+                    now.minus(configuration.getLease()), now) == 0) {
+                LOG.debug("Bulk delete {} is still owned by {}", job.getId(), job.getOwner());
+                continue;
+            }
+            LOG.info("Resuming bulk delete {} of {} users after id {}", job.getId(), job.getTargetStatus(), job.getLastId());
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private UserBulkDeleteJob run(UserBulkDeleteJob job) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        if (running.putIfAbsent(job.getId(), cancelled) != null) {
+            return job;
+        }
+        try {
+            int chunkSize = Math.max(1, configuration.getChunkSize());
+            Pageable pageable = Pageable.from(0, chunkSize, Sort.of(Sort.Order.asc("id")));
+            long start = System.nanoTime();
+            long deletedHere = 0;
+
+            while (!cancelled.get()) {
+                List<Long> ids = userRepository.findIdByStatusAndIdGreaterThan(job.getTargetStatus(), job.getLastId(), pageable);
+                if (ids.isEmpty()) {
+                    return finish(job, UserBulkDeleteJob.State.COMPLETED, null);
+                }
+                long deleted = chunkWriter.deleteChunk(job, owner, ids);
+                if (deleted == UserBulkDeleteChunkWriter.STOPPED) {
+                    LOG.info("Bulk delete {} was stopped elsewhere after id {}", job.getId(), job.getLastId());
+                    return jobRepository.findById(job.getId()).orElse(job);
+                }
+                deletedHere += deleted;
+                if (!throttle(start, deletedHere)) {
+                    break;
+                }
+            }
+            return finish(job, UserBulkDeleteJob.State.CANCELLED, null);
+        } catch (RuntimeException e) {
+            LOG.warn("Bulk delete {} failed", job.getId(), e);
+            finish(job, UserBulkDeleteJob.State.FAILED, e.getMessage());
+            throw e;
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    private UserBulkDeleteJob newJob(User.UserStatus status) {
+        UserBulkDeleteJob job = new UserBulkDeleteJob(status);
+        job.setOwner(owner);
+        job.setHeartbeatAt(LocalDateTime.now());
+        return job;
+    }
+
+    // Só sai de RUNNING se o trabalho ainda é desta instância; o progresso é o gravado no banco pelos blocos confirmados
+    private UserBulkDeleteJob finish(UserBulkDeleteJob job, UserBulkDeleteJob.State state, String failure) {
+        jobRepository.updateOwnedState(job.getId(), UserBulkDeleteJob.State.RUNNING, owner, state,
+                failure == null ? null : failure.substring(0, Math.min(failure.length(), 1000)), LocalDateTime.now());
+        return jobRepository.findById(job.getId()).orElse(job);
+    }
+
+    // Dorme o necessário para manter a média em rows-per-second; false se a thread foi interrompida
+    private boolean throttle(long start, long deleted) {
+        int rowsPerSecond = configuration.getRowsPerSecond();
+        if (rowsPerSecond <= 0) {
+            return true;
+        }
+        long aheadNanos = deleted * 1_000_000_000L / rowsPerSecond - (System.nanoTime() - start);
+        if (aheadNanos <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(aheadNanos / 1_000_000, (int) (aheadNanos % 1_000_000));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
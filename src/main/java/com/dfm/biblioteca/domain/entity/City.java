@@ -0,0 +1,10 @@
+package com.dfm.biblioteca.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// Tabela das cidades referenciadas por users; mapeada só para o schema, a leitura passa pelo ReferenceNameCache
+@Entity
+@Table(name = "cities")
+public class City extends ReferenceName {
+}
@@ -0,0 +1,10 @@
+package com.dfm.biblioteca.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// Tabela dos países referenciados por users; mapeada só para o schema, a leitura passa pelo ReferenceNameCache
+@Entity
+@Table(name = "countries")
+public class Country extends ReferenceName {
+}
@@ -0,0 +1,28 @@
+package com.dfm.biblioteca.domain.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Nome de uma tabela de referência (cidade, país, nacionalidade): o usuário guarda só o id.
+ *
+ * As linhas só são inseridas, nunca alteradas nem removidas; quem resolve nome e id em memória é o
+ * ReferenceNameCache.
+ */
+@MappedSuperclass
+public abstract class ReferenceName {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "name", nullable = false, unique = true, length = 100)
+    private String name;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
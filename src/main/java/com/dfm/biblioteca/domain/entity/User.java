@@ -1,9 +1,14 @@
 package com.dfm.biblioteca.domain.entity;
 
+import com.dfm.biblioteca.domain.search.NameKey;
+import com.dfm.biblioteca.infrastructure.reference.CityConverter;
+import com.dfm.biblioteca.infrastructure.reference.CountryConverter;
+import com.dfm.biblioteca.infrastructure.reference.NationalityConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.micronaut.core.annotation.Introspected;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import lombok.AllArgsConstructor;
+import org.hibernate.annotations.LazyGroup;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -15,14 +20,32 @@ import java.util.Objects;
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_cpf", columnList = "cpf"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_status_persona_non_grata_until", columnList = "status, persona_non_grata_until_date"),
+        @Index(name = "idx_first_name_key", columnList = "first_name_key, id"),
+        @Index(name = "idx_last_name_key", columnList = "last_name_key, id")
+})
+@NamedEntityGraph(name = User.COMPLETE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("nationality"), @NamedAttributeNode("street"), @NamedAttributeNode("number"),
+        @NamedAttributeNode("complement"), @NamedAttributeNode("neighborhood"), @NamedAttributeNode("zipCode"),
+        @NamedAttributeNode("city"), @NamedAttributeNode("state"), @NamedAttributeNode("country")
 })
 @NoArgsConstructor
-@AllArgsConstructor
 public class User {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Grupo lazy de nacionalidade e endereço: carregado numa única consulta no primeiro acesso a qualquer um deles
+    // (exige o enhancement de bytecode do build; ver src/build)
+    public static final String ADDRESS_GROUP = "address";
+    // Fetch graph com o grupo de endereço, para as consultas que devolvem o usuário completo fora da sessão
+    public static final String COMPLETE_GRAPH = "User.complete";
+
+    // Sequência com otimizador pooled: o Hibernate reserva blocos de ids e consegue agrupar os INSERTs em lote
+    // (com IDENTITY o batch_size é ignorado). No MySQL a sequência é emulada pela tabela users_seq.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = User.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "First name is required")
@@ -45,48 +68,72 @@ public class User {
     @Column(name = "cpf", nullable = false, unique = true, length = 11)
     private String cpf;
 
+    // Nacionalidade, cidade e país ficam em tabelas de referência: a linha guarda só o id (*_id) e o nome vem do
+    // ReferenceNameCache, a mesma instância de String para todos os usuários. Bases com as colunas de texto
+    // antigas são convertidas pelo UserAddressMigration na inicialização.
     @NotBlank(message = "Nationality is required")
     @Size(min = 1, max = 100, message = "Nationality must be between 1 and 100 characters")
-    @Column(name = "nationality", nullable = false, length = 100)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
+    @Convert(converter = NationalityConverter.class)
+    @Column(name = "nationality_id")
     private String nationality;
 
     @NotBlank(message = "Street is required")
     @Size(min = 1, max = 150, message = "Street must be between 1 and 150 characters")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
     @Column(name = "street", nullable = false, length = 150)
     private String street;
 
     @NotBlank(message = "Number is required")
     @Size(min = 1, max = 10, message = "Number must be between 1 and 10 characters")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
     @Column(name = "number", nullable = false, length = 10)
     private String number;
 
     @Size(max = 100, message = "Complement must be at most 100 characters")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
     @Column(name = "complement", length = 100)
     private String complement;
 
     @NotBlank(message = "Neighborhood is required")
     @Size(min = 1, max = 100, message = "Neighborhood must be between 1 and 100 characters")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
     @Column(name = "neighborhood", nullable = false, length = 100)
     private String neighborhood;
 
     @NotBlank(message = "Zip code is required")
     @Size(min = 1, max = 10, message = "Zip code must be between 1 and 10 characters")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
     @Column(name = "zip_code", nullable = false, length = 10)
     private String zipCode;
 
     @NotBlank(message = "City is required")
     @Size(min = 1, max = 100, message = "City must be between 1 and 100 characters")
-    @Column(name = "city", nullable = false, length = 100)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
+    @Convert(converter = CityConverter.class)
+    @Column(name = "city_id")
     private String city;
 
     @NotBlank(message = "State is required")
     @Size(min = 2, max = 2, message = "State must have 2 characters")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
     @Column(name = "state", nullable = false, length = 2)
     private String state;
 
     @NotBlank(message = "Country is required")
     @Size(min = 1, max = 100, message = "Country must be between 1 and 100 characters")
-    @Column(name = "country", nullable = false, length = 100)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(User.ADDRESS_GROUP)
+    @Convert(converter = CountryConverter.class)
+    @Column(name = "country_id")
     private String country;
 
     @Enumerated(EnumType.STRING)
@@ -102,6 +149,56 @@ public class User {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Versão para lock otimista: um update da entidade inteira falha se a linha mudou depois de lida.
+    // As transições de status do UserRepository incrementam a versão no próprio UPDATE
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Nomes normalizados (sem acento, minúsculos) para a busca por prefixo; derivados de firstName e lastName
+    // Os índices levam o id explicitamente para que a ordem (chave, id) da paginação venha do índice em qualquer banco
+    // Anuláveis só até o UserNameKeyBackfill preencher as linhas anteriores à coluna
+    @Column(name = "first_name_key", length = 100)
+    private String firstNameKey;
+
+    @Column(name = "last_name_key", length = 100)
+    private String lastNameKey;
+
+    public User(Long id, String firstName, String lastName, LocalDate birthDate, String cpf, String nationality,
+                String street, String number, String complement, String neighborhood, String zipCode,
+                String city, String state, String country, UserStatus status, LocalDateTime personaNonGrataUntilDate,
+                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+        this.cpf = cpf;
+        this.nationality = nationality;
+        this.street = street;
+        this.number = number;
+        this.complement = complement;
+        this.neighborhood = neighborhood;
+        this.zipCode = zipCode;
+        this.city = city;
+        this.state = state;
+        this.country = country;
+        this.status = status;
+        this.personaNonGrataUntilDate = personaNonGrataUntilDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        refreshNameKeys();
+    }
+
+    // Cópia desanexada, usada para guardar snapshots fora do contexto de persistência
+    public static User copyOf(User source) {
+        User copy = new User(source.id, source.firstName, source.lastName, source.birthDate, source.cpf, source.nationality,
+                source.street, source.number, source.complement, source.neighborhood, source.zipCode,
+                source.city, source.state, source.country, source.status, source.personaNonGrataUntilDate,
+                source.createdAt, source.updatedAt);
+        copy.version = source.version;
+        return copy;
+    }
+
     // Getters e Setters explícitos (necessário para Micronaut Data)
 
     public Long getId() {
@@ -248,45 +345,56 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public String getFirstNameKey() {
+        return firstNameKey;
+    }
+
+    @JsonIgnore
+    public String getLastNameKey() {
+        return lastNameKey;
+    }
+
+    // Recalcula as chaves de busca a partir dos nomes atuais
+    public void refreshNameKeys() {
+        firstNameKey = NameKey.normalize(firstName);
+        lastNameKey = NameKey.normalize(lastName);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshNameKeys();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshNameKeys();
     }
 
+    // Igualdade pela chave natural (CPF, único e carregado sempre): não toca nos atributos lazy nem muda quando
+    // a entidade recebe id ao ser persistida
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         User user = (User) o;
-        return Objects.equals(id, user.id) &&
-                Objects.equals(cpf, user.cpf) &&
-                Objects.equals(firstName, user.firstName) &&
-                Objects.equals(lastName, user.lastName) &&
-                Objects.equals(birthDate, user.birthDate) &&
-                Objects.equals(nationality, user.nationality) &&
-                Objects.equals(street, user.street) &&
-                Objects.equals(number, user.number) &&
-                Objects.equals(complement, user.complement) &&
-                Objects.equals(neighborhood, user.neighborhood) &&
-                Objects.equals(zipCode, user.zipCode) &&
-                Objects.equals(city, user.city) &&
-                Objects.equals(state, user.state) &&
-                Objects.equals(country, user.country) &&
-                status == user.status &&
-                Objects.equals(personaNonGrataUntilDate, user.personaNonGrataUntilDate);
+        return Objects.equals(cpf, user.cpf);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, firstName, lastName, birthDate, cpf, nationality,
-                street, number, complement, neighborhood, zipCode,
-                city, state, country, status, personaNonGrataUntilDate);
+        return Objects.hashCode(cpf);
     }
 
     @Override
@@ -0,0 +1,153 @@
+package com.dfm.biblioteca.domain.entity;
+
+import io.micronaut.core.annotation.Introspected;
+import jakarta.persistence.*;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progresso de uma remoção em blocos de todos os usuários de um status.
+ *
+ * last_id e deleted são gravados na mesma transação que remove cada bloco, então depois de uma queda o
+ * trabalho continua exatamente do bloco seguinte.
+ *
+ * owner é a instância que executa o trabalho e heartbeat_at a última vez que ela gravou progresso: outra
+ * instância só o assume (lease) depois que o heartbeat ficar mais velho que users.bulk-delete.lease.
+ */
+@Entity
+@Table(name = "user_bulk_delete_jobs", indexes = {
+        @Index(name = "idx_bulk_delete_state", columnList = "state")
+})
+@NoArgsConstructor
+@Introspected
+public class UserBulkDeleteJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_status", nullable = false, length = 20)
+    private User.UserStatus targetStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    private State state = State.RUNNING;
+
+    // Maior id já processado; o próximo bloco começa depois dele
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "deleted", nullable = false)
+    private long deleted;
+
+    @Column(name = "failure", length = 1000)
+    private String failure;
+
+    @Column(name = "owner", length = 36)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserBulkDeleteJob(User.UserStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User.UserStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public void setTargetStatus(User.UserStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(long deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,55 @@
+package com.dfm.biblioteca.domain.expiry;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.status-expiry")
+public class UserStatusExpiryConfiguration {
+
+    private boolean enabled = true;
+    private int chunkSize = 500;
+    private int minimumChunkSize = 50;
+    private Duration targetChunkDuration = Duration.ofMillis(200);
+    private Duration pauseBetweenChunks = Duration.ofMillis(50);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMinimumChunkSize() {
+        return minimumChunkSize;
+    }
+
+    public void setMinimumChunkSize(int minimumChunkSize) {
+        this.minimumChunkSize = minimumChunkSize;
+    }
+
+    public Duration getTargetChunkDuration() {
+        return targetChunkDuration;
+    }
+
+    public void setTargetChunkDuration(Duration targetChunkDuration) {
+        this.targetChunkDuration = targetChunkDuration;
+    }
+
+    public Duration getPauseBetweenChunks() {
+        return pauseBetweenChunks;
+    }
+
+    public void setPauseBetweenChunks(Duration pauseBetweenChunks) {
+        this.pauseBetweenChunks = pauseBetweenChunks;
+    }
+}
@@ -0,0 +1,44 @@
+package com.dfm.biblioteca.domain.expiry;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Linhas processadas e latência dos blocos da expiração em /user-status-expiry. Um POST executa uma rodada.
+ */
+@Endpoint(id = "user-status-expiry", defaultSensitive = true)
+public class UserStatusExpiryEndpoint {
+
+    private final UserStatusExpiryService service;
+
+    public UserStatusExpiryEndpoint(UserStatusExpiryService service) {
+        this.service = service;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        long chunks = service.getChunks();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("running", service.isRunning());
+        result.put("runs", service.getRuns());
+        result.put("chunks", chunks);
+        result.put("expired", service.getExpired());
+        result.put("chunkSize", service.getChunkSize());
+        result.put("lastChunkMillis", service.getLastChunkNanos() / 1_000_000.0);
+        result.put("maxChunkMillis", service.getMaxChunkNanos() / 1_000_000.0);
+        result.put("meanChunkMillis", chunks == 0 ? 0.0 : service.getTotalChunkNanos() / 1_000_000.0 / chunks);
+        if (service.getLastRunAt() != null) {
+            result.put("lastRunAt", service.getLastRunAt().toString());
+        }
+        return result;
+    }
+
+    @Write
+    public UserStatusExpiryReport expire() {
+        return service.expire();
+    }
+}
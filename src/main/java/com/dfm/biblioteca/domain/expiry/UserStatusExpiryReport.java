@@ -0,0 +1,10 @@
+package com.dfm.biblioteca.domain.expiry;
+
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * Resultado de uma execução da expiração: blocos processados, usuários devolvidos a REGULAR e duração.
+ */
+@Introspected
+public record UserStatusExpiryReport(int chunks, long expired, long durationMillis) {
+}
@@ -0,0 +1,169 @@
+package com.dfm.biblioteca.domain.expiry;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Devolve a REGULAR os usuários PERSONA_NON_GRATA cujo persona_non_grata_until_date já passou.
+ *
+ * Trabalha em blocos: busca até chunk-size ids vencidos pelo índice (status, persona_non_grata_until_date),
+ * na ordem do próprio índice (prazo e depois id, que o InnoDB guarda no fim de todo índice secundário) para que
+ * o LIMIT pare de ler no chunk-size-ésimo sem filesort, e os atualiza com um único UPDATE, cada bloco na sua própria transação, de modo que as travas de linha
+ * duram só o tempo de um bloco. Se um bloco passa de target-chunk-duration o tamanho cai pela metade (até
+ * minimum-chunk-size) e volta a crescer quando os blocos ficam rápidos. Entre blocos há uma pausa para não
+ * disputar o banco com o tráfego normal.
+ *
+ * Cada bloco volta à primeira página: as linhas atualizadas (ou alteradas por outra escrita depois da busca, que
+ * o UPDATE confere de novo) deixam de atender ao filtro.
+ */
+@Singleton
+public class UserStatusExpiryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserStatusExpiryService.class);
+
+    private static final Sort INDEX_ORDER = Sort.of(Sort.Order.asc("personaNonGrataUntilDate"), Sort.Order.asc("id"));
+
+    private final UserRepository userRepository;
+    private final UserStatusExpiryConfiguration configuration;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder chunkNanos = new LongAdder();
+    private final AtomicLong maxChunkNanos = new AtomicLong();
+    private volatile long lastChunkNanos;
+    private volatile int chunkSize;
+    private volatile Instant lastRunAt;
+
+    public UserStatusExpiryService(UserRepository userRepository, UserStatusExpiryConfiguration configuration) {
+        this.userRepository = userRepository;
+        this.configuration = configuration;
+        this.chunkSize = Math.max(1, configuration.getChunkSize());
+    }
+
+    @Scheduled(fixedDelay = "${users.status-expiry.interval:1m}", initialDelay = "${users.status-expiry.interval:1m}")
+    void scheduledExpiry() {
+        if (configuration.isEnabled()) {
+            expire();
+        }
+    }
+
+    /**
+     * Executa uma rodada completa. Se outra rodada já estiver em andamento, retorna sem fazer nada.
+     */
+    public UserStatusExpiryReport expire() {
+        if (!running.compareAndSet(false, true)) {
+            return new UserStatusExpiryReport(0, 0, 0);
+        }
+        long start = System.nanoTime();
+        int chunkCount = 0;
+        long expiredCount = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            while (true) {
+                long chunkStart = System.nanoTime();
+                List<Long> ids = userRepository.findIdByStatusAndPersonaNonGrataUntilDateLessThan(
+                        User.UserStatus.PERSONA_NON_GRATA, now, Pageable.from(0, chunkSize, INDEX_ORDER));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long updated = userRepository.updateExpiredStatus(ids, User.UserStatus.PERSONA_NON_GRATA,
+                        User.UserStatus.REGULAR, now);
+                record(System.nanoTime() - chunkStart, updated);
+                chunkCount++;
+                expiredCount += updated;
+                if (!pause()) {
+                    break;
+                }
+            }
+        } finally {
+            runs.increment();
+            lastRunAt = Instant.now();
+            running.set(false);
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        if (expiredCount > 0) {
+            LOG.info("Expired {} PERSONA_NON_GRATA users in {} chunks ({} ms)", expiredCount, chunkCount, durationMillis);
+        }
+        return new UserStatusExpiryReport(chunkCount, expiredCount, durationMillis);
+    }
+
+    private void record(long nanos, long updated) {
+        chunks.increment();
+        expired.add(updated);
+        chunkNanos.add(nanos);
+        lastChunkNanos = nanos;
+        maxChunkNanos.accumulateAndGet(nanos, Math::max);
+
+        long target = configuration.getTargetChunkDuration().toNanos();
+        if (nanos > target) {
+            chunkSize = Math.max(Math.max(1, configuration.getMinimumChunkSize()), chunkSize / 2);
+        } else if (nanos < target / 2) {
+            chunkSize = Math.min(Math.max(1, configuration.getChunkSize()), chunkSize * 2);
+        }
+    }
+
+    private boolean pause() {
+        long millis = configuration.getPauseBetweenChunks().toMillis();
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    public long getChunks() {
+        return chunks.sum();
+    }
+
+    public long getExpired() {
+        return expired.sum();
+    }
+
+    public long getTotalChunkNanos() {
+        return chunkNanos.sum();
+    }
+
+    public long getLastChunkNanos() {
+        return lastChunkNanos;
+    }
+
+    public long getMaxChunkNanos() {
+        return maxChunkNanos.get();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public Instant getLastRunAt() {
+        return lastRunAt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dfm.biblioteca.domain.export;
+
+import com.dfm.biblioteca.domain.entity.User;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor forward-only sobre a tabela users.
+ *
+ * Usa uma StatelessSession: as entidades lidas não entram em nenhum contexto de persistência,
+ * então a memória fica constante independentemente do número de linhas. Deve ser fechado pelo consumidor.
+ */
+public class UserExportCursor implements Iterator<User>, AutoCloseable {
+
+    private final StatelessSession session;
+    private final ScrollableResults<User> results;
+    private Boolean hasNext;
+    private boolean closed;
+
+    public UserExportCursor(StatelessSession session, ScrollableResults<User> results) {
+        this.session = session;
+        this.results = results;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (hasNext == null) {
+            hasNext = results.next();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public User next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = null;
+        return results.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            results.close();
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dfm.biblioteca.domain.export;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionais da exportação de usuários. Campos nulos não restringem o resultado.
+ *
+ * A janela de criação é semiaberta: createdFrom inclusivo, createdTo exclusivo.
+ */
+public record UserExportFilter(@Nullable User.UserStatus status,
+                               @Nullable String state,
+                               @Nullable LocalDateTime createdFrom,
+                               @Nullable LocalDateTime createdTo) {
+}
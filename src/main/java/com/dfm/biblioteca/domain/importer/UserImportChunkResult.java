@@ -0,0 +1,17 @@
+package com.dfm.biblioteca.domain.importer;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Resultado de um bloco da importação. Cada bloco roda na própria transação:
+ * se failure estiver preenchido, nenhuma linha do bloco foi gravada.
+ */
+@Introspected
+public record UserImportChunkResult(int chunk,
+                                    int inserted,
+                                    List<UserImportRowError> rejected,
+                                    @Nullable String failure) {
+}
@@ -0,0 +1,9 @@
+package com.dfm.biblioteca.domain.importer;
+
+import io.micronaut.core.annotation.Introspected;
+
+import java.util.List;
+
+@Introspected
+public record UserImportReport(int received, int inserted, int rejected, List<UserImportChunkResult> chunks) {
+}
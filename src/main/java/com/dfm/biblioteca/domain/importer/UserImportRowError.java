@@ -0,0 +1,11 @@
+package com.dfm.biblioteca.domain.importer;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Linha rejeitada na importação. row é a posição (base zero) na lista enviada.
+ */
+@Introspected
+public record UserImportRowError(int row, @Nullable String cpf, String reason) {
+}
@@ -0,0 +1,79 @@
+package com.dfm.biblioteca.domain.lookup;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.cpf-lookup")
+public class CpfLookupConfiguration {
+
+    // Maior lista de CPFs aceita por POST /users/cpf/lookups
+    private int maxBatchSize = 1000;
+    // CPFs por consulta IN; listas maiores viram várias consultas
+    private int maxInListSize = 500;
+    // Junta as consultas individuais por CPF que chegam dentro de coalesce-window numa única consulta IN
+    private boolean coalesce = false;
+    private Duration coalesceWindow = Duration.ofMillis(2);
+    // Um micro-lote cheio é consultado sem esperar a janela
+    private int coalesceMaxBatch = 100;
+    // Threads do executor dos micro-lotes
+    private int coalesceThreads = 2;
+    // Espera máxima pelo micro-lote; depois dela a consulta individual vai direto ao banco
+    private Duration coalesceTimeout = Duration.ofMillis(500);
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxInListSize() {
+        return maxInListSize;
+    }
+
+    public void setMaxInListSize(int maxInListSize) {
+        this.maxInListSize = maxInListSize;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    public int getCoalesceMaxBatch() {
+        return coalesceMaxBatch;
+    }
+
+    public void setCoalesceMaxBatch(int coalesceMaxBatch) {
+        this.coalesceMaxBatch = coalesceMaxBatch;
+    }
+
+    public int getCoalesceThreads() {
+        return coalesceThreads;
+    }
+
+    public void setCoalesceThreads(int coalesceThreads) {
+        this.coalesceThreads = coalesceThreads;
+    }
+
+    public Duration getCoalesceTimeout() {
+        return coalesceTimeout;
+    }
+
+    public void setCoalesceTimeout(Duration coalesceTimeout) {
+        this.coalesceTimeout = coalesceTimeout;
+    }
+}
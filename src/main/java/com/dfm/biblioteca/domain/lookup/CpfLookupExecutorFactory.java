@@ -0,0 +1,29 @@
+package com.dfm.biblioteca.domain.lookup;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor próprio dos micro-lotes de consulta por CPF.
+ *
+ * Separado do executor das requisições: quem espera pelo micro-lote ocupa uma thread dele, e com um pool
+ * fixo o lote poderia ficar na fila atrás das próprias requisições que o esperam.
+ */
+@Factory
+public class CpfLookupExecutorFactory {
+
+    public static final String EXECUTOR = "cpf-lookup";
+
+    @Singleton
+    @Named(EXECUTOR)
+    @Bean(preDestroy = "shutdown")
+    ExecutorService cpfLookupExecutor(CpfLookupConfiguration configuration) {
+        return Executors.newFixedThreadPool(Math.max(1, configuration.getCoalesceThreads()),
+                Thread.ofPlatform().name(EXECUTOR + "-", 1).daemon(true).factory());
+    }
+}
@@ -0,0 +1,11 @@
+package com.dfm.biblioteca.domain.lookup;
+
+/**
+ * Lançada quando uma consulta em lote traz mais CPFs que users.cpf-lookup.max-batch-size.
+ */
+public class CpfLookupLimitException extends RuntimeException {
+
+    public CpfLookupLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.dfm.biblioteca.domain.lookup;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Resultado de um CPF numa consulta em lote; id e status são nulos quando o CPF não está cadastrado.
+ */
+@Introspected
+public record CpfLookupResult(String cpf, boolean found, @Nullable Long id, @Nullable User.UserStatus status) {
+
+    static CpfLookupResult of(String cpf, @Nullable UserVersion version) {
+        return version == null
+                ? new CpfLookupResult(cpf, false, null, null)
+                : new CpfLookupResult(cpf, true, version.id(), version.status());
+    }
+}
@@ -0,0 +1,193 @@
+package com.dfm.biblioteca.domain.lookup;
+
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.filter.UserCpfFilter;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consulta de versão e status por CPF, em lote ou individual.
+ *
+ * Em lote, os CPFs que o filtro de Bloom descarta nem chegam ao banco e os demais vão em consultas IN de até
+ * max-in-list-size. Com coalesce ligado, as consultas individuais de versão concorrentes esperam até
+ * coalesce-window (ou até o micro-lote ter coalesce-max-batch CPFs) e saem juntas numa consulta IN, executada
+ * no executor próprio dos micro-lotes; CPFs repetidos no mesmo micro-lote compartilham o resultado. Quem
+ * espera desiste depois de coalesce-timeout, ou se o executor recusar o lote, e consulta o próprio CPF
+ * direto. O micro-lote roda fora da requisição que o abriu, então não segue o read-your-writes da réplica.
+ *
+ * Só a versão (ETag e status) passa pelo micro-lote; findByCpf e existsByCpf já são atendidos pelo cache e
+ * pelo índice de CPF.
+ */
+@Singleton
+public class UserCpfLookupService {
+
+    private final UserRepository userRepository;
+    private final UserCpfFilter userCpfFilter;
+    private final CpfLookupConfiguration configuration;
+    private final TaskScheduler scheduler;
+    private final ExecutorService executor;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private Map<String, CompletableFuture<Optional<UserVersion>>> pending = new HashMap<>();
+
+    public UserCpfLookupService(UserRepository userRepository,
+                                UserCpfFilter userCpfFilter,
+                                CpfLookupConfiguration configuration,
+                                @Named(TaskExecutors.SCHEDULED) TaskScheduler scheduler,
+                                @Named(CpfLookupExecutorFactory.EXECUTOR) ExecutorService executor) {
+        this.userRepository = userRepository;
+        this.userCpfFilter = userCpfFilter;
+        this.configuration = configuration;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Resultado de cada CPF, na ordem recebida.
+     */
+    public List<CpfLookupResult> lookup(List<String> cpfs) {
+        if (cpfs.size() > configuration.getMaxBatchSize()) {
+            throw new CpfLookupLimitException("At most " + configuration.getMaxBatchSize()
+                    + " CPFs can be looked up at once, got " + cpfs.size());
+        }
+        Map<String, UserVersion> found = findVersions(cpfs);
+        List<CpfLookupResult> results = new ArrayList<>(cpfs.size());
+        for (String cpf : cpfs) {
+            results.add(CpfLookupResult.of(cpf, found.get(cpf)));
+        }
+        return results;
+    }
+
+    //Versão e status de um CPF; com coalesce ligado, entra no micro-lote aberto
+    public Optional<UserVersion> findVersion(String cpf) {
+        if (!userCpfFilter.mightContain(cpf)) {
+            return Optional.empty();
+        }
+        if (!configuration.isCoalesce()) {
+            return userRepository.findVersionByCpf(cpf);
+        }
+        try {
+            return enqueue(cpf).get(configuration.getCoalesceTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            fallbacks.increment();
+            return userRepository.findVersionByCpf(cpf);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for CPF lookup batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                fallbacks.increment();
+                return userRepository.findVersionByCpf(cpf);
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    //Consulta os CPFs que passam pelo filtro de Bloom em blocos de max-in-list-size
+    private Map<String, UserVersion> findVersions(Collection<String> cpfs) {
+        List<String> candidates = new ArrayList<>();
+        for (String cpf : new LinkedHashSet<>(cpfs)) {
+            if (cpf != null && userCpfFilter.mightContain(cpf)) {
+                candidates.add(cpf);
+            }
+        }
+        Map<String, UserVersion> found = new HashMap<>(candidates.size() * 2);
+        int chunkSize = Math.max(1, configuration.getMaxInListSize());
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + chunkSize));
+            batches.increment();
+            for (UserVersion version : userRepository.findVersionByCpfInList(chunk)) {
+                found.put(version.cpf(), version);
+            }
+        }
+        return found;
+    }
+
+    private CompletableFuture<Optional<UserVersion>> enqueue(String cpf) {
+        CompletableFuture<Optional<UserVersion>> result;
+        Map<String, CompletableFuture<Optional<UserVersion>>> full = null;
+        boolean opened;
+        synchronized (this) {
+            opened = pending.isEmpty();
+            result = pending.computeIfAbsent(cpf, key -> new CompletableFuture<>());
+            if (pending.size() >= configuration.getCoalesceMaxBatch()) {
+                full = pending;
+                pending = new HashMap<>();
+            }
+        }
+        coalesced.increment();
+        if (full != null) {
+            dispatch(full);
+        } else if (opened) {
+            try {
+                scheduler.schedule(configuration.getCoalesceWindow(), this::dispatchPending);
+            } catch (RuntimeException e) {
+                dispatchPending();
+            }
+        }
+        return result;
+    }
+
+    //Retira o micro-lote aberto antes de entregá-lo ao executor, para uma recusa não prender as próximas consultas
+    private void dispatchPending() {
+        Map<String, CompletableFuture<Optional<UserVersion>>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Map<String, CompletableFuture<Optional<UserVersion>>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void run(Map<String, CompletableFuture<Optional<UserVersion>>> batch) {
+        try {
+            Map<String, UserVersion> found = findVersions(batch.keySet());
+            batch.forEach((cpf, future) -> future.complete(Optional.ofNullable(found.get(cpf))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    //Consultas IN executadas (lotes e micro-lotes)
+    long getBatches() {
+        return batches.sum();
+    }
+
+    //Consultas individuais que passaram por um micro-lote
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    //Consultas individuais que desistiram do micro-lote (tempo esgotado ou lote recusado) e foram direto ao banco
+    long getFallbacks() {
+        return fallbacks.sum();
+    }
+}
@@ -0,0 +1,37 @@
+package com.dfm.biblioteca.domain.pagination;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Página de uma consulta paginada por cursor (keyset).
+ *
+ * nextCursor é opaco para o cliente e deve ser devolvido sem alterações para buscar a próxima página.
+ * É nulo quando não há mais resultados.
+ */
+@Introspected
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, @Nullable String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
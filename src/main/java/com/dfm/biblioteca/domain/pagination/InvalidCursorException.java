@@ -0,0 +1,11 @@
+package com.dfm.biblioteca.domain.pagination;
+
+/**
+ * Lançada quando o cursor recebido não pode ser decodificado ou não pertence à consulta solicitada.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dfm.biblioteca.domain.pagination;
+
+import com.dfm.biblioteca.domain.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma paginação keyset sobre (status, id).
+ *
+ * O token é o par "STATUS:id" em Base64 URL-safe; o cliente não deve interpretá-lo.
+ */
+public record UserCursor(User.UserStatus status, long lastId) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = status.name() + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        try {
+            User.UserStatus status = User.UserStatus.valueOf(raw.substring(0, separator));
+            long lastId = Long.parseLong(raw.substring(separator + 1));
+            return new UserCursor(status, lastId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dfm.biblioteca.domain.pagination;
+
+import com.dfm.biblioteca.domain.search.UserNameSearchService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma busca por nome: termo normalizado, faixa de relevância, última chave e último id.
+ *
+ * O token é "faixa:id:chave:termo" em Base64 URL-safe. Chaves normalizadas não contêm ':'.
+ */
+public record UserNameCursor(String query, UserNameSearchService.Rank rank, String lastKey, long lastId) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = rank.name() + SEPARATOR + lastId + SEPARATOR + lastKey + SEPARATOR + query;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserNameCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 4) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        try {
+            UserNameSearchService.Rank rank = UserNameSearchService.Rank.valueOf(parts[0]);
+            long lastId = Long.parseLong(parts[1]);
+            return new UserNameCursor(parts[3], rank, parts[2], lastId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
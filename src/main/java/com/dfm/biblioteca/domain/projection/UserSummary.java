@@ -0,0 +1,14 @@
+package com.dfm.biblioteca.domain.projection;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * Projeção de listagem: só as colunas que as listas exibem, sem endereço nem datas.
+ *
+ * Consultas que devolvem esta projeção selecionam apenas essas colunas e não passam pelo contexto de
+ * persistência (nada de snapshot para dirty checking).
+ */
+@Introspected
+public record UserSummary(Long id, String firstName, String lastName, String cpf, User.UserStatus status) {
+}
@@ -0,0 +1,14 @@
+package com.dfm.biblioteca.domain.projection;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.core.annotation.Introspected;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de versão: o que identifica o estado atual da linha (id, version, updatedAt) mais CPF e status, para
+ * validar ETags e responder consultas de status, individuais ou em lote, sem carregar a entidade.
+ */
+@Introspected
+public record UserVersion(Long id, String cpf, Long version, LocalDateTime updatedAt, User.UserStatus status) {
+}
@@ -0,0 +1,44 @@
+package com.dfm.biblioteca.domain.repository;
+
+import com.dfm.biblioteca.domain.entity.UserBulkDeleteJob;
+import com.dfm.biblioteca.infrastructure.metrics.RepositoryMetrics;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RepositoryMetrics
+public interface UserBulkDeleteJobRepository extends CrudRepository<UserBulkDeleteJob, Long> {
+
+    //Busca remoções em blocos pelo estado (ex.: as que ficaram RUNNING depois de uma queda)
+    List<UserBulkDeleteJob> findByState(UserBulkDeleteJob.State state);
+
+    //Assume o trabalho para owner se ninguém o executa ou se o heartbeat do dono é anterior a expiredBefore;
+    //retorna 0 se outra instância mantém o lease
+    @Query("UPDATE UserBulkDeleteJob j SET j.owner = :owner, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.state = :expectedState AND (j.owner IS NULL OR j.heartbeatAt < :expiredBefore)")
+    long claim(Long id, UserBulkDeleteJob.State expectedState, String owner, LocalDateTime expiredBefore, LocalDateTime now);
+
+    //Avança o progresso e renova o heartbeat só enquanto o trabalho está em expectedState e pertence a owner;
+    //retorna 0 se outra instância já mudou o estado ou assumiu o trabalho
+    @Query("UPDATE UserBulkDeleteJob j SET j.lastId = :lastId, j.deleted = j.deleted + :deleted, j.updatedAt = :now, " +
+            "j.heartbeatAt = :now WHERE j.id = :id AND j.state = :expectedState AND j.owner = :owner")
+    long updateProgress(Long id, UserBulkDeleteJob.State expectedState, String owner, long lastId, long deleted,
+                        LocalDateTime now);
+
+    //Muda o estado de expectedState para state; retorna 0 se o trabalho já estava em outro estado
+    @Query("UPDATE UserBulkDeleteJob j SET j.state = :state, j.failure = :failure, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.state = :expectedState")
+    long updateState(Long id, UserBulkDeleteJob.State expectedState, UserBulkDeleteJob.State state,
+                     @Nullable String failure, LocalDateTime now);
+
+    //Como updateState, mas só se o trabalho ainda pertence a owner; libera o lease
+    @Query("UPDATE UserBulkDeleteJob j SET j.state = :state, j.failure = :failure, j.updatedAt = :now, " +
+            "j.owner = NULL WHERE j.id = :id AND j.state = :expectedState AND j.owner = :owner")
+    long updateOwnedState(Long id, UserBulkDeleteJob.State expectedState, String owner, UserBulkDeleteJob.State state,
+                          @Nullable String failure, LocalDateTime now);
+}
@@ -1,32 +1,159 @@
 package com.dfm.biblioteca.domain.repository;
 
 import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import com.dfm.biblioteca.infrastructure.metrics.RepositoryMetrics;
+import com.dfm.biblioteca.infrastructure.persistence.BulkUserChange;
+import com.dfm.biblioteca.infrastructure.persistence.UserBulkChangeEvent;
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.annotation.EntityGraph;
+import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.CrudRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RepositoryMetrics
 @Introspected
 public interface UserRepository extends CrudRepository<User, Long> {
 
-    //Busca usuário pelo CPF
+    //O alias user_ é o que o Micronaut Data usa ao acrescentar a ordenação do Pageable
+    String SUMMARY_SELECT = "SELECT user_.id AS id, user_.firstName AS firstName, user_.lastName AS lastName, "
+            + "user_.cpf AS cpf, user_.status AS status FROM User user_ ";
+    String VERSION_SELECT = "SELECT user_.id AS id, user_.cpf AS cpf, user_.version AS version, "
+            + "user_.updatedAt AS updatedAt, user_.status AS status FROM User user_ ";
+
+    //Busca usuário pelo CPF (sem o grupo lazy de endereço)
     Optional<User> findByCpf(String cpf);
 
+    //Busca o usuário completo pelo CPF, com o endereço na mesma consulta
+    @Query("SELECT user_ FROM User user_ WHERE user_.cpf = :cpf")
+    @EntityGraph(User.COMPLETE_GRAPH)
+    Optional<User> findCompleteByCpf(String cpf);
+
+    //Busca o usuário completo pelo id, com o endereço na mesma consulta
+    @Query("SELECT user_ FROM User user_ WHERE user_.id = :id")
+    @EntityGraph(User.COMPLETE_GRAPH)
+    Optional<User> findCompleteById(Long id);
+
+    //Busca só o status do usuário pelo CPF
+    Optional<User.UserStatus> findStatusByCpf(String cpf);
+
+    //Busca só a versão (id, version, updatedAt) e o status do usuário pelo CPF, para validar ETags sem carregar a entidade
+    @Query(VERSION_SELECT + "WHERE user_.cpf = :cpf")
+    Optional<UserVersion> findVersionByCpf(String cpf);
+
+    //Busca versão e status de vários CPFs numa única consulta; quem chama limita o tamanho da lista do IN
+    @Query(VERSION_SELECT + "WHERE user_.cpf IN (:cpfs)")
+    List<UserVersion> findVersionByCpfInList(Collection<String> cpfs);
+
+    //Busca só o status do usuário pelo id
+    Optional<User.UserStatus> findStatusById(Long id);
+
     //Busca usuários pelo status
     List<User> findByStatus(User.UserStatus status);
 
+    //Busca o resumo (UserSummary) dos usuários pelo status
+    //JPQL explícito: a projeção derivada usaria o nome das colunas (@Column) no lugar dos atributos
+    @Query(SUMMARY_SELECT + "WHERE user_.status = :status")
+    List<UserSummary> listByStatus(User.UserStatus status);
+
+    //Busca usuários pelo status a partir de um id (paginação keyset sobre o idx_status, que no InnoDB já carrega o id)
+    //O pageable deve ser ordenado por id e ter offset zero; o custo não depende da posição da página
+    List<User> findByStatusAndIdGreaterThan(User.UserStatus status, Long id, Pageable pageable);
+
+    //Mesma paginação keyset de findByStatusAndIdGreaterThan, devolvendo só o resumo (usada pela listagem)
+    @Query(SUMMARY_SELECT + "WHERE user_.status = :status AND user_.id > :id")
+    List<UserSummary> listByStatusAndIdGreaterThan(User.UserStatus status, Long id, Pageable pageable);
+
+    //Busca por nome, faixa FIRST_NAME_EXACT: primeiro nome igual ao termo, em ordem de id (idx_first_name_key)
+    @Query(SUMMARY_SELECT + "WHERE user_.firstNameKey = :key AND user_.id > :id")
+    List<UserSummary> listByFirstNameKey(String key, Long id, Pageable pageable);
+
+    //Busca por nome, faixa LAST_NAME_EXACT: sobrenome igual ao termo, exceto os da faixa anterior (idx_last_name_key)
+    @Query(SUMMARY_SELECT + "WHERE user_.lastNameKey = :key AND user_.firstNameKey <> :key AND user_.id > :id")
+    List<UserSummary> listByLastNameKey(String key, Long id, Pageable pageable);
+
+    //Busca por nome, faixa FIRST_NAME_PREFIX: primeiro nome começa com o termo, exceto os das faixas exatas
+    //O pageable deve ser ordenado por firstNameKey e id, a ordem do idx_first_name_key
+    @Query(SUMMARY_SELECT + "WHERE user_.firstNameKey LIKE :prefix AND user_.firstNameKey <> :key "
+            + "AND user_.lastNameKey <> :key "
+            + "AND (user_.firstNameKey > :afterKey OR (user_.firstNameKey = :afterKey AND user_.id > :id))")
+    List<UserSummary> listByFirstNameKeyPrefix(String prefix, String key, String afterKey, Long id, Pageable pageable);
+
+    //Busca por nome, faixa LAST_NAME_PREFIX: sobrenome começa com o termo, exceto os das faixas anteriores
+    //O pageable deve ser ordenado por lastNameKey e id, a ordem do idx_last_name_key
+    @Query(SUMMARY_SELECT + "WHERE user_.lastNameKey LIKE :prefix AND user_.lastNameKey <> :key "
+            + "AND user_.firstNameKey NOT LIKE :prefix "
+            + "AND (user_.lastNameKey > :afterKey OR (user_.lastNameKey = :afterKey AND user_.id > :id))")
+    List<UserSummary> listByLastNameKeyPrefix(String prefix, String key, String afterKey, Long id, Pageable pageable);
+
+    //Busca usuários ainda sem chaves de busca por nome (preenchimento das linhas antigas)
+    List<User> findByFirstNameKeyIsNullOrLastNameKeyIsNull(Pageable pageable);
+
+    //Grava só as chaves de busca por nome, sem version, updatedAt nem eventos de alteração
+    //Os nomes são conferidos de novo no UPDATE para não gravar chaves de um nome alterado depois da busca
+    @Query("UPDATE User u SET u.firstNameKey = :firstNameKey, u.lastNameKey = :lastNameKey " +
+            "WHERE u.id IN (:ids) AND u.firstName = :firstName AND u.lastName = :lastName")
+    long updateNameKeys(List<Long> ids, String firstName, String lastName, String firstNameKey, String lastNameKey);
+
+    //Busca ids de usuários pelo status a partir de um id (blocos da remoção em massa)
+    List<Long> findIdByStatusAndIdGreaterThan(User.UserStatus status, Long id, Pageable pageable);
+
     //Busca usuários pelo status
     long countByStatus(User.UserStatus status);
 
     //Verifica se o usuário existe pelo CPF
     boolean existsByCpf(String cpf);
 
+    //Retorna, dentre os CPFs informados, os que já estão cadastrados
+    List<String> findCpfByCpfInList(Collection<String> cpfs);
+
+    //Busca ids de usuários cujo status venceu antes da data informada (usa idx_status_persona_non_grata_until)
+    List<Long> findIdByStatusAndPersonaNonGrataUntilDateLessThan(User.UserStatus status, LocalDateTime until, Pageable pageable);
+
+    //Move para status os usuários informados que ainda estão em previousStatus com prazo vencido antes de now
+    //Status e prazo são conferidos de novo no UPDATE para não desfazer alterações feitas depois da busca dos ids
+    @Query("UPDATE User u SET u.status = :status, u.personaNonGrataUntilDate = NULL, u.updatedAt = :now, " +
+            "u.version = u.version + 1 WHERE u.id IN (:ids) AND u.status = :previousStatus AND u.personaNonGrataUntilDate < :now")
+    @BulkUserChange(kind = UserBulkChangeEvent.Kind.UPDATE, statusParameter = "status", previousStatusParameter = "previousStatus")
+    long updateExpiredStatus(List<Long> ids, User.UserStatus previousStatus, User.UserStatus status, LocalDateTime now);
+
+    //Muda o status do usuário de expectedStatus para status numa única instrução, sem ler nem travar a linha antes
+    //Retorna 0 quando o usuário não existe ou já não estava em expectedStatus (outra transação mudou antes)
+    @Query("UPDATE User u SET u.status = :status, u.personaNonGrataUntilDate = :personaNonGrataUntilDate, " +
+            "u.updatedAt = :now, u.version = u.version + 1 WHERE u.id = :id AND u.status = :expectedStatus")
+    @BulkUserChange(kind = UserBulkChangeEvent.Kind.UPDATE, statusParameter = "status",
+            previousStatusParameter = "expectedStatus", idParameter = "id")
+    long updateStatus(Long id, User.UserStatus expectedStatus, User.UserStatus status,
+                      @Nullable LocalDateTime personaNonGrataUntilDate, LocalDateTime now);
+
     //Remove todos os usuários por status
+    @BulkUserChange(statusParameter = "status")
     long deleteAllByStatus(User.UserStatus status);
 
     //Remove um usuário por status
+    @BulkUserChange(statusParameter = "status")
     long deleteByIdAndStatus(Long id, User.UserStatus status);
+
+    //Remove os usuários informados que ainda estão no status (um bloco da remoção em massa)
+    @BulkUserChange(statusParameter = "status")
+    long deleteByIdInListAndStatus(List<Long> ids, User.UserStatus status);
+
+    //Redeclarados para publicar UserBulkChangeEvent: são DELETEs em massa e não disparam eventos de entidade
+    @Override
+    @BulkUserChange
+    void deleteById(@NonNull Long id);
+
+    @Override
+    @BulkUserChange
+    void deleteAll();
 }
@@ -0,0 +1,32 @@
+package com.dfm.biblioteca.domain.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de nomes para busca: sem acentos, minúsculo, só letras, dígitos e espaços simples.
+ *
+ * "João", "JOAO" e "joão" viram "joao"; "D'Ávila" vira "davila". O mesmo cálculo é usado para gravar as
+ * colunas de busca e para o termo pesquisado, então nunca sobram % ou _ para o LIKE.
+ */
+public final class NameKey {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern PUNCTUATION = Pattern.compile("[^\\p{L}\\p{Nd} ]+");
+    private static final Pattern SPACES = Pattern.compile(" {2,}");
+
+    private NameKey() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = Normalizer.normalize(name, Normalizer.Form.NFD);
+        key = MARKS.matcher(key).replaceAll("");
+        key = key.toLowerCase(Locale.ROOT).replaceAll("\\s", " ");
+        key = PUNCTUATION.matcher(key).replaceAll("");
+        return SPACES.matcher(key).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,95 @@
+package com.dfm.biblioteca.domain.search;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Preenche first_name_key e last_name_key das linhas antigas, em blocos, sem fazer a inicialização depender
+ * do banco. Linhas novas já são gravadas com as chaves.
+ *
+ * As chaves são gravadas por UPDATEs que só tocam essas duas colunas, um por par de nomes do bloco: a versão,
+ * o updatedAt (e com eles os ETags) ficam como estavam e nenhum evento de alteração é publicado.
+ */
+@Singleton
+@Requires(bean = DataSource.class)
+public class UserNameKeyBackfill {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserNameKeyBackfill.class);
+
+    private final BeanProvider<UserRepository> userRepository;
+    private final UserNameSearchConfiguration configuration;
+    private final ExecutorService executor;
+
+    public UserNameKeyBackfill(BeanProvider<UserRepository> userRepository,
+                               UserNameSearchConfiguration configuration,
+                               @Named(TaskExecutors.IO) ExecutorService executor) {
+        this.userRepository = userRepository;
+        this.configuration = configuration;
+        this.executor = executor;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (!configuration.isBackfillOnStartup()) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                long filled = backfill();
+                if (filled > 0) {
+                    LOG.info("Filled name search keys of {} users", filled);
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Could not fill name search keys", e);
+            }
+        });
+    }
+
+    /**
+     * Preenche as chaves bloco a bloco; cada bloco é gravado numa transação própria e some da consulta
+     * seguinte, então a busca sempre lê a primeira página.
+     */
+    public long backfill() {
+        UserRepository repository = userRepository.get();
+        Pageable chunk = Pageable.from(0, configuration.getBackfillChunkSize());
+        long filled = 0;
+        List<User> users;
+        while (!(users = repository.findByFirstNameKeyIsNullOrLastNameKeyIsNull(chunk)).isEmpty()) {
+            Map<List<String>, List<Long>> idsByName = new LinkedHashMap<>();
+            for (User user : users) {
+                idsByName.computeIfAbsent(List.of(user.getFirstName(), user.getLastName()), name -> new ArrayList<>())
+                        .add(user.getId());
+            }
+            long updated = 0;
+            for (Map.Entry<List<String>, List<Long>> entry : idsByName.entrySet()) {
+                String firstName = entry.getKey().get(0);
+                String lastName = entry.getKey().get(1);
+                updated += repository.updateNameKeys(entry.getValue(), firstName, lastName,
+                        NameKey.normalize(firstName), NameKey.normalize(lastName));
+            }
+            if (updated == 0) {
+                // Nenhuma linha do bloco pôde ser preenchida; repetir a busca traria o mesmo bloco
+                break;
+            }
+            filled += updated;
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dfm.biblioteca.domain.search;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("users.name-search")
+public class UserNameSearchConfiguration {
+
+    // Preenche em segundo plano as chaves de busca das linhas gravadas antes das colunas existirem
+    private boolean backfillOnStartup = true;
+    private int backfillChunkSize = 500;
+
+    public boolean isBackfillOnStartup() {
+        return backfillOnStartup;
+    }
+
+    public void setBackfillOnStartup(boolean backfillOnStartup) {
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    public int getBackfillChunkSize() {
+        return backfillChunkSize;
+    }
+
+    public void setBackfillChunkSize(int backfillChunkSize) {
+        this.backfillChunkSize = backfillChunkSize;
+    }
+}
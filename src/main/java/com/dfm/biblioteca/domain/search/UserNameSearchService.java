@@ -0,0 +1,112 @@
+package com.dfm.biblioteca.domain.search;
+
+import com.dfm.biblioteca.domain.pagination.CursorPage;
+import com.dfm.biblioteca.domain.pagination.InvalidCursorException;
+import com.dfm.biblioteca.domain.pagination.UserNameCursor;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.domain.service.UserService;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca de usuários por nome, sem diferenciar acentos nem maiúsculas, sobre first_name_key e last_name_key.
+ *
+ * Os resultados vêm em faixas de relevância (Rank): nome igual ao termo antes de nome que começa com o termo,
+ * primeiro nome antes de sobrenome. Cada faixa é uma varredura de intervalo num índice, na ordem do próprio
+ * índice e limitada ao tamanho da página, então o custo não cresce com a tabela nem com a posição da página.
+ * As faixas não se sobrepõem: um usuário aparece só na primeira em que se encaixa.
+ */
+@Singleton
+public class UserNameSearchService {
+
+    public enum Rank {
+        FIRST_NAME_EXACT,
+        LAST_NAME_EXACT,
+        FIRST_NAME_PREFIX,
+        LAST_NAME_PREFIX
+    }
+
+    private static final Sort BY_ID = Sort.of(Sort.Order.asc("id"));
+    private static final Sort BY_FIRST_NAME_KEY = Sort.of(Sort.Order.asc("firstNameKey"), Sort.Order.asc("id"));
+    private static final Sort BY_LAST_NAME_KEY = Sort.of(Sort.Order.asc("lastNameKey"), Sort.Order.asc("id"));
+
+    private final UserRepository userRepository;
+
+    public UserNameSearchService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Busca uma página de usuários cujo primeiro nome ou sobrenome começa com o termo, continuando a partir do
+     * cursor informado. Termos que ficam vazios depois de normalizados não encontram ninguém.
+     */
+    public CursorPage<UserSummary> search(String query, int size, @Nullable String cursor) {
+        int pageSize = Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE));
+        String key = NameKey.normalize(query);
+        if (key == null || key.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Rank rank = Rank.FIRST_NAME_EXACT;
+        String afterKey = "";
+        long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            UserNameCursor position = UserNameCursor.decode(cursor);
+            if (!position.query().equals(key)) {
+                throw new InvalidCursorException("Cursor does not belong to query " + query);
+            }
+            rank = position.rank();
+            afterKey = position.lastKey();
+            afterId = position.lastId();
+        }
+
+        // size + 1 linhas para saber se existe próxima página
+        List<UserSummary> rows = new ArrayList<>(pageSize + 1);
+        List<Rank> rowRanks = new ArrayList<>(pageSize + 1);
+        for (Rank current : Rank.values()) {
+            if (current.ordinal() < rank.ordinal()) {
+                continue;
+            }
+            boolean resume = current == rank;
+            List<UserSummary> found = find(current, key, resume ? afterKey : "", resume ? afterId : 0L,
+                    pageSize + 1 - rows.size());
+            rows.addAll(found);
+            found.forEach(row -> rowRanks.add(current));
+            if (rows.size() > pageSize) {
+                break;
+            }
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        UserSummary last = rows.get(pageSize - 1);
+        Rank lastRank = rowRanks.get(pageSize - 1);
+        String lastKey = switch (lastRank) {
+            case FIRST_NAME_PREFIX -> NameKey.normalize(last.firstName());
+            case LAST_NAME_PREFIX -> NameKey.normalize(last.lastName());
+            default -> "";
+        };
+        String nextCursor = new UserNameCursor(key, lastRank, lastKey, last.id()).encode();
+        return new CursorPage<>(List.copyOf(rows.subList(0, pageSize)), nextCursor);
+    }
+
+    private List<UserSummary> find(Rank rank, String key, String afterKey, long afterId, int limit) {
+        String prefix = key + "%";
+        return switch (rank) {
+            case FIRST_NAME_EXACT -> userRepository.listByFirstNameKey(key, afterId, Pageable.from(0, limit, BY_ID));
+            case LAST_NAME_EXACT -> userRepository.listByLastNameKey(key, afterId, Pageable.from(0, limit, BY_ID));
+            case FIRST_NAME_PREFIX -> userRepository.listByFirstNameKeyPrefix(prefix, key, afterKey, afterId,
+                    Pageable.from(0, limit, BY_FIRST_NAME_KEY));
+            case LAST_NAME_PREFIX -> userRepository.listByLastNameKeyPrefix(prefix, key, afterKey, afterId,
+                    Pageable.from(0, limit, BY_LAST_NAME_KEY));
+        };
+    }
+}
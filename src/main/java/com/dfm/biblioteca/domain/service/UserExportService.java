@@ -0,0 +1,73 @@
+package com.dfm.biblioteca.domain.service;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.export.UserExportCursor;
+import com.dfm.biblioteca.domain.export.UserExportFilter;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.hibernate.ScrollMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.query.SelectionQuery;
+
+@Singleton
+public class UserExportService {
+
+    private final SessionFactory sessionFactory;
+    private final int fetchSize;
+
+    public UserExportService(SessionFactory sessionFactory,
+                             @Value("${jpa.default.properties.hibernate.jdbc.fetch_size:50}") int fetchSize) {
+        this.sessionFactory = sessionFactory;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Abre um cursor forward-only com os usuários que atendem ao filtro, em ordem de id.
+     *
+     * As linhas são trazidas do banco em blocos de hibernate.jdbc.fetch_size. No MySQL isso só acontece
+     * com useCursorFetch=true na URL; sem isso o driver carrega o resultado inteiro na memória.
+     */
+    public UserExportCursor open(UserExportFilter filter) {
+        StringBuilder hql = new StringBuilder("from User u where 1 = 1");
+        if (filter.status() != null) {
+            hql.append(" and u.status = :status");
+        }
+        if (filter.state() != null) {
+            hql.append(" and u.state = :state");
+        }
+        if (filter.createdFrom() != null) {
+            hql.append(" and u.createdAt >= :createdFrom");
+        }
+        if (filter.createdTo() != null) {
+            hql.append(" and u.createdAt < :createdTo");
+        }
+        hql.append(" order by u.id");
+
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            // O grupo lazy de endereço vem na mesma consulta: cada linha é serializada inteira fora da sessão
+            SelectionQuery<User> query = session.createSelectionQuery(hql.toString(), User.class)
+                    .setEntityGraph(session.createEntityGraph(User.class, User.COMPLETE_GRAPH), GraphSemantic.FETCH)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true);
+            if (filter.status() != null) {
+                query.setParameter("status", filter.status());
+            }
+            if (filter.state() != null) {
+                query.setParameter("state", filter.state());
+            }
+            if (filter.createdFrom() != null) {
+                query.setParameter("createdFrom", filter.createdFrom());
+            }
+            if (filter.createdTo() != null) {
+                query.setParameter("createdTo", filter.createdTo());
+            }
+            return new UserExportCursor(session, query.scroll(ScrollMode.FORWARD_ONLY));
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dfm.biblioteca.domain.service;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * Grava um bloco da importação em uma única transação, separado do UserImportService para que o
+ * proxy transacional seja aplicado a cada chamada.
+ */
+@Singleton
+public class UserImportChunkWriter {
+
+    private final UserRepository userRepository;
+
+    public UserImportChunkWriter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Transactional
+    public int insert(List<User> users) {
+        userRepository.saveAll(users);
+        return users.size();
+    }
+}
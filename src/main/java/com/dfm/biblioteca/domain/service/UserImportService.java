@@ -0,0 +1,118 @@
+package com.dfm.biblioteca.domain.service;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.importer.UserImportChunkResult;
+import com.dfm.biblioteca.domain.importer.UserImportReport;
+import com.dfm.biblioteca.domain.importer.UserImportRowError;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de usuários (ex.: cadastro de um município inteiro).
+ *
+ * A lista é processada em blocos de users.import.chunk-size linhas. Em cada bloco as linhas são validadas,
+ * CPFs repetidos na própria importação ou já cadastrados são rejeitados com uma única consulta IN, e as
+ * restantes são gravadas em uma transação, com os INSERTs agrupados em lotes de hibernate.jdbc.batch_size.
+ */
+@Singleton
+public class UserImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserImportService.class);
+
+    private final UserRepository userRepository;
+    private final UserImportChunkWriter chunkWriter;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository,
+                             UserImportChunkWriter chunkWriter,
+                             Validator validator,
+                             @Value("${users.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.chunkWriter = chunkWriter;
+        this.validator = validator;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public UserImportReport importUsers(List<User> users) {
+        Set<String> seenCpfs = new HashSet<>();
+        List<UserImportChunkResult> chunks = new ArrayList<>();
+        int inserted = 0;
+
+        for (int start = 0, chunk = 0; start < users.size(); start += chunkSize, chunk++) {
+            UserImportChunkResult result = importChunk(chunk, start, users.subList(start, Math.min(start + chunkSize, users.size())), seenCpfs);
+            inserted += result.inserted();
+            chunks.add(result);
+        }
+
+        return new UserImportReport(users.size(), inserted, users.size() - inserted, chunks);
+    }
+
+    private UserImportChunkResult importChunk(int chunk, int offset, List<User> rows, Set<String> seenCpfs) {
+        List<UserImportRowError> rejected = new ArrayList<>();
+        List<User> candidates = new ArrayList<>(rows.size());
+        List<Integer> candidateRows = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            User user = rows.get(i);
+            int row = offset + i;
+            if (user == null) {
+                rejected.add(new UserImportRowError(row, null, "Empty row"));
+                continue;
+            }
+
+            user.setId(null);
+            Set<ConstraintViolation<User>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                String reason = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                rejected.add(new UserImportRowError(row, user.getCpf(), reason));
+            } else if (!seenCpfs.add(user.getCpf())) {
+                rejected.add(new UserImportRowError(row, user.getCpf(), "Duplicate CPF in import"));
+            } else {
+                candidates.add(user);
+                candidateRows.add(row);
+            }
+        }
+
+        List<User> toInsert = new ArrayList<>(candidates.size());
+        if (!candidates.isEmpty()) {
+            Set<String> registered = new HashSet<>(userRepository.findCpfByCpfInList(
+                    candidates.stream().map(User::getCpf).toList()));
+            for (int i = 0; i < candidates.size(); i++) {
+                User user = candidates.get(i);
+                if (registered.contains(user.getCpf())) {
+                    rejected.add(new UserImportRowError(candidateRows.get(i), user.getCpf(), "CPF already registered"));
+                } else {
+                    toInsert.add(user);
+                }
+            }
+        }
+
+        rejected.sort(Comparator.comparingInt(UserImportRowError::row));
+        if (toInsert.isEmpty()) {
+            return new UserImportChunkResult(chunk, 0, rejected, null);
+        }
+
+        try {
+            return new UserImportChunkResult(chunk, chunkWriter.insert(toInsert), rejected, null);
+        } catch (RuntimeException e) {
+            LOG.warn("User import chunk {} failed", chunk, e);
+            return new UserImportChunkResult(chunk, 0, rejected, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.dfm.biblioteca.domain.service;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.lookup.UserCpfLookupService;
+import com.dfm.biblioteca.domain.pagination.CursorPage;
+import com.dfm.biblioteca.domain.pagination.InvalidCursorException;
+import com.dfm.biblioteca.domain.pagination.UserCursor;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.cache.UserCpfCache;
+import com.dfm.biblioteca.infrastructure.counter.UserStatusCounters;
+import com.dfm.biblioteca.infrastructure.filter.UserCpfFilter;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import jakarta.inject.Singleton;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Singleton
+public class UserService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final UserCpfCache userCpfCache;
+    private final UserCpfFilter userCpfFilter;
+    private final UserStatusCounters userStatusCounters;
+    private final UserCpfLookupService userCpfLookupService;
+
+    public UserService(UserRepository userRepository,
+                       UserCpfCache userCpfCache,
+                       UserCpfFilter userCpfFilter,
+                       UserStatusCounters userStatusCounters,
+                       UserCpfLookupService userCpfLookupService) {
+        this.userRepository = userRepository;
+        this.userCpfCache = userCpfCache;
+        this.userCpfFilter = userCpfFilter;
+        this.userStatusCounters = userStatusCounters;
+        this.userCpfLookupService = userCpfLookupService;
+    }
+
+    //Busca usuário pelo CPF: filtro de Bloom, depois cache, depois banco
+    public Optional<User> findByCpf(String cpf) {
+        if (!userCpfFilter.mightContain(cpf)) {
+            return Optional.empty();
+        }
+        return userCpfCache.findByCpf(cpf);
+    }
+
+    //Busca usuário pelo CPF quando a versão atual já foi lida (validação de ETag): uma cópia do cache de outra
+    //versão é descartada e o usuário é relido do banco, para o corpo e o ETag saírem da mesma leitura
+    public Optional<User> findByCpf(String cpf, UserVersion current) {
+        Optional<User> user = findByCpf(cpf);
+        if (user.isPresent() && isVersion(user.get(), current)) {
+            return user;
+        }
+        userCpfCache.invalidate(cpf);
+        return userCpfCache.findByCpf(cpf);
+    }
+
+    private static boolean isVersion(User user, UserVersion version) {
+        return Objects.equals(user.getId(), version.id()) && Objects.equals(user.getVersion(), version.version())
+                && Objects.equals(user.getUpdatedAt(), version.updatedAt());
+    }
+
+    //Verifica se o CPF está cadastrado: filtro de Bloom, depois cache, depois banco
+    public boolean existsByCpf(String cpf) {
+        return userCpfFilter.mightContain(cpf) && userCpfCache.existsByCpf(cpf);
+    }
+
+    //Busca só a versão e o status do usuário pelo CPF (validação de ETag): filtro de Bloom, depois banco,
+    //num micro-lote quando users.cpf-lookup.coalesce está ligado
+    public Optional<UserVersion> findVersionByCpf(String cpf) {
+        return userCpfLookupService.findVersion(cpf);
+    }
+
+    /**
+     * Muda o status do usuário de expectedStatus para status com um único UPDATE condicional, sem carregar a
+     * entidade nem travar a linha. Duas transições concorrentes a partir do mesmo status não se sobrepõem:
+     * só a primeira encontra a linha em expectedStatus.
+     *
+     * O prazo só é gravado em PERSONA_NON_GRATA; nos demais status é limpo. Retorna false quando o usuário
+     * não existe ou já não estava em expectedStatus.
+     */
+    public boolean changeStatus(Long id, User.UserStatus expectedStatus, User.UserStatus status,
+                                @Nullable LocalDateTime personaNonGrataUntilDate) {
+        LocalDateTime until = status == User.UserStatus.PERSONA_NON_GRATA ? personaNonGrataUntilDate : null;
+        return userRepository.updateStatus(id, expectedStatus, status, until, LocalDateTime.now()) == 1;
+    }
+
+    //Busca só o status do usuário pelo id
+    public Optional<User.UserStatus> findStatusById(Long id) {
+        return userRepository.findStatusById(id);
+    }
+
+    //Conta usuários pelo status a partir dos contadores em memória; consulta o banco até eles ficarem prontos
+    public long countByStatus(User.UserStatus status) {
+        if (userStatusCounters.isReady()) {
+            return userStatusCounters.count(status);
+        }
+        return userRepository.countByStatus(status);
+    }
+
+    /**
+     * Lista usuários de um status em páginas de tamanho fixo, continuando a partir do cursor informado.
+     *
+     * Busca size + 1 linhas para saber se existe próxima página sem precisar de COUNT. As linhas vêm como
+     * UserSummary, sem carregar as entidades.
+     */
+    public CursorPage<UserSummary> findByStatus(User.UserStatus status, int size, @Nullable String cursor) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = 0L;
+
+        if (cursor != null && !cursor.isBlank()) {
+            UserCursor position = UserCursor.decode(cursor);
+            if (position.status() != status) {
+                throw new InvalidCursorException("Cursor does not belong to status " + status);
+            }
+            afterId = position.lastId();
+        }
+
+        Pageable pageable = Pageable.from(0, pageSize + 1, Sort.of(Sort.Order.asc("id")));
+        List<UserSummary> rows = userRepository.listByStatusAndIdGreaterThan(status, afterId, pageable);
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<UserSummary> content = rows.subList(0, pageSize);
+        String nextCursor = new UserCursor(status, content.get(pageSize - 1).id()).encode();
+        return new CursorPage<>(List.copyOf(content), nextCursor);
+    }
+}
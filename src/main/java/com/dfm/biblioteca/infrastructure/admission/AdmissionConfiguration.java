@@ -0,0 +1,97 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("users.admission")
+public class AdmissionConfiguration {
+
+    private boolean enabled = true;
+    // Espera recente por conexão a partir da qual o pool é considerado saturado
+    private Duration poolWaitThreshold = Duration.ofMillis(100);
+    // Quanto uma requisição pode ficar na fila antes de receber 503
+    private Duration maxQueueWait = Duration.ofSeconds(1);
+    private int maxQueueLength = 200;
+    // De quanto em quanto tempo a fila é reavaliada e quantas requisições saem dela de cada vez
+    private Duration checkInterval = Duration.ofMillis(10);
+    private int releaseBatch = 8;
+    // Rotas de escrita em massa, descartadas primeiro quando o pool satura
+    private List<String> bulkPaths = List.of("/users/import", "/users/bulk-deletes");
+    // Rotas POST que só leem (consultas em lote), tratadas como leitura
+    private List<String> readPaths = List.of("/users/cpf/lookups");
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getPoolWaitThreshold() {
+        return poolWaitThreshold;
+    }
+
+    public void setPoolWaitThreshold(Duration poolWaitThreshold) {
+        this.poolWaitThreshold = poolWaitThreshold;
+    }
+
+    public Duration getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    public void setMaxQueueWait(Duration maxQueueWait) {
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    public void setMaxQueueLength(int maxQueueLength) {
+        this.maxQueueLength = maxQueueLength;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public int getReleaseBatch() {
+        return releaseBatch;
+    }
+
+    public void setReleaseBatch(int releaseBatch) {
+        this.releaseBatch = releaseBatch;
+    }
+
+    public List<String> getBulkPaths() {
+        return bulkPaths;
+    }
+
+    public void setBulkPaths(List<String> bulkPaths) {
+        this.bulkPaths = bulkPaths;
+    }
+
+    public List<String> getReadPaths() {
+        return readPaths;
+    }
+
+    public void setReadPaths(List<String> readPaths) {
+        this.readPaths = readPaths;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,175 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import com.dfm.biblioteca.infrastructure.metrics.ConnectionPoolMetrics;
+import com.dfm.biblioteca.infrastructure.metrics.LatencyHistogram;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decide se uma requisição entra agora, espera numa fila ou é descartada, conforme a saturação dos pools de
+ * conexão (ConnectionPoolMetrics).
+ *
+ * Sem saturação e com a fila vazia tudo entra direto. Saturado, escritas em massa são descartadas e as demais
+ * entram no fim da fila, que espera sem ocupar thread: a admissão é um CompletableFuture completado pelo TaskScheduler, que a cada
+ * check-interval descarta quem passou de max-queue-wait e, se o pool saiu da saturação, libera até
+ * release-batch requisições, leituras antes de escritas.
+ */
+@Singleton
+public class AdmissionController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionController.class);
+
+    private final AdmissionConfiguration configuration;
+    private final ConnectionPoolMetrics poolMetrics;
+    private final TaskScheduler scheduler;
+    private final Queue<Waiter> reads = new ConcurrentLinkedQueue<>();
+    private final Queue<Waiter> writes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private final Map<RequestPriority, LongAdder> admitted = counters();
+    private final Map<RequestPriority, LongAdder> delayed = counters();
+    private final Map<RequestPriority, LongAdder> shed = counters();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    public AdmissionController(AdmissionConfiguration configuration, ConnectionPoolMetrics poolMetrics,
+                               @Named(TaskExecutors.SCHEDULED) TaskScheduler scheduler) {
+        this.configuration = configuration;
+        this.poolMetrics = poolMetrics;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Completa com true quando a requisição pode seguir e com false quando deve ser descartada.
+     */
+    public CompletableFuture<Boolean> admit(RequestPriority priority) {
+        if (queued.get() == 0 && !isSaturated()) {
+            admitted.get(priority).increment();
+            return CompletableFuture.completedFuture(true);
+        }
+        if (priority == RequestPriority.BULK && isSaturated()) {
+            shed.get(priority).increment();
+            return CompletableFuture.completedFuture(false);
+        }
+        if (queued.incrementAndGet() > configuration.getMaxQueueLength()) {
+            queued.decrementAndGet();
+            shed.get(priority).increment();
+            return CompletableFuture.completedFuture(false);
+        }
+        Waiter waiter = new Waiter(priority, System.nanoTime());
+        delayed.get(priority).increment();
+        (priority == RequestPriority.READ ? reads : writes).add(waiter);
+        scheduleCheck();
+        return waiter.admission;
+    }
+
+    public boolean isSaturated() {
+        return poolMetrics.isSaturated(configuration.getPoolWaitThreshold());
+    }
+
+    private void scheduleCheck() {
+        if (checking.compareAndSet(false, true)) {
+            scheduler.schedule(configuration.getCheckInterval(), this::check);
+        }
+    }
+
+    // Executado pelo TaskScheduler; visível no pacote para os testes conduzirem a fila passo a passo
+    void check() {
+        try {
+            long now = System.nanoTime();
+            long deadline = now - configuration.getMaxQueueWait().toNanos();
+            expire(reads, deadline);
+            expire(writes, deadline);
+            if (!isSaturated()) {
+                int released = release(reads, configuration.getReleaseBatch(), now);
+                release(writes, configuration.getReleaseBatch() - released, now);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Admission queue check failed", e);
+        } finally {
+            checking.set(false);
+            if (queued.get() > 0) {
+                scheduleCheck();
+            }
+        }
+    }
+
+    private void expire(Queue<Waiter> queue, long deadline) {
+        Waiter waiter;
+        while ((waiter = queue.peek()) != null && waiter.since - deadline < 0) {
+            if (queue.remove(waiter)) {
+                queued.decrementAndGet();
+                shed.get(waiter.priority).increment();
+                waiter.admission.complete(false);
+            }
+        }
+    }
+
+    private int release(Queue<Waiter> queue, int limit, long now) {
+        int released = 0;
+        Waiter waiter;
+        while (released < limit && (waiter = queue.poll()) != null) {
+            queued.decrementAndGet();
+            queueWait.record(now - waiter.since);
+            admitted.get(waiter.priority).increment();
+            waiter.admission.complete(true);
+            released++;
+        }
+        return released;
+    }
+
+    Map<String, Object> stats() {
+        Map<String, Object> priorities = new LinkedHashMap<>();
+        for (RequestPriority priority : RequestPriority.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("admitted", admitted.get(priority).sum());
+            entry.put("delayed", delayed.get(priority).sum());
+            entry.put("shed", shed.get(priority).sum());
+            priorities.put(priority.name(), entry);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", configuration.isEnabled());
+        result.put("saturated", isSaturated());
+        result.put("queued", queued.get());
+        result.put("queueWaitP99Ms", queueWait.percentileMicros(0.99) / 1_000.0);
+        result.put("queueWaitMaxMs", queueWait.getMaxMicros() / 1_000.0);
+        result.put("priorities", priorities);
+        return result;
+    }
+
+    long getShed(RequestPriority priority) {
+        return shed.get(priority).sum();
+    }
+
+    long getDelayed(RequestPriority priority) {
+        return delayed.get(priority).sum();
+    }
+
+    private static Map<RequestPriority, LongAdder> counters() {
+        Map<RequestPriority, LongAdder> counters = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            counters.put(priority, new LongAdder());
+        }
+        return counters;
+    }
+
+    private record Waiter(RequestPriority priority, long since, CompletableFuture<Boolean> admission) {
+
+        Waiter(RequestPriority priority, long since) {
+            this(priority, since, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import com.dfm.biblioteca.infrastructure.metrics.ConnectionPoolMetrics;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ocupação dos pools de conexão e decisões do controle de admissão por prioridade em /user-admission.
+ */
+@Endpoint(id = "user-admission", defaultSensitive = true)
+public class AdmissionEndpoint {
+
+    private final AdmissionController controller;
+    private final ConnectionPoolMetrics poolMetrics;
+
+    public AdmissionEndpoint(AdmissionController controller, ConnectionPoolMetrics poolMetrics) {
+        this.controller = controller;
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>(controller.stats());
+        result.put("connectionPools", poolMetrics.stats());
+        return result;
+    }
+}
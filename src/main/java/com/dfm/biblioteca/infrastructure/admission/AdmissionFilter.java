@@ -0,0 +1,83 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import io.micronaut.core.execution.CompletableFutureExecutionFlow;
+import io.micronaut.core.execution.ExecutionFlow;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.FilterContinuation;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.http.reactive.execution.ReactiveExecutionFlow;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controle de admissão das rotas de /users: 503 com Retry-After quando o AdmissionController descarta a
+ * requisição. Usa um filtro de método para poder esperar a fila sem bloquear o event loop.
+ *
+ * A continuação é chamada explicitamente quando a admissão completa: um CompletableFuture que completa com
+ * null depois do retorno do filtro (requisição liberada da fila pelo TaskScheduler) quebra a cadeia de filtros
+ * do Micronaut 4.5 com NullPointerException.
+ */
+@ServerFilter({"/users", "/users/**"})
+public class AdmissionFilter implements Ordered {
+
+    private final AdmissionConfiguration configuration;
+    private final AdmissionController controller;
+
+    public AdmissionFilter(AdmissionConfiguration configuration, AdmissionController controller) {
+        this.configuration = configuration;
+        this.controller = controller;
+    }
+
+    // Depois da segurança: requisição sem autenticação não ocupa a fila
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.SECURITY.after();
+    }
+
+    @RequestFilter
+    public Publisher<MutableHttpResponse<?>> admit(HttpRequest<?> request,
+                                                   FilterContinuation<Publisher<MutableHttpResponse<?>>> continuation) {
+        if (!configuration.isEnabled()) {
+            return continuation.proceed();
+        }
+        ExecutionFlow<MutableHttpResponse<?>> response = CompletableFutureExecutionFlow.just(controller.admit(priority(request)))
+                .flatMap(admitted -> admitted
+                        ? ReactiveExecutionFlow.fromPublisher(continuation.proceed())
+                        : ExecutionFlow.just(overloaded()));
+        return ReactiveExecutionFlow.fromFlow(response).toPublisher();
+    }
+
+    private RequestPriority priority(HttpRequest<?> request) {
+        HttpMethod method = request.getMethod();
+        String path = request.getPath();
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || matches(path, configuration.getReadPaths())) {
+            return RequestPriority.READ;
+        }
+        return matches(path, configuration.getBulkPaths()) ? RequestPriority.BULK : RequestPriority.WRITE;
+    }
+
+    private static boolean matches(String path, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MutableHttpResponse<?> overloaded() {
+        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, configuration.getRetryAfter().toSeconds())))
+                .body(Map.of("message", "Database connection pool is saturated, retry later"));
+    }
+}
@@ -0,0 +1,13 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+/**
+ * Classe de uma requisição para o controle de admissão, da mais para a menos prioritária.
+ */
+public enum RequestPriority {
+    // GET/HEAD e users.admission.read-paths: entram na fila e saem dela primeiro
+    READ,
+    // Escritas pontuais (e em massa fora da saturação): só saem da fila quando não há leitura esperando
+    WRITE,
+    // Escritas em massa (users.admission.bulk-paths): descartadas na hora enquanto o pool está saturado
+    BULK
+}
@@ -0,0 +1,174 @@
+package com.dfm.biblioteca.infrastructure.cache;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.infrastructure.index.UserCpfIndex;
+import com.dfm.biblioteca.infrastructure.persistence.UserBulkChangeEvent;
+import com.dfm.biblioteca.infrastructure.persistence.UserChangeEvent;
+import com.dfm.biblioteca.infrastructure.routing.ReadReplicaRouter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache read-through do lookup por CPF, limitado por tamanho e TTL.
+ *
+ * Guarda snapshots desanexados e devolve sempre uma cópia, para que quem chama possa alterar a entidade sem
+ * afetar o cache. A ausência do CPF também é guardada, mas só por negative-expire-after-write: um cadastro
+ * feito por outra instância não passa pelos eventos desta.
+ *
+ * É invalidado por {@link UserChangeEvent} em todas as etapas (no flush e de novo no fim da transação)
+ * e esvaziado por {@link UserBulkChangeEvent}; quando o evento em massa informa a única linha alterada (id),
+ * só o CPF dessa linha é invalidado, achado pelo mapa id -> CPF das entradas presentes.
+ *
+ * Toda invalidação incrementa uma geração global antes de remover a entrada. Uma carga só é gravada no cache
+ * se nenhuma invalidação aconteceu enquanto ela lia o banco, e a conferência é feita dentro do compute() da
+ * própria entrada: uma invalidação que incrementa a geração depois da conferência espera o compute() terminar
+ * para remover o valor. Assim um valor lido antes do commit de um bloqueio nunca fica no cache depois dele.
+ *
+ * Na falta, a carga passa pelo {@link UserCpfIndex}, que resolve o id sem tocar o índice de CPF do banco.
+ * A carga sempre lê do primário: um valor lido de uma réplica atrasada ficaria no cache até expirar.
+ */
+@Singleton
+public class UserCpfCache {
+
+    private final UserCpfIndex userCpfIndex;
+    private final Cache<String, Optional<User>> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, String> cpfById = new ConcurrentHashMap<>();
+
+    public UserCpfCache(UserCpfIndex userCpfIndex, UserCpfCacheConfiguration configuration) {
+        this.userCpfIndex = userCpfIndex;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaximumSize())
+                .expireAfter(new SnapshotExpiry(configuration.getExpireAfterWrite(),
+                        configuration.getNegativeExpireAfterWrite()))
+                // Síncrono (ao contrário do removalListener), para o mapa id -> CPF não guardar entradas já expulsas
+                .evictionListener((String cpf, Optional<User> user, RemovalCause cause) -> forget(cpf, user))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findByCpf(String cpf) {
+        Optional<User> cached = cache.getIfPresent(cpf);
+        if (cached != null) {
+            return cached.map(User::copyOf);
+        }
+        return load(cpf);
+    }
+
+    public boolean existsByCpf(String cpf) {
+        Optional<User> cached = cache.getIfPresent(cpf);
+        if (cached != null) {
+            return cached.isPresent();
+        }
+        return load(cpf).isPresent();
+    }
+
+    public void invalidate(String cpf) {
+        generation.incrementAndGet();
+        if (cpf != null) {
+            forget(cpf, cache.asMap().remove(cpf));
+        }
+    }
+
+    public void invalidateById(Long id) {
+        generation.incrementAndGet();
+        String cpf = cpfById.get(id);
+        if (cpf != null) {
+            invalidate(cpf);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        cpfById.clear();
+    }
+
+    @EventListener
+    void onUserChange(UserChangeEvent event) {
+        invalidate(event.cpf());
+        if (event.previousCpf() != null) {
+            invalidate(event.previousCpf());
+        }
+    }
+
+    @EventListener
+    void onUserBulkChange(UserBulkChangeEvent event) {
+        if (event.id() != null) {
+            invalidateById(event.id());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private Optional<User> load(String cpf) {
+        long stamp = generation.get();
+        Optional<User> loaded = ReadReplicaRouter.forcePrimary(() -> userCpfIndex.findByCpf(cpf));
+        Optional<User> snapshot = loaded.map(User::copyOf);
+        cache.asMap().compute(cpf, (key, current) -> {
+            // O id entra no mapa antes da conferência: um invalidateById que não o encontrou já incrementou a geração
+            snapshot.ifPresent(user -> cpfById.put(user.getId(), key));
+            if (generation.get() != stamp) {
+                snapshot.ifPresent(user -> cpfById.remove(user.getId(), key));
+                return current;
+            }
+            return snapshot;
+        });
+        return loaded;
+    }
+
+    private void forget(String cpf, Optional<User> removed) {
+        if (removed != null) {
+            removed.ifPresent(user -> cpfById.remove(user.getId(), cpf));
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * TTL de cada entrada pelo valor: CPF encontrado fica expire-after-write, ausência fica
+     * negative-expire-after-write. Leituras não renovam o prazo.
+     */
+    private static final class SnapshotExpiry implements Expiry<String, Optional<User>> {
+
+        private final long presentNanos;
+        private final long absentNanos;
+
+        SnapshotExpiry(Duration present, Duration absent) {
+            this.presentNanos = present.toNanos();
+            this.absentNanos = absent.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String cpf, Optional<User> user, long currentTime) {
+            return user.isPresent() ? presentNanos : absentNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String cpf, Optional<User> user, long currentTime, long currentDuration) {
+            return expireAfterCreate(cpf, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String cpf, Optional<User> user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dfm.biblioteca.infrastructure.cache;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.cpf-cache")
+public class UserCpfCacheConfiguration {
+
+    private long maximumSize = 100_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+    // Ausências expiram bem antes: o cadastro pode vir de outra instância, sem evento de invalidação aqui
+    private Duration negativeExpireAfterWrite = Duration.ofSeconds(5);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public Duration getNegativeExpireAfterWrite() {
+        return negativeExpireAfterWrite;
+    }
+
+    public void setNegativeExpireAfterWrite(Duration negativeExpireAfterWrite) {
+        this.negativeExpireAfterWrite = negativeExpireAfterWrite;
+    }
+}
@@ -0,0 +1,33 @@
+package com.dfm.biblioteca.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estatísticas do cache de CPF em /user-cpf-cache.
+ */
+@Endpoint(id = "user-cpf-cache", defaultSensitive = true)
+public class UserCpfCacheEndpoint {
+
+    private final UserCpfCache cache;
+
+    public UserCpfCacheEndpoint(UserCpfCache cache) {
+        this.cache = cache;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
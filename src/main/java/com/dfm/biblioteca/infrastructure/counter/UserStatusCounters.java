@@ -0,0 +1,235 @@
+package com.dfm.biblioteca.infrastructure.counter;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.infrastructure.persistence.UserBulkChangeEvent;
+import com.dfm.biblioteca.infrastructure.persistence.UserChangeEvent;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de usuários por status mantidos em memória, para o countByStatus não ir ao banco.
+ *
+ * Cada status tem um {@link LongAdder} (striped: incrementos concorrentes não disputam a mesma linha de
+ * cache). Os contadores seguem os commits de {@link UserChangeEvent} e as operações em massa que informam
+ * status e linhas afetadas; operações em massa sem essa informação forçam uma reconciliação.
+ *
+ * A reconciliação roda na inicialização e periodicamente, sem parar por causa das alterações em andamento.
+ * Os contadores nunca são sobrescritos: cada status tem um deslocamento, e o total é contador + deslocamento.
+ * A reconciliação lê os contadores imediatamente antes do GROUP BY e faz o deslocamento igual à diferença
+ * entre o banco e essa leitura; o que entra nos contadores durante e depois da consulta (os commits que a
+ * leitura do banco não viu) fica somado por cima do retrato do banco. Só um commit que cai entre a leitura
+ * dos contadores e o início da consulta conta duas vezes, e a próxima rodada corrige. A mudança no
+ * deslocamento é registrada como drift.
+ *
+ * Os totais só são usados depois de uma reconciliação completa, por no máximo max-unreconciled-age desde a
+ * última, e nunca depois de uma operação em massa sem status ou linhas afetadas até a próxima.
+ */
+@Singleton
+public class UserStatusCounters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserStatusCounters.class);
+
+    private final BeanProvider<SessionFactory> sessionFactory;
+    private final ExecutorService executor;
+    private final Map<User.UserStatus, LongAdder> counters = new EnumMap<>(User.UserStatus.class);
+    private final Map<User.UserStatus, AtomicLong> offsets = new EnumMap<>(User.UserStatus.class);
+    private final Map<User.UserStatus, AtomicLong> lastDrift = new EnumMap<>(User.UserStatus.class);
+    private final AtomicLong totalDrift = new AtomicLong();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final Duration maxUnreconciledAge;
+    private volatile boolean ready;
+    private volatile Instant lastReconciledAt;
+    // System.nanoTime da leitura dos contadores na última reconciliação e da última operação em massa desconhecida
+    private volatile long reconciledAtNanos;
+    private volatile long unknownChangeAtNanos;
+
+    public UserStatusCounters(BeanProvider<SessionFactory> sessionFactory,
+                              @Named(TaskExecutors.IO) ExecutorService executor,
+                              @Value("${users.status-counters.max-unreconciled-age:15m}") Duration maxUnreconciledAge) {
+        this.sessionFactory = sessionFactory;
+        this.executor = executor;
+        this.maxUnreconciledAge = maxUnreconciledAge;
+        // Como uma operação desconhecida no início: só uma reconciliação posterior libera os totais
+        this.unknownChangeAtNanos = System.nanoTime();
+        for (User.UserStatus status : User.UserStatus.values()) {
+            counters.put(status, new LongAdder());
+            offsets.put(status, new AtomicLong());
+            lastDrift.put(status, new AtomicLong());
+        }
+    }
+
+    public boolean isReady() {
+        long reconciledAt = reconciledAtNanos;
+        return ready && reconciledAt - unknownChangeAtNanos > 0
+                && System.nanoTime() - reconciledAt <= maxUnreconciledAge.toNanos();
+    }
+
+    /**
+     * Total em memória do status. Só é confiável com {@link #isReady()}.
+     */
+    public long count(User.UserStatus status) {
+        return counters.get(status).sum() + offsets.get(status).get();
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        reconcileAsync();
+    }
+
+    @EventListener
+    void onUserChange(UserChangeEvent event) {
+        if (event.stage() == UserChangeEvent.Stage.COMMITTED) {
+            apply(event);
+        }
+    }
+
+    @EventListener
+    void onUserBulkChange(UserBulkChangeEvent event) {
+        if (event.stage() == UserBulkChangeEvent.Stage.COMMITTED && !apply(event)) {
+            unknownChangeAtNanos = System.nanoTime();
+            reconcileAsync();
+        }
+    }
+
+    @Scheduled(fixedDelay = "${users.status-counters.reconcile-interval:5m}",
+            initialDelay = "${users.status-counters.reconcile-interval:5m}")
+    void scheduledReconcile() {
+        reconcileAsync();
+    }
+
+    public boolean reconcileAsync() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            boolean again = false;
+            try {
+                reconcile();
+                // Uma operação desconhecida que chegou durante esta rodada não conseguiu agendar outra
+                again = unknownChangeAtNanos - reconciledAtNanos >= 0;
+            } catch (RuntimeException e) {
+                LOG.warn("User status counter reconciliation failed", e);
+            } finally {
+                reconciling.set(false);
+            }
+            if (again) {
+                reconcileAsync();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Refaz os deslocamentos a partir de um GROUP BY no banco. Alterações concluídas durante a consulta
+     * continuam somadas nos contadores.
+     */
+    void reconcile() {
+        Map<User.UserStatus, Long> database = new EnumMap<>(User.UserStatus.class);
+        Map<User.UserStatus, Long> before = new EnumMap<>(User.UserStatus.class);
+        long readAtNanos;
+        try (StatelessSession session = sessionFactory.get().openStatelessSession()) {
+            SelectionQuery<Object[]> query = session.createSelectionQuery(
+                    "select u.status, count(u) from User u group by u.status", Object[].class);
+            readAtNanos = System.nanoTime();
+            for (User.UserStatus status : User.UserStatus.values()) {
+                database.put(status, 0L);
+                before.put(status, counters.get(status).sum());
+            }
+            for (Object[] row : query.getResultList()) {
+                database.put((User.UserStatus) row[0], (Long) row[1]);
+            }
+        }
+
+        for (User.UserStatus status : User.UserStatus.values()) {
+            long offset = database.get(status) - before.get(status);
+            long delta = offset - offsets.get(status).getAndSet(offset);
+            if (ready) {
+                lastDrift.get(status).set(delta);
+                totalDrift.addAndGet(Math.abs(delta));
+                if (delta != 0) {
+                    LOG.info("User status counter for {} drifted by {}", status, delta);
+                }
+            }
+        }
+        reconciledAtNanos = readAtNanos;
+        lastReconciledAt = Instant.now();
+        ready = true;
+    }
+
+    private void apply(UserChangeEvent event) {
+        switch (event.kind()) {
+            case INSERT -> add(event.status(), 1);
+            case UPDATE -> {
+                if (event.previousStatus() != null && event.previousStatus() != event.status()) {
+                    add(event.previousStatus(), -1);
+                    add(event.status(), 1);
+                }
+            }
+            case DELETE -> add(event.status(), -1);
+        }
+    }
+
+    // Retorna false quando o evento não diz quais status mudaram nem quantas linhas
+    private boolean apply(UserBulkChangeEvent event) {
+        if (event.status() == null || event.affectedRows() < 0) {
+            return false;
+        }
+        if (event.kind() == UserBulkChangeEvent.Kind.DELETE) {
+            add(event.status(), -event.affectedRows());
+            return true;
+        }
+        if (event.previousStatus() == null) {
+            return false;
+        }
+        add(event.previousStatus(), -event.affectedRows());
+        add(event.status(), event.affectedRows());
+        return true;
+    }
+
+    private void add(User.UserStatus status, long delta) {
+        if (status != null) {
+            counters.get(status).add(delta);
+        }
+    }
+
+    public Map<User.UserStatus, Long> counts() {
+        Map<User.UserStatus, Long> values = new EnumMap<>(User.UserStatus.class);
+        counters.keySet().forEach(status -> values.put(status, count(status)));
+        return values;
+    }
+
+    public long lastDrift(User.UserStatus status) {
+        return lastDrift.get(status).get();
+    }
+
+    /**
+     * Soma dos valores absolutos de drift encontrados em todas as reconciliações desde a inicialização.
+     */
+    public long totalDrift() {
+        return totalDrift.get();
+    }
+
+    public Instant getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dfm.biblioteca.infrastructure.counter;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores por status e drift da última reconciliação em /user-status-counters. Um POST agenda
+ * uma reconciliação.
+ */
+@Endpoint(id = "user-status-counters", defaultSensitive = true)
+public class UserStatusCountersEndpoint {
+
+    private final UserStatusCounters counters;
+
+    public UserStatusCountersEndpoint(UserStatusCounters counters) {
+        this.counters = counters;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Long> drift = new LinkedHashMap<>();
+        for (User.UserStatus status : User.UserStatus.values()) {
+            drift.put(status.name(), counters.lastDrift(status));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", counters.isReady());
+        result.put("counts", counters.counts());
+        result.put("lastDrift", drift);
+        result.put("totalDrift", counters.totalDrift());
+        if (counters.getLastReconciledAt() != null) {
+            result.put("lastReconciledAt", counters.getLastReconciledAt().toString());
+        }
+        return result;
+    }
+
+    @Write
+    public Map<String, Object> reconcile() {
+        return Map.of("scheduled", counters.reconcileAsync());
+    }
+}
@@ -0,0 +1,50 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envolve cada pool Hikari num PermitDataSource quando as requisições rodam em virtual threads.
+ */
+@Singleton
+public class ConnectionPermits implements BeanCreatedEventListener<DataSource>, Ordered {
+
+    private final UserExecutionConfiguration configuration;
+    private final Map<String, PermitDataSource> dataSources = new ConcurrentHashMap<>();
+
+    public ConnectionPermits(UserExecutionConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    // Primeiro da cadeia: o roteamento de réplica e o proxy do Micronaut Data envolvem o pool já limitado
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        DataSource dataSource = event.getBean();
+        if (!configuration.isVirtualThreads() || !configuration.isLimitConnections()
+                || !(dataSource instanceof HikariDataSource hikari)) {
+            return dataSource;
+        }
+        String name = event.getBeanIdentifier().getName();
+        PermitDataSource permits = new PermitDataSource(name, hikari, hikari.getMaximumPoolSize(),
+                configuration.getPermitTimeout());
+        dataSources.put(name, permits);
+        return permits;
+    }
+
+    Collection<PermitDataSource> dataSources() {
+        return dataSources.values();
+    }
+}
@@ -0,0 +1,170 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * DataSource que exige uma permissão por conexão em uso, com tantas permissões quanto o pool.
+ *
+ * Com virtual threads não há mais um pool de threads limitando quantas requisições chegam ao banco; a
+ * espera passa a ser num semáforo justo, que estaciona a virtual thread sem ocupar a thread carregadora e
+ * atende na ordem de chegada. A permissão é devolvida no close() da conexão.
+ */
+final class PermitDataSource implements DataSource {
+
+    private final String name;
+    private final DataSource target;
+    private final Semaphore permits;
+    private final int size;
+    private final Duration timeout;
+    private final LongAdder timeouts = new LongAdder();
+
+    PermitDataSource(String name, DataSource target, int size, Duration timeout) {
+        this.name = name;
+        this.target = target;
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrap(target.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrap(target.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after " + timeout
+                        + " waiting for a connection permit on datasource " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a connection permit", e);
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(PermitDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+    @Override
+    public String toString() {
+        return "PermitDataSource[" + target + "]";
+    }
+}
@@ -0,0 +1,56 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.scheduling.LoomSupport;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.execution")
+public class UserExecutionConfiguration {
+
+    public enum Mode {
+        // Executor blocking do Micronaut, o mesmo de @ExecuteOn(TaskExecutors.BLOCKING): virtual threads quando
+        // a JVM oferece, pool de I/O nas demais
+        BLOCKING,
+        // Uma virtual thread por requisição; as respostas usam buffers não pooled (VirtualThreadAllocator)
+        VIRTUAL,
+        // Pool de I/O do Micronaut (micronaut.executors.io)
+        PLATFORM
+    }
+
+    private Mode mode = Mode.BLOCKING;
+    // Limita as conexões em uso ao maximum-pool-size de cada pool Hikari nos modos que rodam em virtual threads
+    private boolean limitConnections = true;
+    private Duration permitTimeout = Duration.ofSeconds(30);
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public boolean isLimitConnections() {
+        return limitConnections;
+    }
+
+    public void setLimitConnections(boolean limitConnections) {
+        this.limitConnections = limitConnections;
+    }
+
+    public Duration getPermitTimeout() {
+        return permitTimeout;
+    }
+
+    public void setPermitTimeout(Duration permitTimeout) {
+        this.permitTimeout = permitTimeout;
+    }
+
+    /**
+     * Se as requisições de /users rodam em virtual threads: VIRTUAL, e BLOCKING quando a JVM as oferece.
+     */
+    public boolean isVirtualThreads() {
+        return mode != Mode.PLATFORM && LoomSupport.isSupported();
+    }
+}
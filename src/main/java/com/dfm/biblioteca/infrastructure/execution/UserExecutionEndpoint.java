@@ -0,0 +1,40 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Modo de execução e ocupação das permissões de conexão em /user-execution.
+ */
+@Endpoint(id = "user-execution", defaultSensitive = true)
+public class UserExecutionEndpoint {
+
+    private final UserExecutionConfiguration configuration;
+    private final ConnectionPermits connectionPermits;
+
+    public UserExecutionEndpoint(UserExecutionConfiguration configuration, ConnectionPermits connectionPermits) {
+        this.configuration = configuration;
+        this.connectionPermits = connectionPermits;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Object> permits = new LinkedHashMap<>();
+        for (PermitDataSource dataSource : connectionPermits.dataSources()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", dataSource.getSize());
+            entry.put("available", dataSource.getAvailablePermits());
+            entry.put("waiting", dataSource.getQueueLength());
+            entry.put("timeouts", dataSource.getTimeouts());
+            permits.put(dataSource.getName(), entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", configuration.getMode());
+        result.put("connectionPermits", permits);
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executor das requisições de /users, escolhido por users.execution.mode.
+ *
+ * Os executores de origem são gerenciados pelo Micronaut; aqui só se escolhe qual deles atende o
+ * nome {@link #EXECUTOR}.
+ */
+@Factory
+public class UserExecutorFactory {
+
+    public static final String EXECUTOR = "users";
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserExecutorFactory.class);
+
+    @Singleton
+    @Named(EXECUTOR)
+    ExecutorService usersExecutor(UserExecutionConfiguration configuration,
+                                  @Named(TaskExecutors.BLOCKING) BeanProvider<ExecutorService> blocking,
+                                  @Named(TaskExecutors.VIRTUAL) BeanProvider<ExecutorService> virtual,
+                                  @Named(TaskExecutors.IO) BeanProvider<ExecutorService> io) {
+        if (configuration.getMode() == UserExecutionConfiguration.Mode.BLOCKING) {
+            return blocking.get();
+        }
+        if (configuration.getMode() == UserExecutionConfiguration.Mode.VIRTUAL) {
+            if (virtual.isPresent()) {
+                return virtual.get();
+            }
+            LOG.warn("Virtual threads are not available on this JVM, falling back to the I/O executor");
+        }
+        return io.get();
+    }
+}
@@ -0,0 +1,129 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * Alocador dos canais HTTP que entrega buffers não pooled quando chamado de uma virtual thread.
+ *
+ * O PoolArena do Netty cresce um buffer (reallocate) dentro de um synchronized e, ali dentro, toma o lock
+ * da arena: a virtual thread que espera esse lock fica presa (pinned) à thread carregadora, e com todas as
+ * carregadoras presas a dona do lock não volta a rodar. É o caminho da serialização JSON da resposta quando
+ * o controller roda em virtual threads. Buffers não pooled crescem sem lock; as threads de plataforma
+ * (event loop incluído) continuam no alocador pooled.
+ */
+final class VirtualThreadAllocator implements ByteBufAllocator {
+
+    private final ByteBufAllocator pooled;
+    private final ByteBufAllocator unpooled = new UnpooledByteBufAllocator(false);
+
+    VirtualThreadAllocator(ByteBufAllocator pooled) {
+        this.pooled = pooled;
+    }
+
+    private ByteBufAllocator current() {
+        return Thread.currentThread().isVirtual() ? unpooled : pooled;
+    }
+
+    @Override
+    public ByteBuf buffer() {
+        return current().buffer();
+    }
+
+    @Override
+    public ByteBuf buffer(int initialCapacity) {
+        return current().buffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf buffer(int initialCapacity, int maxCapacity) {
+        return current().buffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer() {
+        return current().ioBuffer();
+    }
+
+    @Override
+    public ByteBuf ioBuffer(int initialCapacity) {
+        return current().ioBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer(int initialCapacity, int maxCapacity) {
+        return current().ioBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf heapBuffer() {
+        return current().heapBuffer();
+    }
+
+    @Override
+    public ByteBuf heapBuffer(int initialCapacity) {
+        return current().heapBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf heapBuffer(int initialCapacity, int maxCapacity) {
+        return current().heapBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf directBuffer() {
+        return current().directBuffer();
+    }
+
+    @Override
+    public ByteBuf directBuffer(int initialCapacity) {
+        return current().directBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf directBuffer(int initialCapacity, int maxCapacity) {
+        return current().directBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer() {
+        return current().compositeBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer(int maxNumComponents) {
+        return current().compositeBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer() {
+        return current().compositeHeapBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer(int maxNumComponents) {
+        return current().compositeHeapBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer() {
+        return current().compositeDirectBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer(int maxNumComponents) {
+        return current().compositeDirectBuffer(maxNumComponents);
+    }
+
+    @Override
+    public boolean isDirectBufferPooled() {
+        return pooled.isDirectBufferPooled();
+    }
+
+    @Override
+    public int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+        return current().calculateNewCapacity(minNewCapacity, maxCapacity);
+    }
+}
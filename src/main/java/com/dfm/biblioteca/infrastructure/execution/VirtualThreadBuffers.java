@@ -0,0 +1,37 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.http.server.netty.NettyServerCustomizer;
+import io.micronaut.scheduling.LoomSupport;
+import io.netty.channel.Channel;
+import jakarta.inject.Singleton;
+
+/**
+ * Instala o {@link VirtualThreadAllocator} nas conexões do servidor HTTP quando a JVM tem virtual threads.
+ *
+ * Vale para qualquer users.execution.mode: o executor blocking do Micronaut também roda em virtual threads.
+ */
+@Singleton
+public class VirtualThreadBuffers implements BeanCreatedEventListener<NettyServerCustomizer.Registry> {
+
+    @Override
+    public NettyServerCustomizer.Registry onCreated(BeanCreatedEvent<NettyServerCustomizer.Registry> event) {
+        NettyServerCustomizer.Registry registry = event.getBean();
+        if (LoomSupport.isSupported()) {
+            registry.register(new Customizer());
+        }
+        return registry;
+    }
+
+    private static final class Customizer implements NettyServerCustomizer {
+
+        @Override
+        public NettyServerCustomizer specializeForChannel(Channel channel, ChannelRole role) {
+            if (role != ChannelRole.LISTENER && !(channel.config().getAllocator() instanceof VirtualThreadAllocator)) {
+                channel.config().setAllocator(new VirtualThreadAllocator(channel.config().getAllocator()));
+            }
+            return this;
+        }
+    }
+}
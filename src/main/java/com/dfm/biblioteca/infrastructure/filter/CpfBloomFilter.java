@@ -0,0 +1,128 @@
+package com.dfm.biblioteca.infrastructure.filter;
+
+import com.dfm.biblioteca.infrastructure.index.CpfCodec;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de CPFs, seguro para inserções e consultas concorrentes.
+ *
+ * Um "não" é definitivo; um "talvez" precisa ser confirmado no banco. Não suporta remoção: CPFs
+ * removidos continuam respondendo "talvez" até a próxima reconstrução.
+ *
+ * CPFs com 11 dígitos são convertidos para long sem alocação; outros valores usam o hashCode da String.
+ * As k posições vêm de double hashing sobre duas misturas de 64 bits.
+ */
+public final class CpfBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    private CpfBloomFilter(long bitCount, int hashFunctions, long expectedInsertions) {
+        long wordCount = (bitCount + 63) >>> 6;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bitCount + " bits");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount << 6;
+        this.hashFunctions = hashFunctions;
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * Dimensiona o filtro para a quantidade esperada de CPFs e a taxa de falso positivo desejada.
+     */
+    public static CpfBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+        return new CpfBloomFilter(Math.max(64, bits), hashes, expectedInsertions);
+    }
+
+    public void put(String cpf) {
+        long hash1 = mix(key(cpf));
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            setBit(bit);
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String cpf) {
+        long hash1 = mix(key(cpf));
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long sizeInBytes() {
+        return bitCount >>> 3;
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Taxa de falso positivo estimada para o número de inserções feitas até agora.
+     */
+    public double estimatedFalsePositiveRate() {
+        double fill = 1 - Math.exp(-(double) hashFunctions * insertions() / bitCount);
+        return Math.pow(fill, hashFunctions);
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = words.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(index, current, current | mask));
+    }
+
+    private static long key(String cpf) {
+        long packed = CpfCodec.pack(cpf);
+        return packed != CpfCodec.INVALID ? packed : cpf.hashCode();
+    }
+
+    // Finalizador do MurmurHash3 (fmix64)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
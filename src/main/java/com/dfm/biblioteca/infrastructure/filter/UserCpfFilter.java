@@ -0,0 +1,331 @@
+package com.dfm.biblioteca.infrastructure.filter;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.infrastructure.persistence.UserBulkChangeEvent;
+import com.dfm.biblioteca.infrastructure.persistence.UserChangeEvent;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de pertinência de CPFs na frente do existsByCpf.
+ *
+ * Construído em segundo plano a partir da coluna users.cpf na inicialização; enquanto não fica pronto,
+ * toda consulta cai no banco. CPFs inseridos (ou alterados) entram no filtro no flush e de novo no commit
+ * (inserir duas vezes não muda nada): uma linha gravada antes de uma reconstrução começar mas confirmada depois
+ * da leitura dela só chega ao filtro novo pelo evento do commit. Remoções não podem ser desfeitas num filtro
+ * de Bloom, então são contadas e, acima de rebuild-deleted-ratio, o filtro é reconstruído. A reconstrução
+ * monta um filtro novo e troca a referência no fim, sem bloquear consultas; os CPFs inseridos desde o início
+ * dela são guardados à parte e copiados para o filtro novo.
+ *
+ * Os eventos só cobrem o que esta instância grava. Para os cadastros das demais, a cada refresh-interval uma
+ * varredura pela chave primária completa o filtro, e a cada rebuild-interval ele é reconstruído inteiro, o que
+ * também recolhe CPFs alterados em linhas antigas. Como cada instância tira os ids da sequência em blocos
+ * (User.ID_ALLOCATION_SIZE), um id menor pode ser gravado depois de um maior: a varredura recomeça
+ * refresh-lookback-blocks blocos abaixo do maior id já visto. Um "certamente não" só é
+ * respondido enquanto o filtro está sincronizado com o banco há menos de max-staleness; fora disso toda
+ * consulta cai no banco.
+ */
+@Singleton
+public class UserCpfFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserCpfFilter.class);
+
+    // Resolvido só na reconstrução, para a inicialização não depender do banco estar acessível
+    private final BeanProvider<SessionFactory> sessionFactory;
+    private final ExecutorService executor;
+    private final UserCpfFilterConfiguration configuration;
+    private final int fetchSize;
+
+    private volatile CpfBloomFilter current;
+    @Nullable
+    private volatile Queue<String> addedDuringRebuild;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder deletesSinceBuild = new LongAdder();
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder fallThroughs = new LongAdder();
+    private final LongAdder staleLookups = new LongAdder();
+    private volatile long loadedCount;
+    // Maior id já carregado
+    private volatile long maxId;
+    // Início (System.nanoTime) da última reconstrução ou varredura concluída
+    private volatile long syncedAtNanos;
+    private volatile Duration lastBuildDuration;
+    private volatile Instant lastBuiltAt;
+
+    public UserCpfFilter(BeanProvider<SessionFactory> sessionFactory,
+                         @Named(TaskExecutors.IO) ExecutorService executor,
+                         UserCpfFilterConfiguration configuration,
+                         @Value("${jpa.default.properties.hibernate.jdbc.fetch_size:50}") int fetchSize) {
+        this.sessionFactory = sessionFactory;
+        this.executor = executor;
+        this.configuration = configuration;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * false significa que o CPF certamente não está cadastrado; true exige consulta ao banco.
+     */
+    public boolean mightContain(String cpf) {
+        CpfBloomFilter filter = current;
+        if (!configuration.isEnabled() || filter == null) {
+            return true;
+        }
+        if (!filter.mightContain(cpf)) {
+            if (!isSynced()) {
+                staleLookups.increment();
+                return true;
+            }
+            definiteNegatives.increment();
+            return false;
+        }
+        fallThroughs.increment();
+        return true;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (configuration.isEnabled()) {
+            rebuildAsync();
+        }
+    }
+
+    @Scheduled(fixedDelay = "${users.cpf-filter.refresh-interval:5s}", initialDelay = "${users.cpf-filter.refresh-interval:5s}")
+    void scheduledRefresh() {
+        if (!configuration.isEnabled() || current == null) {
+            return;
+        }
+        Instant builtAt = lastBuiltAt;
+        if (builtAt == null || builtAt.plus(configuration.getRebuildInterval()).isBefore(Instant.now())) {
+            rebuildAsync();
+            return;
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOG.warn("CPF filter refresh failed; definite negatives stop once the filter is stale", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @EventListener
+    void onUserChange(UserChangeEvent event) {
+        if (event.kind() != UserChangeEvent.Kind.DELETE && event.stage() != UserChangeEvent.Stage.ROLLED_BACK) {
+            add(event.cpf());
+        }
+        if (event.stage() == UserChangeEvent.Stage.COMMITTED
+                && (event.kind() == UserChangeEvent.Kind.DELETE || event.previousCpf() != null
+                && !event.previousCpf().equals(event.cpf()))) {
+            deletesSinceBuild.increment();
+            rebuildIfStale();
+        }
+    }
+
+    @EventListener
+    void onUserBulkChange(UserBulkChangeEvent event) {
+        // UPDATEs em massa só mudam status, não CPF. Num DELETE que informa as linhas removidas elas contam
+        // como remoções comuns; sem essa informação reconstrói para não acumular falsos positivos
+        if (event.kind() != UserBulkChangeEvent.Kind.DELETE || event.stage() != UserBulkChangeEvent.Stage.COMMITTED
+                || !configuration.isEnabled()) {
+            return;
+        }
+        if (event.affectedRows() >= 0) {
+            deletesSinceBuild.add(event.affectedRows());
+            rebuildIfStale();
+        } else {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Agenda uma reconstrução em segundo plano. Retorna false se já havia uma em andamento.
+     */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                LOG.warn("CPF filter rebuild failed; lookups keep using the previous filter", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    void rebuild() {
+        Instant start = Instant.now();
+        long startNanos = System.nanoTime();
+        // Publicada antes de qualquer leitura, para não perder CPFs gravados durante a contagem ou a leitura
+        Queue<String> added = new ConcurrentLinkedQueue<>();
+        addedDuringRebuild = added;
+        try (StatelessSession session = sessionFactory.get().openStatelessSession()) {
+            long count = session.createSelectionQuery("select count(u) from User u", Long.class).getSingleResult();
+            long expected = Math.max(configuration.getMinimumExpectedInsertions(),
+                    (long) Math.ceil(count * configuration.getHeadroom()));
+            CpfBloomFilter next = CpfBloomFilter.create(expected, configuration.getFalsePositiveRate());
+
+            long loaded = 0;
+            long max = 0;
+            try (ScrollableResults<Object[]> rows = session.createSelectionQuery("select u.id, u.cpf from User u", Object[].class)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    max = Math.max(max, (Long) row[0]);
+                    next.put((String) row[1]);
+                    loaded++;
+                }
+            }
+
+            added.forEach(next::put);
+            current = next;
+            // Repete depois da troca: quem gravou na fila sem ser visto por esta cópia lê current em seguida
+            // e já encontra o filtro novo
+            added.forEach(next::put);
+            loadedCount = loaded;
+            maxId = max;
+            syncedAtNanos = startNanos;
+            deletesSinceBuild.reset();
+            lastBuildDuration = Duration.between(start, Instant.now());
+            lastBuiltAt = Instant.now();
+            LOG.info("CPF filter rebuilt with {} CPFs in {} ms ({} bytes)", loaded, lastBuildDuration.toMillis(), next.sizeInBytes());
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Carrega os CPFs das linhas com id acima de maxId menos a janela de blocos: os cadastros feitos por outras
+     * instâncias, que não passam pelos eventos desta.
+     */
+    void refresh() {
+        CpfBloomFilter filter = current;
+        if (filter == null) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long max = maxId;
+        long from = Math.max(0, max - (long) configuration.getRefreshLookbackBlocks() * User.ID_ALLOCATION_SIZE);
+        try (StatelessSession session = sessionFactory.get().openStatelessSession();
+             ScrollableResults<Object[]> rows = session.createSelectionQuery(
+                             "select u.id, u.cpf from User u where u.id > :from order by u.id", Object[].class)
+                     .setParameter("from", from)
+                     .setFetchSize(fetchSize)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                max = Math.max(max, (Long) row[0]);
+                filter.put((String) row[1]);
+            }
+        }
+        maxId = max;
+        syncedAtNanos = startNanos;
+        if (filter.insertions() > filter.expectedInsertions()) {
+            rebuildAsync();
+        }
+    }
+
+    private boolean isSynced() {
+        return System.nanoTime() - syncedAtNanos <= configuration.getMaxStaleness().toNanos();
+    }
+
+    private void add(@Nullable String cpf) {
+        if (cpf == null) {
+            return;
+        }
+        // A fila é lida antes do filtro: ver a fila já nula garante que current já é o filtro reconstruído
+        Queue<String> added = addedDuringRebuild;
+        if (added != null) {
+            added.add(cpf);
+        }
+        CpfBloomFilter filter = current;
+        if (filter != null) {
+            filter.put(cpf);
+            if (filter.insertions() > filter.expectedInsertions()) {
+                rebuildAsync();
+            }
+        }
+    }
+
+    private void rebuildIfStale() {
+        if (configuration.isEnabled() && current != null
+                && deletesSinceBuild.sum() > Math.max(1, loadedCount) * configuration.getRebuildDeletedRatio()) {
+            rebuildAsync();
+        }
+    }
+
+    @Nullable
+    CpfBloomFilter current() {
+        return current;
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public long getDefiniteNegatives() {
+        return definiteNegatives.sum();
+    }
+
+    public long getFallThroughs() {
+        return fallThroughs.sum();
+    }
+
+    public long getStaleLookups() {
+        return staleLookups.sum();
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public long getDeletesSinceBuild() {
+        return deletesSinceBuild.sum();
+    }
+
+    public double getConfiguredFalsePositiveRate() {
+        return configuration.getFalsePositiveRate();
+    }
+
+    @Nullable
+    public Duration getLastBuildDuration() {
+        return lastBuildDuration;
+    }
+
+    @Nullable
+    public Instant getLastBuiltAt() {
+        return lastBuiltAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.dfm.biblioteca.infrastructure.filter;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.cpf-filter")
+public class UserCpfFilterConfiguration {
+
+    private boolean enabled = true;
+    private double falsePositiveRate = 0.01;
+    // Folga sobre a contagem atual para absorver cadastros até a próxima reconstrução
+    private double headroom = 1.5;
+    private long minimumExpectedInsertions = 10_000;
+    // Fração de remoções (sobre o total carregado) que dispara uma reconstrução
+    private double rebuildDeletedRatio = 0.1;
+    // Varredura dos ids novos, que traz os cadastros feitos por outras instâncias
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    // Blocos de ids da sequência abaixo do maior id já visto que cada varredura relê
+    private int refreshLookbackBlocks = 20;
+    // Reconstrução completa periódica, que traz também CPFs alterados por outras instâncias
+    private Duration rebuildInterval = Duration.ofHours(1);
+    // Sem sincronizar com o banco há mais que isso, o filtro deixa de responder "certamente não"
+    private Duration maxStaleness = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public double getHeadroom() {
+        return headroom;
+    }
+
+    public void setHeadroom(double headroom) {
+        this.headroom = headroom;
+    }
+
+    public long getMinimumExpectedInsertions() {
+        return minimumExpectedInsertions;
+    }
+
+    public void setMinimumExpectedInsertions(long minimumExpectedInsertions) {
+        this.minimumExpectedInsertions = minimumExpectedInsertions;
+    }
+
+    public double getRebuildDeletedRatio() {
+        return rebuildDeletedRatio;
+    }
+
+    public void setRebuildDeletedRatio(double rebuildDeletedRatio) {
+        this.rebuildDeletedRatio = rebuildDeletedRatio;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getRefreshLookbackBlocks() {
+        return refreshLookbackBlocks;
+    }
+
+    public void setRefreshLookbackBlocks(int refreshLookbackBlocks) {
+        this.refreshLookbackBlocks = refreshLookbackBlocks;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+}
@@ -0,0 +1,54 @@
+package com.dfm.biblioteca.infrastructure.filter;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estado e consumo de memória do filtro de CPFs em /user-cpf-filter. Um POST agenda uma reconstrução.
+ */
+@Endpoint(id = "user-cpf-filter", defaultSensitive = true)
+public class UserCpfFilterEndpoint {
+
+    private final UserCpfFilter filter;
+
+    public UserCpfFilterEndpoint(UserCpfFilter filter) {
+        this.filter = filter;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", filter.isReady());
+        result.put("rebuilding", filter.isRebuilding());
+        result.put("configuredFalsePositiveRate", filter.getConfiguredFalsePositiveRate());
+        result.put("definiteNegatives", filter.getDefiniteNegatives());
+        result.put("fallThroughs", filter.getFallThroughs());
+        result.put("staleLookups", filter.getStaleLookups());
+        result.put("maxId", filter.getMaxId());
+        result.put("deletesSinceBuild", filter.getDeletesSinceBuild());
+
+        CpfBloomFilter current = filter.current();
+        if (current != null) {
+            result.put("sizeInBytes", current.sizeInBytes());
+            result.put("bits", current.bitCount());
+            result.put("hashFunctions", current.hashFunctions());
+            result.put("expectedInsertions", current.expectedInsertions());
+            result.put("insertions", current.insertions());
+            result.put("estimatedFalsePositiveRate", current.estimatedFalsePositiveRate());
+        }
+        if (filter.getLastBuildDuration() != null) {
+            result.put("lastBuildMillis", filter.getLastBuildDuration().toMillis());
+            result.put("lastBuiltAt", filter.getLastBuiltAt().toString());
+        }
+        return result;
+    }
+
+    @Write
+    public Map<String, Object> rebuild() {
+        return Map.of("scheduled", filter.rebuildAsync());
+    }
+}
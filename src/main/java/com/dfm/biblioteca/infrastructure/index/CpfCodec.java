@@ -0,0 +1,48 @@
+package com.dfm.biblioteca.infrastructure.index;
+
+/**
+ * Representação de um CPF de 11 dígitos como long (o valor numérico, zeros à esquerda implícitos).
+ *
+ * 10^11 - 1 cabe com folga em 37 bits, então todo CPF válido vira um long não negativo e
+ * {@link #INVALID} (-1) fica livre para sinalizar entradas que não são 11 dígitos.
+ */
+public final class CpfCodec {
+
+    public static final int LENGTH = 11;
+    public static final long INVALID = -1L;
+    public static final long MAX_VALUE = 99_999_999_999L;
+
+    private CpfCodec() {
+    }
+
+    /**
+     * Converte sem alocar. Retorna {@link #INVALID} se a entrada for nula, não tiver 11 caracteres ou
+     * contiver algo além de dígitos.
+     */
+    public static long pack(CharSequence cpf) {
+        if (cpf == null || cpf.length() != LENGTH) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = cpf.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    public static String unpack(long packed) {
+        if (packed < 0 || packed > MAX_VALUE) {
+            throw new IllegalArgumentException("Packed CPF out of range: " + packed);
+        }
+        char[] digits = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + packed % 10);
+            packed /= 10;
+        }
+        return new String(digits);
+    }
+}
@@ -0,0 +1,197 @@
+package com.dfm.biblioteca.infrastructure.index;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Mapa long→long de endereçamento aberto (sondagem linear) de CPF compactado para id de usuário.
+ *
+ * Chaves e valores ficam em dois long[] paralelos, sem objetos por entrada: cerca de 16 bytes por slot,
+ * com no máximo 75% de ocupação antes de dobrar. Remoções usam backward-shift, então não há lápides.
+ *
+ * Leituras não alocam e não bloqueiam: usam leitura otimista do {@link StampedLock} e só repetem com
+ * trava de leitura se houve escrita no meio. Escritas são serializadas pela trava de escrita.
+ */
+public final class CpfIdTable {
+
+    public static final long MISSING = -1L;
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+    private Slots slots;
+    private int size;
+
+    public CpfIdTable(int expectedSize) {
+        this.slots = new Slots(capacityFor(expectedSize));
+    }
+
+    /**
+     * Id associado ao CPF compactado, ou {@link #MISSING}.
+     */
+    public long get(long cpf) {
+        if (cpf < 0) {
+            return MISSING;
+        }
+        long stamp = lock.tryOptimisticRead();
+        long id = slots.get(cpf);
+        if (lock.validate(stamp)) {
+            return id;
+        }
+        stamp = lock.readLock();
+        try {
+            return slots.get(cpf);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(long cpf, long id) {
+        if (cpf < 0) {
+            throw new IllegalArgumentException("Invalid packed CPF: " + cpf);
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (slots.put(cpf, id)) {
+                size++;
+                if (size > slots.keys.length - (slots.keys.length >>> 2)) {
+                    slots = slots.resize(slots.keys.length << 1);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove o CPF somente se ainda apontar para o id informado; evita apagar uma associação mais nova.
+     */
+    public boolean remove(long cpf, long id) {
+        if (cpf < 0) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (slots.remove(cpf, id)) {
+                size--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long sizeInBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) slots.keys.length * 2 * Long.BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / 0.75));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("CPF table too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static int slot(long cpf, int mask) {
+        // Finalizador do MurmurHash3 (fmix64): CPFs sequenciais não podem cair em slots vizinhos
+        long hash = cpf;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private static final class Slots {
+
+        private final long[] keys;
+        private final long[] values;
+
+        private Slots(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private long get(long cpf) {
+            int mask = keys.length - 1;
+            for (int i = slot(cpf, mask); ; i = (i + 1) & mask) {
+                long key = keys[i];
+                if (key == cpf) {
+                    return values[i];
+                }
+                if (key == EMPTY) {
+                    return MISSING;
+                }
+            }
+        }
+
+        private boolean put(long cpf, long id) {
+            int mask = keys.length - 1;
+            for (int i = slot(cpf, mask); ; i = (i + 1) & mask) {
+                long key = keys[i];
+                if (key == cpf) {
+                    values[i] = id;
+                    return false;
+                }
+                if (key == EMPTY) {
+                    values[i] = id;
+                    keys[i] = cpf;
+                    return true;
+                }
+            }
+        }
+
+        private boolean remove(long cpf, long id) {
+            int mask = keys.length - 1;
+            int i = slot(cpf, mask);
+            while (keys[i] != cpf) {
+                if (keys[i] == EMPTY) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            if (values[i] != id) {
+                return false;
+            }
+            // Backward-shift: puxa para trás as entradas do mesmo cluster que ficariam inalcançáveis
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            return true;
+        }
+
+        private Slots resize(int capacity) {
+            Slots resized = new Slots(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    resized.put(keys[i], values[i]);
+                }
+            }
+            return resized;
+        }
+    }
+}
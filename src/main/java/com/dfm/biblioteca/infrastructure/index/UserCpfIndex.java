@@ -0,0 +1,185 @@
+package com.dfm.biblioteca.infrastructure.index;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.persistence.UserBulkChangeEvent;
+import com.dfm.biblioteca.infrastructure.persistence.UserChangeEvent;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice em memória CPF→id, mantido a partir dos commits de {@link User}.
+ *
+ * Serve para resolver o lookup por CPF pela chave primária em vez do índice VARCHAR. O índice é só uma
+ * dica: o usuário carregado pelo id é conferido contra o CPF pedido e, se não bater (ou o CPF não estiver
+ * no índice), a consulta cai no {@link UserRepository#findByCpf}. Assim, janelas entre o commit e o evento
+ * ou uma reconstrução em andamento nunca produzem resposta errada, só uma consulta a mais.
+ */
+@Singleton
+public class UserCpfIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserCpfIndex.class);
+    private static final double STALE_RATIO = 0.1;
+
+    // Resolvidos sob demanda, para a inicialização não depender do banco estar acessível
+    private final BeanProvider<UserRepository> userRepository;
+    private final BeanProvider<SessionFactory> sessionFactory;
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    private volatile CpfIdTable table;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder staleSinceBuild = new LongAdder();
+
+    public UserCpfIndex(BeanProvider<UserRepository> userRepository,
+                        BeanProvider<SessionFactory> sessionFactory,
+                        @Named(TaskExecutors.IO) ExecutorService executor,
+                        @Value("${users.cpf-index.enabled:true}") boolean enabled,
+                        @Value("${jpa.default.properties.hibernate.jdbc.fetch_size:50}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.sessionFactory = sessionFactory;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+    }
+
+    //Busca usuário pelo CPF resolvendo o id pelo índice em memória quando possível
+    public Optional<User> findByCpf(String cpf) {
+        long id = idFor(cpf);
+        if (id != CpfIdTable.MISSING) {
+            Optional<User> user = userRepository.get().findCompleteById(id).filter(found -> cpf.equals(found.getCpf()));
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        return userRepository.get().findCompleteByCpf(cpf);
+    }
+
+    /**
+     * Id indexado para o CPF, ou {@link CpfIdTable#MISSING}. Não aloca.
+     */
+    public long idFor(String cpf) {
+        CpfIdTable current = table;
+        if (!enabled || current == null) {
+            return CpfIdTable.MISSING;
+        }
+        return current.get(CpfCodec.pack(cpf));
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    @EventListener
+    void onUserChange(UserChangeEvent event) {
+        CpfIdTable current = table;
+        if (current == null || event.stage() != UserChangeEvent.Stage.COMMITTED || event.id() == null) {
+            return;
+        }
+        switch (event.kind()) {
+            case INSERT -> put(current, event.cpf(), event.id());
+            case UPDATE -> {
+                if (event.previousCpf() != null && !event.previousCpf().equals(event.cpf())) {
+                    current.remove(CpfCodec.pack(event.previousCpf()), event.id());
+                }
+                put(current, event.cpf(), event.id());
+            }
+            case DELETE -> current.remove(CpfCodec.pack(event.cpf()), event.id());
+        }
+    }
+
+    @EventListener
+    void onUserBulkChange(UserBulkChangeEvent event) {
+        // UPDATEs em massa só mudam status; CPF e id continuam os mesmos. Entradas de linhas removidas em
+        // massa só ocupam memória (a busca pelo id falha e cai no repositório), então a reconstrução espera
+        // até elas passarem de STALE_RATIO do índice
+        if (event.kind() != UserBulkChangeEvent.Kind.DELETE || event.stage() != UserBulkChangeEvent.Stage.COMMITTED
+                || !enabled) {
+            return;
+        }
+        if (event.affectedRows() < 0) {
+            rebuildAsync();
+            return;
+        }
+        staleSinceBuild.add(event.affectedRows());
+        if (staleSinceBuild.sum() > Math.max(1, size()) * STALE_RATIO) {
+            rebuildAsync();
+        }
+    }
+
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                LOG.warn("CPF index rebuild failed; lookups keep using the previous index", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    void rebuild() {
+        try (StatelessSession session = sessionFactory.get().openStatelessSession()) {
+            long count = session.createSelectionQuery("select count(u) from User u", Long.class).getSingleResult();
+            CpfIdTable next = new CpfIdTable((int) Math.min(Integer.MAX_VALUE, count));
+            try (ScrollableResults<Object[]> rows = session.createSelectionQuery("select u.cpf, u.id from User u", Object[].class)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    put(next, (String) row[0], (Long) row[1]);
+                }
+            }
+            table = next;
+            staleSinceBuild.reset();
+            LOG.info("CPF index rebuilt with {} entries ({} bytes)", next.size(), next.sizeInBytes());
+        }
+    }
+
+    private static void put(CpfIdTable target, String cpf, long id) {
+        long packed = CpfCodec.pack(cpf);
+        // CPFs fora do formato de 11 dígitos ficam fora do índice e seguem pelo repositório
+        if (packed != CpfCodec.INVALID) {
+            target.put(packed, id);
+        }
+    }
+
+    public boolean isReady() {
+        return table != null;
+    }
+
+    public int size() {
+        CpfIdTable current = table;
+        return current == null ? 0 : current.size();
+    }
+
+    public long sizeInBytes() {
+        CpfIdTable current = table;
+        return current == null ? 0 : current.sizeInBytes();
+    }
+}
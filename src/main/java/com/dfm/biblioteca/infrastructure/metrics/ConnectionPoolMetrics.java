@@ -0,0 +1,91 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envolve cada datasource num MeteredDataSource e expõe a ocupação dos pools.
+ */
+@Singleton
+public class ConnectionPoolMetrics implements BeanCreatedEventListener<DataSource>, Ordered {
+
+    private final Map<String, MeteredDataSource> dataSources = new ConcurrentHashMap<>();
+
+    // Logo acima das permissões de conexão, para a espera medida incluir a fila do semáforo
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        DataSource dataSource = event.getBean();
+        String name = event.getBeanIdentifier().getName();
+        MeteredDataSource metered = new MeteredDataSource(name, dataSource, hikari(dataSource));
+        dataSources.put(name, metered);
+        return metered;
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Se algum pool está saturado: há threads esperando conexão e a espera recente passou de threshold.
+     */
+    public boolean isSaturated(Duration threshold) {
+        long thresholdNanos = threshold.toNanos();
+        for (MeteredDataSource dataSource : dataSources.values()) {
+            if (dataSource.getPending() > 0 && dataSource.getRecentWaitNanos() > thresholdNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ocupação e tempo de aquisição (em ms) por pool.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> pools = new TreeMap<>();
+        for (MeteredDataSource dataSource : dataSources.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            HikariPoolMXBean pool = dataSource.getPool();
+            if (pool != null) {
+                entry.put("active", pool.getActiveConnections());
+                entry.put("idle", pool.getIdleConnections());
+                entry.put("total", pool.getTotalConnections());
+            }
+            entry.put("pending", dataSource.getPending());
+            entry.put("acquireFailures", dataSource.getFailures());
+            LatencyHistogram acquire = dataSource.getAcquire();
+            Map<String, Object> acquireTime = new LinkedHashMap<>();
+            acquireTime.put("count", acquire.getCount());
+            acquireTime.put("recentMs", dataSource.getRecentWaitNanos() / 1_000_000.0);
+            acquireTime.put("meanMs", acquire.getMeanMicros() / 1_000.0);
+            acquireTime.put("p50Ms", acquire.percentileMicros(0.50) / 1_000.0);
+            acquireTime.put("p95Ms", acquire.percentileMicros(0.95) / 1_000.0);
+            acquireTime.put("p99Ms", acquire.percentileMicros(0.99) / 1_000.0);
+            acquireTime.put("maxMs", acquire.getMaxMicros() / 1_000.0);
+            entry.put("acquireTime", acquireTime);
+            pools.put(dataSource.getName(), entry);
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada comando que o Hibernate prepara na requisição corrente. Um lote JDBC conta uma vez.
+ *
+ * Se jpa.*.properties já configura outro inspector, ele é encadeado depois da contagem.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    private final StatementInspector next;
+
+    public CountingStatementInspector() {
+        this(null);
+    }
+
+    public CountingStatementInspector(StatementInspector next) {
+        this.next = next;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements.increment();
+        return next == null ? sql : next.inspect(sql);
+    }
+}
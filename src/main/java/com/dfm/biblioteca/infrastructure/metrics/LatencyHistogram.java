@@ -0,0 +1,90 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em microssegundos com baldes log-lineares: cada potência de 2 é dividida em 8
+ * baldes, então um percentil é devolvido com no máximo 12,5% de erro. Valores abaixo de 8µs têm balde
+ * próprio; acima de ~19h vão para o último balde.
+ *
+ * Gravação sem trava (um incremento atômico); a leitura dos percentis é aproximada sob concorrência.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(index(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalMicros.sum() / n;
+    }
+
+    /**
+     * Limite superior do balde que contém o percentil (0 &lt; quantile &lt;= 1), em microssegundos.
+     */
+    public long percentileMicros(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
@@ -0,0 +1,149 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micronaut.core.annotation.Nullable;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * DataSource que mede quanto cada getConnection() espera, somando a permissão de conexão (quando há) e o pool
+ * Hikari, e quantas threads estão esperando agora.
+ *
+ * Além do histograma acumulado guarda uma média móvel exponencial da espera, que reage em poucas aquisições
+ * quando o banco fica lento e é o sinal usado pelo controle de admissão. Ativas, ociosas e total vêm do
+ * HikariPoolMXBean.
+ */
+final class MeteredDataSource implements DataSource {
+
+    // Peso de cada nova amostra na média móvel (1/4)
+    private static final int RECENT_WAIT_SHIFT = 2;
+
+    private final String name;
+    private final DataSource target;
+    @Nullable
+    private final HikariDataSource hikari;
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final AtomicLong recentWaitNanos = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+
+    MeteredDataSource(String name, DataSource target, @Nullable HikariDataSource hikari) {
+        this.name = name;
+        this.target = target;
+        this.hikari = hikari;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        pending.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            Connection connection = target.getConnection();
+            acquired = true;
+            return connection;
+        } finally {
+            record(System.nanoTime() - start, acquired);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        pending.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            Connection connection = target.getConnection(username, password);
+            acquired = true;
+            return connection;
+        } finally {
+            record(System.nanoTime() - start, acquired);
+        }
+    }
+
+    private void record(long nanos, boolean acquired) {
+        pending.decrementAndGet();
+        acquire.record(nanos);
+        recentWaitNanos.getAndUpdate(recent -> recent + ((nanos - recent) >> RECENT_WAIT_SHIFT));
+        if (!acquired) {
+            failures.increment();
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    LatencyHistogram getAcquire() {
+        return acquire;
+    }
+
+    long getRecentWaitNanos() {
+        return recentWaitNanos.get();
+    }
+
+    int getPending() {
+        return pending.get();
+    }
+
+    long getFailures() {
+        return failures.sum();
+    }
+
+    @Nullable
+    HikariPoolMXBean getPool() {
+        return hikari == null ? null : hikari.getHikariPoolMXBean();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+    @Override
+    public String toString() {
+        return "MeteredDataSource[" + target + "]";
+    }
+}
@@ -0,0 +1,45 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de um método de repositório.
+ */
+public class RepositoryMethodMetrics {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+
+    void record(long nanos, long rowCount, boolean failed, boolean slow) {
+        latency.record(nanos);
+        rows.add(rowCount);
+        if (failed) {
+            errors.increment();
+        }
+        if (slow) {
+            slowCalls.increment();
+        }
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getSlowCalls() {
+        return slowCalls.sum();
+    }
+}
@@ -0,0 +1,22 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mede cada chamada aos métodos do repositório anotado: latência, erros e linhas devolvidas, com log
+ * estruturado das chamadas lentas.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Around
+@Type(RepositoryMetricsInterceptor.class)
+public @interface RepositoryMetrics {
+}
@@ -0,0 +1,39 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.repository-metrics")
+public class RepositoryMetricsConfiguration {
+
+    private boolean enabled = true;
+    // Chamadas de repositório acima deste tempo geram um log estruturado
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+    // Requisições HTTP com mais comandos SQL que isto geram um log (suspeita de N+1)
+    private int requestStatementThreshold = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public int getRequestStatementThreshold() {
+        return requestStatementThreshold;
+    }
+
+    public void setRequestStatementThreshold(int requestStatementThreshold) {
+        this.requestStatementThreshold = requestStatementThreshold;
+    }
+}
@@ -0,0 +1,64 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Métricas por método de repositório (latência em ms, chamadas, erros, linhas, chamadas lentas) e comandos
+ * SQL por rota HTTP e ocupação dos pools de conexão em /user-repository-metrics.
+ */
+@Endpoint(id = "user-repository-metrics", defaultSensitive = true)
+public class RepositoryMetricsEndpoint {
+
+    private final RepositoryMetricsInterceptor interceptor;
+    private final RequestStatementMetrics requestStatementMetrics;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+
+    public RepositoryMetricsEndpoint(RepositoryMetricsInterceptor interceptor,
+                                     RequestStatementMetrics requestStatementMetrics,
+                                     ConnectionPoolMetrics connectionPoolMetrics) {
+        this.interceptor = interceptor;
+        this.requestStatementMetrics = requestStatementMetrics;
+        this.connectionPoolMetrics = connectionPoolMetrics;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Object> methods = new TreeMap<>();
+        interceptor.getMetrics().forEach((method, metrics) -> {
+            LatencyHistogram latency = metrics.getLatency();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("calls", metrics.getCalls());
+            entry.put("errors", metrics.getErrors());
+            entry.put("rows", metrics.getRows());
+            entry.put("slowCalls", metrics.getSlowCalls());
+            entry.put("meanMs", latency.getMeanMicros() / 1_000.0);
+            entry.put("p50Ms", latency.percentileMicros(0.50) / 1_000.0);
+            entry.put("p95Ms", latency.percentileMicros(0.95) / 1_000.0);
+            entry.put("p99Ms", latency.percentileMicros(0.99) / 1_000.0);
+            entry.put("maxMs", latency.getMaxMicros() / 1_000.0);
+            methods.put(method, entry);
+        });
+
+        Map<String, Object> routes = new TreeMap<>();
+        requestStatementMetrics.getRoutes().forEach((route, metrics) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", metrics.getRequests());
+            entry.put("statements", metrics.getStatements());
+            entry.put("meanStatements", metrics.getRequests() == 0 ? 0 : (double) metrics.getStatements() / metrics.getRequests());
+            entry.put("maxStatements", metrics.getMaxStatements());
+            entry.put("overThreshold", metrics.getFlagged());
+            routes.put(route, entry);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("repositoryMethods", methods);
+        result.put("requestStatements", routes);
+        result.put("connectionPools", connectionPoolMetrics.stats());
+        return result;
+    }
+}
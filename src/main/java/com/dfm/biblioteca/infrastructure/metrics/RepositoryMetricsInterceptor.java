@@ -0,0 +1,93 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Singleton
+public class RepositoryMetricsInterceptor implements MethodInterceptor<Object, Object> {
+
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("com.dfm.biblioteca.slow-query");
+
+    private final RepositoryMetricsConfiguration configuration;
+    private final Map<ExecutableMethod<?, ?>, String> names = new ConcurrentHashMap<>();
+    private final Map<String, RepositoryMethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(RepositoryMetricsConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!configuration.isEnabled()) {
+            return context.proceed();
+        }
+        String method = names.computeIfAbsent(context.getExecutableMethod(), executable -> name(context.getTarget(), executable));
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = context.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long rows = failed ? 0 : rows(result);
+            boolean slow = elapsed >= configuration.getSlowQueryThreshold().toNanos();
+            metrics.computeIfAbsent(method, key -> new RepositoryMethodMetrics()).record(elapsed, rows, failed, slow);
+            if (slow) {
+                // Sem os argumentos: podem conter CPF
+                SLOW_LOG.atWarn()
+                        .addKeyValue("method", method)
+                        .addKeyValue("elapsedMs", elapsed / 1_000_000)
+                        .addKeyValue("rows", rows)
+                        .addKeyValue("failed", failed)
+                        .addKeyValue("requestStatements", RequestStatements.current())
+                        .log("Slow repository call {} took {} ms", method, elapsed / 1_000_000);
+            }
+        }
+    }
+
+    public Map<String, RepositoryMethodMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    // Linhas entregues a quem chamou: tamanho da coleção, 0/1 para Optional e 1 para entidade ou escalar
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    // Métodos herdados de CrudRepository levam o nome do repositório anotado, não de CrudRepository
+    private static String name(Object target, ExecutableMethod<?, ?> method) {
+        Class<?> repository = Arrays.stream(target.getClass().getInterfaces())
+                .filter(type -> type.isAnnotationPresent(RepositoryMetrics.class))
+                .findFirst()
+                .orElse(method.getDeclaringType());
+        String parameters = Arrays.stream(method.getArguments())
+                .map(Argument::getType)
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(","));
+        return repository.getSimpleName() + "." + method.getMethodName() + "(" + parameters + ")";
+    }
+}
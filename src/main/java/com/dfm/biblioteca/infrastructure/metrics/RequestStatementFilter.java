@@ -0,0 +1,61 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Conta os comandos SQL de cada requisição e registra um log quando passam de request-statement-threshold.
+ */
+@Filter(Filter.MATCH_ALL_PATTERN)
+public class RequestStatementFilter implements HttpServerFilter {
+
+    // Chave das requisições sem rota (404, varreduras): o caminho cru deixaria o número de chaves sem limite
+    static final String UNMATCHED = "UNMATCHED";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestStatementFilter.class);
+
+    private final RepositoryMetricsConfiguration configuration;
+    private final RequestStatementMetrics metrics;
+
+    public RequestStatementFilter(RepositoryMetricsConfiguration configuration, RequestStatementMetrics metrics) {
+        this.configuration = configuration;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!configuration.isEnabled()) {
+            return chain.proceed(request);
+        }
+        RequestStatements statements = new RequestStatements();
+        try (PropagatedContext.Scope ignored = PropagatedContext.getOrEmpty().plus(statements).propagate()) {
+            return Publishers.map(chain.proceed(request), response -> {
+                record(request, statements.getCount());
+                return response;
+            });
+        }
+    }
+
+    private void record(HttpRequest<?> request, int count) {
+        String route = request.getAttribute(HttpAttributes.URI_TEMPLATE, String.class)
+                .map(template -> request.getMethodName() + " " + template)
+                .orElse(UNMATCHED);
+        boolean flagged = count > configuration.getRequestStatementThreshold();
+        metrics.record(route, count, flagged);
+        if (flagged) {
+            LOG.atWarn()
+                    .addKeyValue("route", route)
+                    .addKeyValue("statements", count)
+                    .log("Request {} {} executed {} SQL statements", request.getMethodName(), request.getPath(), count);
+        }
+    }
+}
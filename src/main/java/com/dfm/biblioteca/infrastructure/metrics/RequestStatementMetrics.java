@@ -0,0 +1,56 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Comandos SQL por requisição, agregados por rota (template da URI).
+ */
+@Singleton
+public class RequestStatementMetrics {
+
+    public static class Route {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder flagged = new LongAdder();
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getMaxStatements() {
+            return maxStatements.get();
+        }
+
+        public long getFlagged() {
+            return flagged.sum();
+        }
+    }
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    void record(String route, int statements, boolean flagged) {
+        Route metrics = routes.computeIfAbsent(route, key -> new Route());
+        metrics.requests.increment();
+        metrics.statements.add(statements);
+        metrics.maxStatements.accumulate(statements);
+        if (flagged) {
+            metrics.flagged.increment();
+        }
+    }
+
+    public Map<String, Route> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+}
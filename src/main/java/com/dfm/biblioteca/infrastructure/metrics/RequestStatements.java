@@ -0,0 +1,29 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.propagation.PropagatedContextElement;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contador de comandos SQL de uma requisição, levado no PropagatedContext.
+ */
+public final class RequestStatements implements PropagatedContextElement {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    public int getCount() {
+        return count.get();
+    }
+
+    static void increment() {
+        PropagatedContext.getOrEmpty().find(RequestStatements.class).ifPresent(statements -> statements.count.incrementAndGet());
+    }
+
+    /**
+     * Comandos executados até agora pela requisição corrente; -1 fora de uma requisição.
+     */
+    static int current() {
+        return PropagatedContext.getOrEmpty().find(RequestStatements.class).map(RequestStatements::getCount).orElse(-1);
+    }
+}
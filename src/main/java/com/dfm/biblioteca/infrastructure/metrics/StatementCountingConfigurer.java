@@ -0,0 +1,60 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import io.micronaut.configuration.hibernate.jpa.JpaConfiguration;
+import io.micronaut.configuration.hibernate.jpa.conf.serviceregistry.builder.configures.StandardServiceRegistryBuilderConfigurer;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registra o CountingStatementInspector no Hibernate. Um inspector já configurado em jpa.*.properties (ex.: o
+ * de latência simulada dos benchmarks) continua valendo, chamado pelo CountingStatementInspector depois da
+ * contagem.
+ */
+@Singleton
+public class StatementCountingConfigurer implements StandardServiceRegistryBuilderConfigurer {
+
+    private final RepositoryMetricsConfiguration configuration;
+
+    public StatementCountingConfigurer(RepositoryMetricsConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void configure(@NonNull JpaConfiguration jpaConfiguration, @NonNull StandardServiceRegistryBuilder builder) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+        Object configured = builder.getSettings().get(AvailableSettings.STATEMENT_INSPECTOR);
+        StatementInspector next = configured == null ? null : inspector(builder, configured);
+        builder.applySetting(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector(next));
+    }
+
+    @Override
+    public int getOrder() {
+        // Depois do configurer que aplica as propriedades do yaml
+        return LOWEST_PRECEDENCE;
+    }
+
+    // Aceita as mesmas formas que o Hibernate: instância, classe ou nome da classe
+    private static StatementInspector inspector(StandardServiceRegistryBuilder builder, Object configured) {
+        if (configured instanceof StatementInspector inspector) {
+            return inspector;
+        }
+        Class<?> type = configured instanceof Class<?> clazz
+                ? clazz
+                : builder.getBootstrapServiceRegistry().requireService(ClassLoaderService.class)
+                        .classForName(configured.toString().trim());
+        if (!StatementInspector.class.isAssignableFrom(type)) {
+            throw new IllegalStateException(type.getName() + " is not a " + StatementInspector.class.getName());
+        }
+        try {
+            return (StatementInspector) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate statement inspector " + type.getName(), e);
+        }
+    }
+}
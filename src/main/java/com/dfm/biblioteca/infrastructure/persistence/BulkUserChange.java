@@ -0,0 +1,37 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca métodos que alteram users em massa sem passar por entidades, para que publiquem
+ * {@link UserBulkChangeEvent} e os caches em memória possam se ajustar.
+ *
+ * statusParameter e previousStatusParameter nomeiam os parâmetros do método que dizem qual status as
+ * linhas tinham (previous) e qual passaram a ter; num DELETE, statusParameter é o status das linhas
+ * removidas. Sem eles o evento não informa status e quem depende disso precisa recalcular.
+ *
+ * idParameter nomeia o parâmetro com o id da única linha alvo, quando o método altera no máximo uma linha;
+ * assim os caches invalidam só essa linha em vez de tudo.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Around
+@Type(BulkUserChangeInterceptor.class)
+public @interface BulkUserChange {
+
+    UserBulkChangeEvent.Kind kind() default UserBulkChangeEvent.Kind.DELETE;
+
+    String statusParameter() default "";
+
+    String previousStatusParameter() default "";
+
+    String idParameter() default "";
+}
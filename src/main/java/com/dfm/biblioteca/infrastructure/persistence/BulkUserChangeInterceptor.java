@@ -0,0 +1,82 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.TransactionStatus;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import jakarta.inject.Singleton;
+import org.hibernate.Session;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Singleton
+public class BulkUserChangeInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final ApplicationEventPublisher<UserBulkChangeEvent> publisher;
+    private final TransactionOperations<Session> transactionOperations;
+
+    public BulkUserChangeInterceptor(ApplicationEventPublisher<UserBulkChangeEvent> publisher,
+                                     TransactionOperations<Session> transactionOperations) {
+        this.publisher = publisher;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String operation = context.getDeclaringType().getSimpleName() + "." + context.getMethodName();
+        AnnotationValue<BulkUserChange> annotation = context.getAnnotation(BulkUserChange.class);
+        UserBulkChangeEvent.Kind kind = annotation.enumValue("kind", UserBulkChangeEvent.Kind.class)
+                .orElse(UserBulkChangeEvent.Kind.DELETE);
+        Map<String, Object> parameters = context.getParameterValueMap();
+        User.UserStatus status = statusArgument(parameters, annotation.stringValue("statusParameter"));
+        User.UserStatus previousStatus = statusArgument(parameters, annotation.stringValue("previousStatusParameter"));
+        Long id = annotation.stringValue("idParameter")
+                .filter(parameter -> !parameter.isEmpty())
+                .map(parameters::get)
+                .filter(Long.class::isInstance)
+                .map(Long.class::cast)
+                .orElse(null);
+        Object result = null;
+        boolean succeeded = false;
+        try {
+            result = context.proceed();
+            succeeded = true;
+            return result;
+        } finally {
+            long affectedRows = result instanceof Number number ? number.longValue() : -1;
+            publisher.publishEvent(new UserBulkChangeEvent(operation, kind, UserBulkChangeEvent.Stage.EXECUTED,
+                    status, previousStatus, affectedRows, id));
+            Optional<? extends TransactionStatus<?>> transaction = transactionOperations.findTransactionStatus();
+            if (transaction.isPresent()) {
+                transaction.get().registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(Status completion) {
+                        UserBulkChangeEvent.Stage stage = completion == Status.COMMITTED
+                                ? UserBulkChangeEvent.Stage.COMMITTED
+                                : UserBulkChangeEvent.Stage.ROLLED_BACK;
+                        publisher.publishEvent(new UserBulkChangeEvent(operation, kind, stage, status, previousStatus, affectedRows, id));
+                    }
+                });
+            } else {
+                // Sem transação externa o método já fez commit (ou rollback) da própria transação
+                UserBulkChangeEvent.Stage stage = succeeded
+                        ? UserBulkChangeEvent.Stage.COMMITTED
+                        : UserBulkChangeEvent.Stage.ROLLED_BACK;
+                publisher.publishEvent(new UserBulkChangeEvent(operation, kind, stage, status, previousStatus, affectedRows, id));
+            }
+        }
+    }
+
+    private static User.UserStatus statusArgument(Map<String, Object> parameters, Optional<String> name) {
+        return name.filter(parameter -> !parameter.isEmpty())
+                .map(parameters::get)
+                .filter(User.UserStatus.class::isInstance)
+                .map(User.UserStatus.class::cast)
+                .orElse(null);
+    }
+}
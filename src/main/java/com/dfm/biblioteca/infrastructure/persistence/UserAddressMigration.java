@@ -0,0 +1,265 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.infrastructure.reference.ReferenceKind;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Migra bases anteriores às tabelas de referência: users guardava city, country e nationality como texto.
+ *
+ * O hbm2ddl (auto: update) cria as tabelas de referência e as colunas *_id (no MySQL, NOT NULL com 0 nas linhas
+ * existentes), mas não remove as antigas. A migração é feita em duas etapas, para conviver com instâncias antigas
+ * durante um deploy gradual:
+ *
+ * - expand (users.address-migration.enabled, ligada): se alguma coluna antiga existir, os nomes distintos são
+ *   copiados para as tabelas de referência, os ids são recalculados a partir do texto em blocos de id (um commit
+ *   por bloco) e a coluna antiga deixa de ser NOT NULL, para os INSERTs das instâncias novas. As instâncias
+ *   antigas continuam gravando o texto; enquanto as colunas antigas existirem, o preenchimento se repete a cada
+ *   users.address-migration.refill-interval e atualiza só as linhas cujo id não corresponde ao texto.
+ * - contract (users.address-migration.drop-legacy-columns, desligada): depois que nenhuma instância antiga estiver
+ *   no ar, confere que toda linha com texto tem o id correspondente e só então remove as colunas antigas. Se
+ *   alguma linha ficou sem id, não remove nada; o próximo preenchimento completa e tenta de novo.
+ *
+ * Roda de forma síncrona na inicialização, antes do servidor aceitar requisições; interrompida no meio, continua
+ * de onde parou no próximo preenchimento. Sem colunas antigas não faz nada.
+ */
+@Singleton
+@Requires(bean = DataSource.class)
+public class UserAddressMigration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserAddressMigration.class);
+
+    private static final List<LegacyColumn> LEGACY_COLUMNS = List.of(
+            new LegacyColumn("city", "city_id", ReferenceKind.CITY, null, true),
+            new LegacyColumn("country", "country_id", ReferenceKind.COUNTRY, null, true),
+            new LegacyColumn("nationality", "nationality_id", ReferenceKind.NATIONALITY, null, true));
+
+    private final DataSource dataSource;
+    private final UserAddressMigrationConfiguration configuration;
+
+    // A EntityManagerFactory garante que o hbm2ddl já criou as tabelas e colunas novas
+    public UserAddressMigration(DataSource dataSource,
+                                UserAddressMigrationConfiguration configuration,
+                                EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.configuration = configuration;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (configuration.isEnabled()) {
+            run();
+        }
+    }
+
+    @Scheduled(fixedDelay = "${users.address-migration.refill-interval:5m}",
+            initialDelay = "${users.address-migration.refill-interval:5m}")
+    void scheduledRefill() {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not refill user address ids; retrying in {}", configuration.getRefillInterval(), e);
+        }
+    }
+
+    private void run() {
+        migrate();
+        if (configuration.isDropLegacyColumns()) {
+            contract();
+        }
+    }
+
+    /**
+     * Etapa expand: preenche os ids a partir das colunas antigas, sem removê-las. Devolve quantas colunas antigas
+     * existem.
+     */
+    public int migrate() {
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection()) {
+            connection.setAutoCommit(true);
+            List<LegacyColumn> legacy = legacyColumns(connection);
+            if (legacy.isEmpty()) {
+                return 0;
+            }
+            expand(connection, legacy);
+            return legacy.size();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not migrate user address columns", e);
+        }
+    }
+
+    /**
+     * Etapa contract: remove as colunas antigas se todas as linhas com texto tiverem o id correspondente. Devolve
+     * quantas colunas foram removidas; 0 quando alguma linha ficou sem id (gravada por uma instância antiga depois
+     * do preenchimento).
+     *
+     * Só deve ser ligada quando nenhuma instância antiga estiver gravando: uma escrita entre a conferência e o
+     * DROP ainda se perderia.
+     */
+    public int contract() {
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection()) {
+            connection.setAutoCommit(true);
+            List<LegacyColumn> legacy = legacyColumns(connection);
+            if (legacy.isEmpty()) {
+                return 0;
+            }
+            for (LegacyColumn column : legacy) {
+                long missing = unmigratedRows(connection, column);
+                if (missing > 0) {
+                    LOG.error("Not dropping legacy user columns: {} rows have {} without a matching {}; was an old "
+                            + "instance still writing?", missing, column.name(), column.idColumn());
+                    return 0;
+                }
+            }
+            for (LegacyColumn column : legacy) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE users DROP COLUMN " + column.name());
+                }
+            }
+            LOG.info("Dropped legacy user columns {}", legacy.stream().map(LegacyColumn::name).toList());
+            return legacy.size();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not drop legacy user address columns", e);
+        }
+    }
+
+    private void expand(Connection connection, List<LegacyColumn> legacy) throws SQLException {
+        LOG.debug("Migrating legacy user columns {} to reference tables", legacy.stream().map(LegacyColumn::name).toList());
+        for (LegacyColumn column : legacy) {
+            copyNames(connection, column);
+        }
+        long updated = fillIds(connection, legacy);
+        for (LegacyColumn column : legacy) {
+            if (!column.nullable()) {
+                allowNull(connection, column);
+            }
+        }
+        if (updated > 0) {
+            LOG.info("Migrated {} users to reference tables", updated);
+        }
+    }
+
+    // Linhas com texto cujo id falta (NULL, ou 0 no MySQL) ou aponta para outro nome (texto alterado depois)
+    private long unmigratedRows(Connection connection, LegacyColumn column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM users WHERE " + unmigrated(column))) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static String unmigrated(LegacyColumn column) {
+        return "(users." + column.name() + " IS NOT NULL AND NOT EXISTS (SELECT 1 FROM " + column.kind().getTable()
+                + " r WHERE r.id = users." + column.idColumn() + " AND r.name = users." + column.name() + "))";
+    }
+
+    private void allowNull(Connection connection, LegacyColumn column) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        String sql = product.equalsIgnoreCase("MySQL")
+                ? "ALTER TABLE users MODIFY COLUMN " + column.name() + " " + column.type() + " NULL"
+                : "ALTER TABLE users ALTER COLUMN " + column.name() + " SET NULL";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private List<LegacyColumn> legacyColumns(Connection connection) throws SQLException {
+        Map<String, LegacyColumn> columns = new HashMap<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        // O nome da tabela no catálogo é minúsculo no MySQL e maiúsculo no H2
+        for (String table : List.of("users", "USERS")) {
+            try (ResultSet rows = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (rows.next()) {
+                    String name = rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT);
+                    String type = rows.getString("TYPE_NAME") + "(" + rows.getInt("COLUMN_SIZE") + ")";
+                    boolean nullable = rows.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
+                    for (LegacyColumn column : LEGACY_COLUMNS) {
+                        if (column.name().equals(name)) {
+                            columns.put(name, new LegacyColumn(name, column.idColumn(), column.kind(), type, nullable));
+                        }
+                    }
+                }
+            }
+        }
+        List<LegacyColumn> legacy = new ArrayList<>();
+        for (LegacyColumn column : LEGACY_COLUMNS) {
+            if (columns.containsKey(column.name())) {
+                legacy.add(columns.get(column.name()));
+            }
+        }
+        return legacy;
+    }
+
+    private void copyNames(Connection connection, LegacyColumn column) throws SQLException {
+        String table = column.kind().getTable();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO " + table + " (name) SELECT DISTINCT u." + column.name()
+                    + " FROM users u WHERE u." + column.name() + " IS NOT NULL AND NOT EXISTS "
+                    + "(SELECT 1 FROM " + table + " r WHERE r.name = u." + column.name() + ")");
+        }
+    }
+
+    private long fillIds(Connection connection, List<LegacyColumn> legacy) throws SQLException {
+        long minId;
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet range = statement.executeQuery("SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), 0) FROM users")) {
+            range.next();
+            minId = range.getLong(1);
+            maxId = range.getLong(2);
+        }
+
+        // Linhas gravadas pelas instâncias novas não têm o texto: mantêm o id que já têm. Só as linhas cujo id não
+        // corresponde ao texto são atualizadas, para que os preenchimentos periódicos não regravem a tabela inteira
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        for (int i = 0; i < legacy.size(); i++) {
+            LegacyColumn column = legacy.get(i);
+            sql.append(i == 0 ? "" : ", ")
+                    .append(column.idColumn()).append(" = COALESCE((SELECT r.id FROM ").append(column.kind().getTable())
+                    .append(" r WHERE r.name = users.").append(column.name()).append("), ").append(column.idColumn())
+                    .append(")");
+        }
+        sql.append(" WHERE id >= ? AND id < ? AND (");
+        for (int i = 0; i < legacy.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append(unmigrated(legacy.get(i)));
+        }
+        sql.append(")");
+
+        long updated = 0;
+        int chunkSize = configuration.getChunkSize();
+        try (PreparedStatement update = connection.prepareStatement(sql.toString())) {
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                update.setLong(1, from);
+                update.setLong(2, from + chunkSize);
+                updated += update.executeUpdate();
+            }
+        }
+        return updated;
+    }
+
+    // type e nullable vêm do catálogo; nas constantes não são usados
+    private record LegacyColumn(String name, String idColumn, ReferenceKind kind, String type, boolean nullable) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.address-migration")
+public class UserAddressMigrationConfiguration {
+
+    // Converte na inicialização as colunas de texto antigas (city, country, nationality) em ids de referência
+    private boolean enabled = true;
+    // Remove as colunas antigas depois de conferir que todas as linhas têm os ids; só quando nenhuma instância
+    // antiga estiver no ar
+    private boolean dropLegacyColumns = false;
+    private int chunkSize = 1000;
+    // Intervalo do preenchimento dos ids das linhas gravadas por instâncias antigas, enquanto houver colunas antigas
+    private Duration refillInterval = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isDropLegacyColumns() {
+        return dropLegacyColumns;
+    }
+
+    public void setDropLegacyColumns(boolean dropLegacyColumns) {
+        this.dropLegacyColumns = dropLegacyColumns;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getRefillInterval() {
+        return refillInterval;
+    }
+
+    public void setRefillInterval(Duration refillInterval) {
+        this.refillInterval = refillInterval;
+    }
+}
@@ -0,0 +1,36 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Operação em massa sobre a tabela users (DELETE/UPDATE via JPQL) marcada com {@link BulkUserChange}.
+ *
+ * Essas operações não passam pelo contexto de persistência, então não geram {@link UserChangeEvent}.
+ * Publicada em EXECUTED, logo depois do método retornar, e em COMMITTED ou ROLLED_BACK ao fim da transação
+ * que o envolve (imediatamente, se não houver transação).
+ *
+ * status e previousStatus seguem {@link UserChangeEvent}: num DELETE, status é o das linhas removidas; num
+ * UPDATE, as linhas passaram de previousStatus para status. affectedRows é o retorno numérico do método
+ * (linhas afetadas) ou -1 quando ele não informa. id é a única linha alvo, quando o método informa
+ * (ver {@link BulkUserChange#idParameter()}); nulo numa operação sobre várias linhas.
+ */
+public record UserBulkChangeEvent(String operation,
+                                  Kind kind,
+                                  Stage stage,
+                                  @Nullable User.UserStatus status,
+                                  @Nullable User.UserStatus previousStatus,
+                                  long affectedRows,
+                                  @Nullable Long id) {
+
+    public enum Kind {
+        UPDATE,
+        DELETE
+    }
+
+    public enum Stage {
+        EXECUTED,
+        COMMITTED,
+        ROLLED_BACK
+    }
+}
@@ -0,0 +1,32 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Alteração de um {@link User} feita pela sessão do Hibernate (persist, merge, remove).
+ *
+ * Cada alteração é publicada duas vezes: em FLUSHED, logo depois do SQL ser executado (ainda dentro da
+ * transação), e depois em COMMITTED ou ROLLED_BACK, conforme o fim da transação. Os campos previous* só
+ * são preenchidos em UPDATE.
+ */
+public record UserChangeEvent(Kind kind,
+                              Stage stage,
+                              @Nullable Long id,
+                              @Nullable String cpf,
+                              @Nullable String previousCpf,
+                              @Nullable User.UserStatus status,
+                              @Nullable User.UserStatus previousStatus) {
+
+    public enum Kind {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    public enum Stage {
+        FLUSHED,
+        COMMITTED,
+        ROLLED_BACK
+    }
+}
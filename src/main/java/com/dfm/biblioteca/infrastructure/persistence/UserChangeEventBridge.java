@@ -0,0 +1,148 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Registra listeners no Hibernate e republica as alterações de {@link User} como {@link UserChangeEvent}.
+ */
+@Singleton
+public class UserChangeEventBridge implements BeanCreatedEventListener<SessionFactory> {
+
+    private final ApplicationEventPublisher<UserChangeEvent> publisher;
+
+    public UserChangeEventBridge(ApplicationEventPublisher<UserChangeEvent> publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public SessionFactory onCreated(BeanCreatedEvent<SessionFactory> event) {
+        SessionFactory sessionFactory = event.getBean();
+        EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, new FlushedListener());
+        registry.appendListeners(EventType.POST_UPDATE, new FlushedListener());
+        registry.appendListeners(EventType.POST_DELETE, new FlushedListener());
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, new CommittedListener());
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, new CommittedListener());
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, new CommittedListener());
+        return sessionFactory;
+    }
+
+    private void publishInsert(PostInsertEvent event, UserChangeEvent.Stage stage) {
+        if (event.getEntity() instanceof User user) {
+            publisher.publishEvent(new UserChangeEvent(UserChangeEvent.Kind.INSERT, stage,
+                    user.getId(), user.getCpf(), null, user.getStatus(), null));
+        }
+    }
+
+    private void publishUpdate(PostUpdateEvent event, UserChangeEvent.Stage stage) {
+        if (event.getEntity() instanceof User user) {
+            String previousCpf = null;
+            User.UserStatus previousStatus = null;
+            Object[] oldState = event.getOldState();
+            if (oldState != null) {
+                previousCpf = (String) oldState[propertyIndex(event.getPersister(), "cpf")];
+                previousStatus = (User.UserStatus) oldState[propertyIndex(event.getPersister(), "status")];
+            }
+            publisher.publishEvent(new UserChangeEvent(UserChangeEvent.Kind.UPDATE, stage,
+                    user.getId(), user.getCpf(), previousCpf, user.getStatus(), previousStatus));
+        }
+    }
+
+    private void publishDelete(PostDeleteEvent event, UserChangeEvent.Stage stage) {
+        if (event.getEntity() instanceof User user) {
+            publisher.publishEvent(new UserChangeEvent(UserChangeEvent.Kind.DELETE, stage,
+                    user.getId(), user.getCpf(), null, user.getStatus(), null));
+        }
+    }
+
+    private static int propertyIndex(EntityPersister persister, String property) {
+        return persister.getEntityMetamodel().getPropertyIndex(property);
+    }
+
+    private static boolean isUser(EntityPersister persister) {
+        return User.class.equals(persister.getMappedClass());
+    }
+
+    private class FlushedListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publishInsert(event, UserChangeEvent.Stage.FLUSHED);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publishUpdate(event, UserChangeEvent.Stage.FLUSHED);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publishDelete(event, UserChangeEvent.Stage.FLUSHED);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+
+    private class CommittedListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publishInsert(event, UserChangeEvent.Stage.COMMITTED);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publishUpdate(event, UserChangeEvent.Stage.COMMITTED);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publishDelete(event, UserChangeEvent.Stage.COMMITTED);
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            publishInsert(event, UserChangeEvent.Stage.ROLLED_BACK);
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            publishUpdate(event, UserChangeEvent.Stage.ROLLED_BACK);
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            publishDelete(event, UserChangeEvent.Stage.ROLLED_BACK);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return isUser(persister);
+        }
+    }
+}
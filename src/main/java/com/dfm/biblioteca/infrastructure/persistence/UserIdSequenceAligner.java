@@ -0,0 +1,37 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.domain.entity.User;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Ajusta a tabela users_seq (sequência emulada no MySQL) para começar depois do maior id existente.
+ *
+ * Bases criadas quando o id ainda era IDENTITY já têm linhas; sem esse ajuste o otimizador pooled
+ * entregaria ids repetidos. Depois do primeiro ajuste a atualização não altera nada.
+ */
+@Singleton
+@Requires(property = "datasources.default.dialect", value = "MYSQL")
+public class UserIdSequenceAligner {
+
+    private final EntityManager entityManager;
+
+    public UserIdSequenceAligner(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @EventListener
+    @Transactional
+    public void onStartup(StartupEvent event) {
+        // O pooled trata o valor lido como limite superior do bloco, por isso a folga de um bloco inteiro
+        entityManager.createNativeQuery(
+                        "UPDATE users_seq SET next_val = GREATEST(next_val, "
+                                + "(SELECT COALESCE(MAX(id), 0) + :allocation + 1 FROM users))")
+                .setParameter("allocation", User.ID_ALLOCATION_SIZE)
+                .executeUpdate();
+    }
+}
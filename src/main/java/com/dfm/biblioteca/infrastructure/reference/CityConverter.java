@@ -0,0 +1,11 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+public class CityConverter extends ReferenceNameConverter {
+
+    public CityConverter(ReferenceNameCache cache) {
+        super(cache, ReferenceKind.CITY);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+public class CountryConverter extends ReferenceNameConverter {
+
+    public CountryConverter(ReferenceNameCache cache) {
+        super(cache, ReferenceKind.COUNTRY);
+    }
+}
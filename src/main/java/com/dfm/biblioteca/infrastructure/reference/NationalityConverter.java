@@ -0,0 +1,11 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+public class NationalityConverter extends ReferenceNameConverter {
+
+    public NationalityConverter(ReferenceNameCache cache) {
+        super(cache, ReferenceKind.NATIONALITY);
+    }
+}
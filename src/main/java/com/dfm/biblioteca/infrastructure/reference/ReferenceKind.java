@@ -0,0 +1,20 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+/**
+ * Tabelas de referência dos usuários; cada uma tem só id e nome (ver ReferenceName).
+ */
+public enum ReferenceKind {
+    CITY("cities"),
+    COUNTRY("countries"),
+    NATIONALITY("nationalities");
+
+    private final String table;
+
+    ReferenceKind(String table) {
+        this.table = table;
+    }
+
+    public String getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,238 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jdbc.ReturningWork;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Nomes das tabelas de referência em memória, nos dois sentidos (nome -> id e id -> nome).
+ *
+ * Cada nome existe uma única vez na memória: os usuários carregados recebem a instância guardada aqui, em vez
+ * de uma String lida do banco para cada linha. As tabelas são pequenas e só crescem, então não há expiração;
+ * cada uma é lida inteira só no primeiro acesso.
+ *
+ * Uma falta resolve apenas o nome ou id pedido. Um id desconhecido é lido com um único SELECT na conexão da
+ * sessão corrente, quando há uma (a leitura acontece dentro do Hibernate), ou numa conexão do pool em autocommit.
+ *
+ * Um nome novo é inserido, se ainda não existir, em autocommit numa conexão dedicada, fora do pool e usada por
+ * uma falta de cada vez. Na transação do chamador os locks do INSERT ficariam presos até o commit do flush, e
+ * duas importações que criam as mesmas cidades em ordens diferentes travariam uma à outra; pedir ao pool uma
+ * segunda conexão com a primeira presa poderia esgotá-lo. O nome fica gravado mesmo que a transação que o pediu
+ * seja desfeita; as tabelas de referência só crescem.
+ */
+@Singleton
+public class ReferenceNameCache {
+
+    private final DataSource dataSource;
+    // Depende do SessionFactory, que por sua vez usa estes conversores; só é resolvido no primeiro acesso
+    private final BeanProvider<SessionFactory> sessionFactory;
+    private final Map<ReferenceKind, Names> names = new EnumMap<>(ReferenceKind.class);
+    private final Lock inserting = new ReentrantLock();
+    // Conexão das inserções, aberta na primeira falta e reaberta depois de um erro; protegida por inserting
+    private Connection insertConnection;
+
+    public ReferenceNameCache(DataSource dataSource, BeanProvider<SessionFactory> sessionFactory) {
+        this.dataSource = dataSource;
+        this.sessionFactory = sessionFactory;
+        for (ReferenceKind kind : ReferenceKind.values()) {
+            names.put(kind, new Names());
+        }
+    }
+
+    public Integer idFor(ReferenceKind kind, String name) {
+        if (name == null) {
+            return null;
+        }
+        Names known = loaded(kind);
+        Integer id = known.ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        return known.put(insert(kind, name), name);
+    }
+
+    public String nameFor(ReferenceKind kind, Integer id) {
+        if (id == null) {
+            return null;
+        }
+        Names known = loaded(kind);
+        String name = known.names.get(id);
+        if (name != null) {
+            return name;
+        }
+        Session session = currentSession();
+        ReturningWork<String> select = connection -> select(kind, connection, id);
+        name = session == null ? withOwnConnection(kind, select) : session.doReturningWork(select);
+        if (name == null) {
+            throw new IllegalStateException("Unknown " + kind + " id " + id);
+        }
+        known.put(id, name);
+        return known.names.get(id);
+    }
+
+    public int size(ReferenceKind kind) {
+        return loaded(kind).ids.size();
+    }
+
+    private Names loaded(ReferenceKind kind) {
+        Names known = names.get(kind);
+        if (!known.loaded) {
+            synchronized (known) {
+                if (!known.loaded) {
+                    ReturningWork<Void> load = connection -> {
+                        load(kind, known, connection);
+                        return null;
+                    };
+                    Session session = currentSession();
+                    if (session == null) {
+                        withOwnConnection(kind, load);
+                    } else {
+                        session.doReturningWork(load);
+                    }
+                    known.loaded = true;
+                }
+            }
+        }
+        return known;
+    }
+
+    private static void load(ReferenceKind kind, Names known, Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, name FROM " + kind.getTable())) {
+            while (rows.next()) {
+                known.put(rows.getInt(1), rows.getString(2));
+            }
+        }
+    }
+
+    private int insert(ReferenceKind kind, String name) {
+        inserting.lock();
+        try {
+            if (insertConnection == null || insertConnection.isClosed()) {
+                insertConnection = openInsertConnection();
+            }
+            return upsert(kind, insertConnection, name);
+        } catch (SQLException e) {
+            closeInsertConnection();
+            throw new IllegalStateException("Could not insert into " + kind.getTable(), e);
+        } finally {
+            inserting.unlock();
+        }
+    }
+
+    // Mesma URL, usuário e propriedades do pool Hikari, mas sem passar por ele
+    private Connection openInsertConnection() throws SQLException {
+        HikariDataSource hikari = DelegatingDataSource.unwrapDataSource(dataSource).unwrap(HikariDataSource.class);
+        Properties properties = new Properties();
+        properties.putAll(hikari.getDataSourceProperties());
+        if (hikari.getUsername() != null) {
+            properties.setProperty("user", hikari.getUsername());
+        }
+        if (hikari.getPassword() != null) {
+            properties.setProperty("password", hikari.getPassword());
+        }
+        Connection connection = DriverManager.getConnection(hikari.getJdbcUrl(), properties);
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    @PreDestroy
+    void closeInsertConnection() {
+        inserting.lock();
+        try {
+            if (insertConnection != null) {
+                insertConnection.close();
+            }
+        } catch (SQLException ignored) {
+            // A conexão já estava quebrada; a próxima falta abre outra
+        } finally {
+            insertConnection = null;
+            inserting.unlock();
+        }
+    }
+
+    // Insere o nome se ainda não existir e devolve o id, sem depender de quem ganhou uma corrida entre instâncias.
+    // Em autocommit cada comando é uma transação: o SELECT já enxerga a linha gravada por outra instância
+    private static Integer upsert(ReferenceKind kind, Connection connection, String name) throws SQLException {
+        String table = kind.getTable();
+        String insert = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")
+                ? "INSERT INTO " + table + " (name) VALUES (?) ON DUPLICATE KEY UPDATE id = id"
+                : "MERGE INTO " + table + " (name) KEY (name) VALUES (?)";
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            statement.setString(1, name);
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id FROM " + table + " WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet rows = statement.executeQuery()) {
+                if (!rows.next()) {
+                    throw new SQLException("Name not found after insert into " + table);
+                }
+                return rows.getInt(1);
+            }
+        }
+    }
+
+    private static String select(ReferenceKind kind, Connection connection, Integer id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT name FROM " + kind.getTable() + " WHERE id = ?")) {
+            statement.setInt(1, id);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getString(1) : null;
+            }
+        }
+    }
+
+    private Session currentSession() {
+        try {
+            Session session = sessionFactory.get().getCurrentSession();
+            return session.isOpen() ? session : null;
+        } catch (HibernateException e) {
+            return null;
+        }
+    }
+
+    private <T> T withOwnConnection(ReferenceKind kind, ReturningWork<T> work) {
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection()) {
+            connection.setAutoCommit(true);
+            return work.execute(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read " + kind.getTable(), e);
+        }
+    }
+
+    private static final class Names {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, String> names = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+
+        // Publica o par com a instância do nome já conhecida, se houver
+        Integer put(int id, String name) {
+            String canonical = names.computeIfAbsent(id, key -> name);
+            ids.putIfAbsent(canonical, id);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Grava um nome de referência como o id da sua tabela e devolve, na leitura, a instância única do nome
+ * guardada no {@link ReferenceNameCache}.
+ *
+ * As subclasses são beans: o Hibernate obtém os conversores pelo contexto do Micronaut.
+ */
+public abstract class ReferenceNameConverter implements AttributeConverter<String, Integer> {
+
+    private final ReferenceNameCache cache;
+    private final ReferenceKind kind;
+
+    protected ReferenceNameConverter(ReferenceNameCache cache, ReferenceKind kind) {
+        this.cache = cache;
+        this.kind = kind;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return cache.idFor(kind, name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return cache.nameFor(kind, id);
+    }
+}
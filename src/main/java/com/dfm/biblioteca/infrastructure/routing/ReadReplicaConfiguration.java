@@ -0,0 +1,70 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.read-replica")
+public class ReadReplicaConfiguration {
+
+    private boolean enabled = false;
+    // Nome do datasource (datasources.<nome>) usado como réplica de leitura
+    private String datasource = "replica";
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration checkInterval = Duration.ofSeconds(5);
+    private Duration validationTimeout = Duration.ofSeconds(2);
+    // Consulta executada na réplica que devolve o atraso em segundos na primeira coluna; NULL indica
+    // replicação parada. Sem ela só a conexão é validada e o atraso é considerado zero
+    @Nullable
+    private String lagQuery;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDatasource() {
+        return datasource;
+    }
+
+    public void setDatasource(String datasource) {
+        this.datasource = datasource;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public Duration getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    public void setValidationTimeout(Duration validationTimeout) {
+        this.validationTimeout = validationTimeout;
+    }
+
+    @Nullable
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(@Nullable String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+}
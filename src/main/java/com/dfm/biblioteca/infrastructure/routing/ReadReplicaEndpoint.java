@@ -0,0 +1,51 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estado da réplica de leitura e contagem de leituras por destino em /read-replica. Um POST força uma
+ * verificação imediata.
+ */
+@Endpoint(id = "read-replica", defaultSensitive = true)
+public class ReadReplicaEndpoint {
+
+    private final ReadReplicaRouter router;
+
+    public ReadReplicaEndpoint(ReadReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", router.isEnabled());
+        result.put("available", router.isAvailable());
+        if (router.getLastLag() != null) {
+            result.put("lastLagMillis", router.getLastLag().toMillis());
+        }
+        if (router.getLastCheckedAt() != null) {
+            result.put("lastCheckedAt", router.getLastCheckedAt().toString());
+        }
+        if (router.getLastError() != null) {
+            result.put("lastError", router.getLastError());
+        }
+        result.put("replicaReads", router.getReplicaReads());
+        result.put("stickyReads", router.getStickyReads());
+        result.put("fallbackReads", router.getFallbackReads());
+        result.put("replicaFailures", router.getReplicaFailures());
+        return result;
+    }
+
+    @Write
+    public Map<String, Object> check() {
+        if (!router.isEnabled()) {
+            return Map.of("available", false);
+        }
+        return Map.of("available", router.check());
+    }
+}
@@ -0,0 +1,232 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Singleton;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decide para onde vai cada leitura e acompanha a saúde da réplica.
+ *
+ * A réplica só recebe leituras depois que uma verificação confirmou que ela responde e que o atraso está
+ * abaixo de max-lag; até lá, ou se uma verificação ou conexão falhar, as leituras voltam ao primário. As
+ * verificações rodam a cada check-interval e reabilitam a réplica assim que ela se recupera.
+ */
+@Singleton
+public class ReadReplicaRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    private final ReadReplicaConfiguration configuration;
+    // O datasource da réplica é resolvido só quando usado, para a inicialização não depender dele
+    private final BeanLocator beanLocator;
+    // Depende do SessionFactory, que por sua vez usa o RoutingDataSource; só é resolvido na inicialização
+    private final BeanProvider<TransactionOperations<Session>> transactionOperationsProvider;
+
+    private volatile TransactionOperations<Session> transactionOperations;
+    private volatile DataSource replica;
+    private volatile boolean available;
+    @Nullable
+    private volatile Duration lastLag;
+    @Nullable
+    private volatile Instant lastCheckedAt;
+    @Nullable
+    private volatile String lastError;
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+    private final LongAdder replicaFailures = new LongAdder();
+
+    public ReadReplicaRouter(ReadReplicaConfiguration configuration,
+                             BeanLocator beanLocator,
+                             BeanProvider<TransactionOperations<Session>> transactionOperationsProvider) {
+        this.configuration = configuration;
+        this.beanLocator = beanLocator;
+        this.transactionOperationsProvider = transactionOperationsProvider;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (configuration.isEnabled()) {
+            transactionOperations = transactionOperationsProvider.get();
+        }
+    }
+
+    /**
+     * Se a transação corrente é somente leitura: consultas dos repositórios e métodos
+     * @Transactional(readOnly = true). Uma leitura que participa de uma transação de escrita enxerga a
+     * definição da transação externa e não é considerada somente leitura.
+     */
+    boolean isReadOnlyWork() {
+        TransactionOperations<Session> operations = transactionOperations;
+        return operations != null && operations.findTransactionStatus()
+                .flatMap(status -> status.getTransactionDefinition().isReadOnly())
+                .orElse(false);
+    }
+
+    /**
+     * Executa o trabalho com as leituras no primário, mesmo em transações somente leitura. Para quem guarda o
+     * resultado por mais tempo do que o atraso tolerado da réplica, como os caches.
+     */
+    public static <T> T forcePrimary(Supplier<T> work) {
+        try (PropagatedContext.Scope ignored = ReadYourWrites.primary()) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Conexão para uma leitura: da réplica quando ela está disponível e a requisição ainda não escreveu,
+     * do primário nos demais casos.
+     */
+    Connection readConnection(DataSource primary) throws SQLException {
+        if (ReadYourWrites.isSticky()) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        if (available) {
+            try {
+                Connection connection = replica().getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                markUnavailable(e);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Scheduled(fixedDelay = "${users.read-replica.check-interval:5s}")
+    void scheduledCheck() {
+        if (configuration.isEnabled()) {
+            check();
+        }
+    }
+
+    /**
+     * Valida a conexão com a réplica e mede o atraso, atualizando a disponibilidade.
+     */
+    public boolean check() {
+        try (Connection connection = replica().getConnection()) {
+            if (!connection.isValid((int) Math.max(1, configuration.getValidationTimeout().toSeconds()))) {
+                markUnavailable(new SQLException("Replica connection is not valid"));
+                return false;
+            }
+            Duration lag = measureLag(connection);
+            lastLag = lag;
+            lastCheckedAt = Instant.now();
+            if (lag == null) {
+                markUnavailable(new SQLException("Replica reports replication stopped"));
+                return false;
+            }
+            if (lag.compareTo(configuration.getMaxLag()) > 0) {
+                markUnavailable(new SQLException("Replica lag " + lag + " exceeds " + configuration.getMaxLag()));
+                return false;
+            }
+            if (!available) {
+                LOG.info("Read replica available again, lag {}", lag);
+            }
+            lastError = null;
+            available = true;
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            lastCheckedAt = Instant.now();
+            markUnavailable(e);
+            return false;
+        }
+    }
+
+    @Nullable
+    private Duration measureLag(Connection connection) throws SQLException {
+        String query = configuration.getLagQuery();
+        if (query == null || query.isBlank()) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            double seconds = resultSet.getDouble(1);
+            return resultSet.wasNull() ? null : Duration.ofMillis(Math.round(seconds * 1000));
+        }
+    }
+
+    private void markUnavailable(Exception cause) {
+        if (available) {
+            replicaFailures.increment();
+            LOG.warn("Read replica unavailable, routing reads to primary: {}", cause.getMessage());
+        }
+        available = false;
+        lastError = cause.getMessage();
+    }
+
+    private DataSource replica() {
+        DataSource current = replica;
+        if (current == null) {
+            current = DelegatingDataSource.unwrapDataSource(
+                    beanLocator.getBean(DataSource.class, Qualifiers.byName(configuration.getDatasource())));
+            replica = current;
+        }
+        return current;
+    }
+
+    public boolean isEnabled() {
+        return configuration.isEnabled();
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Nullable
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    @Nullable
+    public Instant getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    @Nullable
+    public String getLastError() {
+        return lastError;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getStickyReads() {
+        return stickyReads.sum();
+    }
+
+    public long getFallbackReads() {
+        return fallbackReads.sum();
+    }
+
+    public long getReplicaFailures() {
+        return replicaFailures.sum();
+    }
+}
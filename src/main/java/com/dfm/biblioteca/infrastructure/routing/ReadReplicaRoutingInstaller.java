@@ -0,0 +1,42 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+
+/**
+ * Troca o datasource default por um RoutingDataSource quando users.read-replica está habilitado.
+ */
+@Singleton
+public class ReadReplicaRoutingInstaller implements BeanCreatedEventListener<DataSource>, Ordered {
+
+    private static final String PRIMARY = "default";
+
+    private final ReadReplicaConfiguration configuration;
+    private final BeanProvider<ReadReplicaRouter> router;
+
+    public ReadReplicaRoutingInstaller(ReadReplicaConfiguration configuration, BeanProvider<ReadReplicaRouter> router) {
+        this.configuration = configuration;
+        this.router = router;
+    }
+
+    // Depois das permissões de conexão, da medição dos pools e do rastreamento de SQL e antes do proxy
+    // contextual do Micronaut Data, que passa a envolver o RoutingDataSource
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        DataSource dataSource = event.getBean();
+        if (!configuration.isEnabled() || !PRIMARY.equals(event.getBeanIdentifier().getName())) {
+            return dataSource;
+        }
+        return new RoutingDataSource(dataSource, router.get());
+    }
+}
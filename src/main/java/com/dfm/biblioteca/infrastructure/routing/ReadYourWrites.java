@@ -0,0 +1,39 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.propagation.PropagatedContextElement;
+
+/**
+ * Marca de escrita de uma requisição. Depois que a requisição abre uma conexão de escrita, as leituras
+ * seguintes dela vão para o primário, e não para uma réplica que talvez ainda não tenha a alteração.
+ *
+ * Viaja no PropagatedContext, então acompanha a requisição quando ela muda de thread (@ExecuteOn).
+ */
+public final class ReadYourWrites implements PropagatedContextElement {
+
+    private volatile boolean wrote;
+
+    /**
+     * Abre um escopo novo sobre o contexto atual; fechar o escopo devolve o contexto anterior.
+     */
+    public static PropagatedContext.Scope open() {
+        return PropagatedContext.getOrEmpty().plus(new ReadYourWrites()).propagate();
+    }
+
+    /**
+     * Escopo em que todas as leituras vão ao primário, como se a requisição já tivesse escrito.
+     */
+    static PropagatedContext.Scope primary() {
+        ReadYourWrites scope = new ReadYourWrites();
+        scope.wrote = true;
+        return PropagatedContext.getOrEmpty().plus(scope).propagate();
+    }
+
+    static void markWrite() {
+        PropagatedContext.getOrEmpty().find(ReadYourWrites.class).ifPresent(scope -> scope.wrote = true);
+    }
+
+    static boolean isSticky() {
+        return PropagatedContext.getOrEmpty().find(ReadYourWrites.class).map(scope -> scope.wrote).orElse(false);
+    }
+}
@@ -0,0 +1,32 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+
+/**
+ * Abre um escopo de ReadYourWrites por requisição HTTP.
+ */
+@Filter(Filter.MATCH_ALL_PATTERN)
+public class ReadYourWritesFilter implements HttpServerFilter {
+
+    private final ReadReplicaConfiguration configuration;
+
+    public ReadYourWritesFilter(ReadReplicaConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!configuration.isEnabled()) {
+            return chain.proceed(request);
+        }
+        try (PropagatedContext.Scope ignored = ReadYourWrites.open()) {
+            return chain.proceed(request);
+        }
+    }
+}
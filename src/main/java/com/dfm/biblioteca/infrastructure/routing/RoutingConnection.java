@@ -0,0 +1,118 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Conexão que adia a escolha do destino. Ajustes de transação feitos antes do primeiro comando
+ * (autocommit, somente leitura, isolamento) ficam guardados e são aplicados na conexão real quando ela
+ * é obtida; commit e rollback sem conexão real não têm o que fazer.
+ */
+final class RoutingConnection implements InvocationHandler {
+
+    private final RoutingDataSource dataSource;
+
+    private Connection target;
+    private boolean readOnly;
+    private boolean autoCommit = true;
+    private Integer isolation;
+    private boolean closed;
+
+    RoutingConnection(RoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "RoutingConnection[" + (target != null ? target : "unresolved") + "]";
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (target == null) {
+            switch (method.getName()) {
+                case "isClosed":
+                    return closed;
+                case "close":
+                    closed = true;
+                    return null;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            switch (method.getName()) {
+                case "setReadOnly":
+                    readOnly = (Boolean) args[0];
+                    return null;
+                case "isReadOnly":
+                    return readOnly;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setTransactionIsolation":
+                    isolation = (Integer) args[0];
+                    return null;
+                case "commit":
+                case "rollback":
+                case "clearWarnings":
+                    if (args == null || args.length == 0) {
+                        return null;
+                    }
+                    break;
+                case "getWarnings":
+                    return null;
+                default:
+                    break;
+            }
+            target = resolve();
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Connection resolve() throws SQLException {
+        Connection connection = dataSource.resolve(readOnly);
+        try {
+            if (readOnly) {
+                connection.setReadOnly(true);
+            }
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+            if (isolation != null) {
+                connection.setTransactionIsolation(isolation);
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
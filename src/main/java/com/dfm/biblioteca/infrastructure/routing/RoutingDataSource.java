@@ -0,0 +1,91 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * DataSource principal com desvio de leituras para a réplica.
+ *
+ * As conexões entregues são preguiçosas (RoutingConnection): o destino só é escolhido no primeiro comando,
+ * quando a transação corrente já está aberta. Se ela é somente leitura (ou a conexão foi marcada com
+ * setReadOnly) o comando vai para a réplica; assim tanto as consultas dos repositórios quanto métodos
+ * @Transactional(readOnly = true) são desviados sem anotações extras, e qualquer leitura dentro de uma
+ * transação de escrita continua no primário.
+ */
+final class RoutingDataSource implements DataSource {
+
+    private final DataSource primary;
+    private final ReadReplicaRouter router;
+
+    RoutingDataSource(DataSource primary, ReadReplicaRouter router) {
+        this.primary = primary;
+        this.router = router;
+    }
+
+    Connection resolve(boolean readOnly) throws SQLException {
+        if (readOnly || router.isReadOnlyWork()) {
+            return router.readConnection(primary);
+        }
+        ReadYourWrites.markWrite();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection() {
+        return (Connection) Proxy.newProxyInstance(RoutingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new RoutingConnection(this));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingDataSource[" + primary + "]";
+    }
+}
@@ -0,0 +1,58 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.sql-trace")
+public class SqlTraceConfiguration {
+
+    // Valores iniciais; enabled e sample-rate podem ser trocados em execução pelo endpoint /sql-trace
+    private boolean enabled = false;
+    // Fração das requisições amostradas; o cabeçalho força a amostragem de uma requisição
+    private double sampleRate = 0.01;
+    private String header = "X-Sql-Trace";
+    // Arredondado para potência de 2; quando o flush não acompanha, os comandos mais antigos são descartados
+    private int bufferSize = 8192;
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
@@ -0,0 +1,16 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import io.micronaut.core.propagation.PropagatedContextElement;
+
+/**
+ * Decisão de amostragem de uma requisição, levada no PropagatedContext até os comandos SQL que ela executa.
+ * Requisições não amostradas carregam NOT_SAMPLED, para não caírem na amostragem por comando dos jobs.
+ */
+record SqlTraceContext(String id, String route) implements PropagatedContextElement {
+
+    static final SqlTraceContext NOT_SAMPLED = new SqlTraceContext(null, null);
+
+    boolean isSampled() {
+        return id != null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estado do rastreamento de SQL em /sql-trace; o POST liga/desliga e troca a taxa de amostragem sem restart.
+ */
+@Endpoint(id = "sql-trace", defaultSensitive = true)
+public class SqlTraceEndpoint {
+
+    private final SqlTracer tracer;
+
+    public SqlTraceEndpoint(SqlTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", tracer.isEnabled());
+        result.put("sampleRate", tracer.getSampleRate());
+        result.put("bufferSize", tracer.getBufferSize());
+        result.put("published", tracer.getPublished());
+        result.put("flushed", tracer.getFlushed());
+        result.put("dropped", tracer.getDropped());
+        return result;
+    }
+
+    @Write
+    public Map<String, Object> update(@Nullable Boolean enabled, @Nullable Double sampleRate) {
+        if (sampleRate != null) {
+            tracer.setSampleRate(sampleRate);
+        }
+        if (enabled != null) {
+            tracer.setEnabled(enabled);
+        }
+        return stats();
+    }
+}
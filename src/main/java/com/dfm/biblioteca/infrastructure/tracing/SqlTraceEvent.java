@@ -0,0 +1,20 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import java.util.List;
+
+/**
+ * Um comando executado e amostrado. Os parâmetros ficam crus aqui; a máscara de CPF e a formatação são feitas
+ * no flush, fora da thread da requisição.
+ */
+record SqlTraceEvent(long sequence,
+                     long timestamp,
+                     String trace,
+                     String route,
+                     String dataSource,
+                     String sql,
+                     List<Object> parameters,
+                     int batchSize,
+                     long rows,
+                     long durationNanos,
+                     String failure) {
+}
@@ -0,0 +1,32 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+
+/**
+ * Decide na entrada se a requisição tem o SQL rastreado e leva a decisão no PropagatedContext.
+ */
+@Filter(Filter.MATCH_ALL_PATTERN)
+public class SqlTraceFilter implements HttpServerFilter {
+
+    private final SqlTracer tracer;
+
+    public SqlTraceFilter(SqlTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!tracer.isEnabled()) {
+            return chain.proceed(request);
+        }
+        try (PropagatedContext.Scope ignored = PropagatedContext.getOrEmpty().plus(tracer.sample(request)).propagate()) {
+            return chain.proceed(request);
+        }
+    }
+}
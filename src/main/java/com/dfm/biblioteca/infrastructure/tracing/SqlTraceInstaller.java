@@ -0,0 +1,35 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve cada datasource num TracingDataSource. Fica sempre instalado para que o rastreamento possa ser ligado
+ * em execução; desligado, custa um proxy de Connection que só olha um volatile ao preparar comandos.
+ */
+@Singleton
+public class SqlTraceInstaller implements BeanCreatedEventListener<DataSource>, Ordered {
+
+    private final SqlTracer tracer;
+
+    public SqlTraceInstaller(SqlTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    // Depois das permissões de conexão, que precisam ver o HikariDataSource, e da medição dos pools, e antes do
+    // roteamento de réplica, para cada pool ser rastreado com o próprio nome e os comandos roteados não serem
+    // contados duas vezes
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        return new TracingDataSource(event.getBeanIdentifier().getName(), event.getBean(), tracer);
+    }
+}
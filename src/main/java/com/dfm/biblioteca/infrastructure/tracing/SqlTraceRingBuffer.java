@@ -0,0 +1,96 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Buffer circular sem lock: vários produtores (threads de requisição) e um único consumidor (o flush).
+ *
+ * O produtor reserva um sequencial com getAndIncrement e grava o evento na posição sequencial &amp; mask; nunca
+ * espera pelo consumidor. Se o flush ficar uma volta inteira para trás, a posição é sobrescrita pelo evento
+ * mais novo e o antigo é contado como descartado. Um produtor que atrasou uma volta inteira não grava por
+ * cima do evento mais novo: a posição só é trocada por um sequencial maior que o gravado nela. O consumidor
+ * reconhece o evento esperado pelo sequencial gravado nele: um sequencial menor (ou posição vazia) é um
+ * produtor que reservou e ainda não gravou, e o drain para ali até o próximo flush, a não ser que os
+ * produtores já estejam uma volta à frente; nesse caso o evento é dado como descartado.
+ */
+final class SqlTraceRingBuffer {
+
+    private final AtomicReferenceArray<SqlTraceEvent> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    // Só o consumidor lê e escreve
+    private long drained;
+
+    SqlTraceRingBuffer(int requestedSize) {
+        int size = Integer.highestOneBit(Math.max(1, requestedSize - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    long claim() {
+        return next.getAndIncrement();
+    }
+
+    void publish(SqlTraceEvent event) {
+        int slot = (int) (event.sequence() & mask);
+        SqlTraceEvent current;
+        do {
+            current = slots.get(slot);
+            if (current != null && current.sequence() >= event.sequence()) {
+                // Já sobrescrito por um produtor de uma volta à frente; o consumidor conta este como descartado
+                return;
+            }
+        } while (!slots.compareAndSet(slot, current, event));
+    }
+
+    /**
+     * Entrega ao consumidor, em ordem, os eventos publicados desde o último drain; devolve quantos entregou.
+     * Chamado por uma thread só.
+     */
+    int drain(Consumer<SqlTraceEvent> consumer) {
+        long limit = next.get();
+        long oldest = limit - slots.length();
+        if (drained < oldest) {
+            dropped.add(oldest - drained);
+            drained = oldest;
+        }
+        int count = 0;
+        while (drained < limit) {
+            SqlTraceEvent event = slots.get((int) (drained & mask));
+            if (event == null || event.sequence() < drained) {
+                if (drained >= next.get() - slots.length()) {
+                    break;
+                }
+                // O produtor ficou uma volta para trás e nunca vai conseguir gravar
+                dropped.increment();
+                drained++;
+                continue;
+            }
+            if (event.sequence() == drained) {
+                consumer.accept(event);
+                count++;
+            } else {
+                // Sobrescrito por um produtor de uma volta à frente
+                dropped.increment();
+            }
+            drained++;
+        }
+        return count;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    long published() {
+        return next.get();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,184 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Rastreamento amostrado de SQL, substituto de org.hibernate.SQL/BasicBinder em DEBUG/TRACE.
+ *
+ * A thread da requisição só decide a amostragem (SqlTraceFilter) e, nos comandos amostrados, publica um
+ * SqlTraceEvent no buffer circular; o log acontece no flush agendado, que também mascara os CPFs. enabled e
+ * sample-rate valem na hora, sem restart (endpoint /sql-trace). Fora de requisições HTTP (jobs, StartupEvent)
+ * cada comando é amostrado pela mesma taxa.
+ */
+@Singleton
+public class SqlTracer {
+
+    private static final Logger TRACE_LOG = LoggerFactory.getLogger("com.dfm.biblioteca.sql-trace");
+    private static final Logger LOG = LoggerFactory.getLogger(SqlTracer.class);
+
+    private static final SqlTraceContext BACKGROUND = new SqlTraceContext("background", null);
+    // CPF sem pontuação: 11 dígitos que não fazem parte de um número maior
+    private static final Pattern CPF = Pattern.compile("(?<!\\d)\\d{9}(\\d{2})(?!\\d)");
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final SqlTraceConfiguration configuration;
+    private final SqlTraceRingBuffer buffer;
+    private final AtomicLong traceIds = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+
+    public SqlTracer(SqlTraceConfiguration configuration) {
+        this.configuration = configuration;
+        this.buffer = new SqlTraceRingBuffer(configuration.getBufferSize());
+        this.enabled = configuration.isEnabled();
+        setSampleRate(configuration.getSampleRate());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        LOG.info("SQL tracing {}", enabled ? "enabled" : "disabled");
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("SQL trace sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Decide a amostragem da requisição: o cabeçalho força (o valor vira o id do trace, salvo "true"/"1"), senão
+     * vale a taxa. "false"/"0" no cabeçalho exclui a requisição.
+     */
+    SqlTraceContext sample(HttpRequest<?> request) {
+        String header = request.getHeaders().get(configuration.getHeader());
+        boolean sampled;
+        if (header != null) {
+            sampled = !header.equalsIgnoreCase("false") && !header.equals("0");
+        } else {
+            sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+        if (!sampled) {
+            return SqlTraceContext.NOT_SAMPLED;
+        }
+        String id = header == null || header.equalsIgnoreCase("true") || header.equals("1")
+                ? Long.toHexString(traceIds.incrementAndGet())
+                : header;
+        return new SqlTraceContext(id, request.getMethodName() + " " + request.getPath());
+    }
+
+    /**
+     * Contexto do comando que está para ser preparado, ou null se ele não deve ser rastreado.
+     */
+    @Nullable
+    SqlTraceContext current() {
+        if (!enabled) {
+            return null;
+        }
+        SqlTraceContext context = PropagatedContext.getOrEmpty().find(SqlTraceContext.class).orElse(null);
+        if (context != null) {
+            return context.isSampled() ? context : null;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate ? BACKGROUND : null;
+    }
+
+    void record(SqlTraceContext context, String dataSource, String sql, List<Object> parameters, int batchSize,
+                long rows, long durationNanos, @Nullable Throwable failure) {
+        long sequence = buffer.claim();
+        buffer.publish(new SqlTraceEvent(sequence, System.currentTimeMillis(), context.id(), context.route(),
+                dataSource, sql, parameters, batchSize, rows, durationNanos,
+                failure == null ? null : failure.getClass().getSimpleName()));
+    }
+
+    @Scheduled(fixedDelay = "${users.sql-trace.flush-interval:1s}")
+    void scheduledFlush() {
+        flush(this::log);
+    }
+
+    synchronized int flush(Consumer<SqlTraceEvent> consumer) {
+        int count = buffer.drain(consumer);
+        flushed.addAndGet(count);
+        return count;
+    }
+
+    private void log(SqlTraceEvent event) {
+        TRACE_LOG.atInfo()
+                .addKeyValue("trace", event.trace())
+                .addKeyValue("route", event.route() == null ? null : mask(event.route()))
+                .addKeyValue("datasource", event.dataSource())
+                .addKeyValue("durationMicros", event.durationNanos() / 1_000)
+                .addKeyValue("rows", event.rows())
+                .addKeyValue("batch", event.batchSize())
+                .addKeyValue("failure", event.failure())
+                .log("{} {}", mask(event.sql()), parameters(event));
+    }
+
+    static String parameters(SqlTraceEvent event) {
+        List<String> values = new ArrayList<>(event.parameters().size());
+        for (Object value : event.parameters()) {
+            values.add(format(value));
+        }
+        return values.toString();
+    }
+
+    private static String format(@Nullable Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof InputStream || value instanceof Reader) {
+            return "<stream>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_PARAMETER_LENGTH) {
+            text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + mask(text) + "'" : text;
+    }
+
+    static String mask(String text) {
+        return CPF.matcher(text).replaceAll("*********$1");
+    }
+
+    long getPublished() {
+        return buffer.published();
+    }
+
+    long getFlushed() {
+        return flushed.get();
+    }
+
+    long getDropped() {
+        return buffer.dropped();
+    }
+
+    int getBufferSize() {
+        return buffer.capacity();
+    }
+}
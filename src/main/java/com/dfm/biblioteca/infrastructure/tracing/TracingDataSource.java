@@ -0,0 +1,199 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * DataSource que rastreia os comandos amostrados pelo SqlTracer.
+ *
+ * A decisão é tomada ao preparar o comando: sem amostragem a Connection devolve o Statement do driver, sem
+ * proxy. Amostrado, o Statement guarda os parâmetros dos setXxx(índice, valor) e mede o tempo de cada execute
+ * (a leitura do ResultSet fica de fora); um lote vira um único evento com o tamanho do lote e os parâmetros da
+ * última linha.
+ */
+final class TracingDataSource implements DataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final String name;
+    private final DataSource target;
+    private final SqlTracer tracer;
+
+    TracingDataSource(String name, DataSource target, SqlTracer tracer) {
+        this.name = name;
+        this.target = target;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(target.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(target.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                SqlTraceContext context = tracer.current();
+                if (context != null) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    return trace(statement, context, sql);
+                }
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private Statement trace(Statement statement, SqlTraceContext context, String preparedSql) {
+        List<Object> parameters = new ArrayList<>();
+        int[] batchSize = {0};
+        InvocationHandler handler = (proxy, method, args) -> {
+            String methodName = method.getName();
+            if (methodName.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (methodName.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (methodName.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && method.getDeclaringClass() != Statement.class) {
+                while (parameters.size() < index) {
+                    parameters.add(null);
+                }
+                parameters.set(index - 1, methodName.equals("setNull") ? null : args[1]);
+            } else if (methodName.equals("clearParameters")) {
+                parameters.clear();
+            } else if (methodName.equals("addBatch")) {
+                batchSize[0]++;
+            } else if (methodName.equals("clearBatch")) {
+                batchSize[0] = 0;
+            } else if (EXECUTE_METHODS.contains(methodName)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                Object result = null;
+                Throwable failure = null;
+                try {
+                    result = invoke(statement, method, args);
+                    return result;
+                } catch (Throwable e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    tracer.record(context, name, sql, snapshot(parameters), batchSize[0], rows(result),
+                            System.nanoTime() - start, failure);
+                    if (methodName.startsWith("executeBatch") || methodName.startsWith("executeLargeBatch")) {
+                        batchSize[0] = 0;
+                    }
+                }
+            }
+            return invoke(statement, method, args);
+        };
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static List<Object> snapshot(List<Object> parameters) {
+        return parameters.isEmpty() ? List.of() : Collections.unmodifiableList(Arrays.asList(parameters.toArray()));
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        return -1;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+    @Override
+    public String toString() {
+        return "TracingDataSource[" + target + "]";
+    }
+}
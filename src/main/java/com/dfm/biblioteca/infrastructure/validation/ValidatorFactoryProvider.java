@@ -0,0 +1,32 @@
+package com.dfm.biblioteca.infrastructure.validation;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+
+/**
+ * Expõe o Validator do Hibernate Validator como bean.
+ *
+ * Usa o ParameterMessageInterpolator porque não há implementação de Expression Language no classpath.
+ */
+@Factory
+public class ValidatorFactoryProvider {
+
+    @Singleton
+    @Bean(preDestroy = "close")
+    public ValidatorFactory validatorFactory() {
+        return Validation.byDefaultProvider()
+                .configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory();
+    }
+
+    @Singleton
+    public Validator validator(ValidatorFactory validatorFactory) {
+        return validatorFactory.getValidator();
+    }
+}
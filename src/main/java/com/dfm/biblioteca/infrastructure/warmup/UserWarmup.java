@@ -0,0 +1,109 @@
+package com.dfm.biblioteca.infrastructure.warmup;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.presentation.controller.UserController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.runtime.server.EmbeddedServer;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roteiro de aquecimento da execução de treino do warm start (ver WarmStart), rodado contra um H2 vazio.
+ *
+ * Popula usuários pelo import e repete as consultas do UserController serializando as respostas com o
+ * ObjectMapper da aplicação, para que o metamodelo do Hibernate, as introspecções de User e UserRepository,
+ * os serializers do Jackson e o JIT desses caminhos entrem no arquivo AppCDS / checkpoint CRaC. As rotas
+ * chamadas pelo HTTP respondem 401 sem token, mas passam pelo mesmo pipeline do Netty, roteamento e filtro
+ * de segurança das requisições reais.
+ */
+@Singleton
+@Requires(bean = DataSource.class)
+public class UserWarmup {
+
+    private static final String[] FIRST_NAMES = {"Ana", "João", "Márcia", "José", "Luíza", "Otávio"};
+    private static final String[] LAST_NAMES = {"Silva", "Araújo", "Gonçalves", "Pereira"};
+
+    private final UserController userController;
+    private final ObjectMapper objectMapper;
+    private final BeanProvider<EmbeddedServer> embeddedServer;
+    private final WarmupConfiguration configuration;
+
+    public UserWarmup(UserController userController,
+                      ObjectMapper objectMapper,
+                      BeanProvider<EmbeddedServer> embeddedServer,
+                      WarmupConfiguration configuration) {
+        this.userController = userController;
+        this.objectMapper = objectMapper;
+        this.embeddedServer = embeddedServer;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Executa o roteiro completo e devolve o número de operações feitas.
+     */
+    public int run() throws IOException, InterruptedException {
+        List<String> cpfs = seed();
+        int operations = cpfs.size();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int i = 0; i < configuration.getIterations(); i++) {
+                String cpf = cpfs.get(i % cpfs.size());
+                byte[] json = objectMapper.writeValueAsBytes(userController.findByCpf(cpf, null).getBody().orElseThrow());
+                objectMapper.readValue(json, User.class);
+                objectMapper.writeValueAsBytes(userController.findStatusByCpf(cpf, null).getBody().orElseThrow());
+                operations += 2;
+                if (i % 10 == 0) {
+                    objectMapper.writeValueAsBytes(userController.list(User.UserStatus.REGULAR, 50, null));
+                    objectMapper.writeValueAsBytes(userController.search(FIRST_NAMES[i % FIRST_NAMES.length], 20, null));
+                    objectMapper.writeValueAsBytes(userController.countByStatus(User.UserStatus.BLOCKED));
+                    operations += 3;
+                }
+                if (i % 50 == 0 && embeddedServer.isPresent()) {
+                    URI base = embeddedServer.get().getURI();
+                    for (String path : List.of("/health", "/users/cpf/" + cpf, "/users/count?status=REGULAR")) {
+                        client.send(HttpRequest.newBuilder(base.resolve(path)).build(), HttpResponse.BodyHandlers.discarding());
+                    }
+                    operations += 3;
+                }
+            }
+        }
+        return operations;
+    }
+
+    private List<String> seed() {
+        List<User> users = new ArrayList<>(configuration.getUsers());
+        List<String> cpfs = new ArrayList<>(configuration.getUsers());
+        for (int i = 0; i < configuration.getUsers(); i++) {
+            // Faixa 99xxxxxxxxx reservada ao treino; o H2 é descartado no fim
+            String cpf = "99" + String.format("%09d", i);
+            User user = new User();
+            user.setFirstName(FIRST_NAMES[i % FIRST_NAMES.length]);
+            user.setLastName(LAST_NAMES[i % LAST_NAMES.length]);
+            user.setBirthDate(LocalDate.of(1960 + i % 40, 1 + i % 12, 1 + i % 28));
+            user.setCpf(cpf);
+            user.setNationality("Brasileira");
+            user.setStreet("Rua das Flores");
+            user.setNumber(Integer.toString(i));
+            user.setNeighborhood("Centro");
+            user.setZipCode("30130100");
+            user.setCity("Belo Horizonte");
+            user.setState("MG");
+            user.setCountry("Brasil");
+            user.setStatus(i % 50 == 0 ? User.UserStatus.BLOCKED : User.UserStatus.REGULAR);
+            users.add(user);
+            cpfs.add(cpf);
+        }
+        userController.importUsers(users);
+        return cpfs;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dfm.biblioteca.infrastructure.warmup;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.Micronaut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Execução de treino do warm start, ligada pela propriedade de sistema users.warm-start.training (profile
+ * warm-start do pom).
+ *
+ * O treino sobe um contexto próprio contra H2 em memória, roda o UserWarmup e fecha o contexto inteiro. Em
+ * "cds" o processo termina em seguida e a JVM grava o arquivo AppCDS (-XX:ArchiveClassesAtExit). Em "crac"
+ * é tirado o checkpoint (-XX:CRaCCheckpointTo, só em JDKs com CRaC); no restore a execução continua daqui e o
+ * BibliotecaApplication sobe o contexto de verdade. Como o contexto do treino já foi fechado, o checkpoint
+ * não leva sockets nem conexões abertas, e a configuração (datasource, porta, segurança) é lida de novo no
+ * restore, a partir das variáveis de ambiente do processo restaurado. O que sobrevive é o que custa caro:
+ * classes carregadas, código compilado pelo JIT e caches estáticos.
+ */
+public final class WarmStart {
+
+    public static final String TRAINING_PROPERTY = "users.warm-start.training";
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmStart.class);
+
+    // Passadas ao contexto do treino e não como propriedades de sistema, que iriam junto para o checkpoint
+    private static final Map<String, Object> TRAINING_PROPERTIES = Map.of(
+            "micronaut.server.port", -1,
+            "datasources.default.url", "jdbc:h2:mem:warm-start",
+            "datasources.default.driver-class-name", "org.h2.Driver",
+            "datasources.default.username", "sa",
+            "datasources.default.password", "",
+            "datasources.default.dialect", "H2",
+            "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop");
+
+    private WarmStart() {
+    }
+
+    /**
+     * Roda o treino se ele foi pedido. Devolve true quando o processo deve terminar (treino AppCDS); depois
+     * de um restore CRaC, ou sem treino, devolve false e o startup normal segue.
+     */
+    public static boolean trainIfRequested(Class<?> mainClass, String... args) {
+        String mode = System.getProperty(TRAINING_PROPERTY);
+        if (mode == null) {
+            return false;
+        }
+        if (!mode.equals("cds") && !mode.equals("crac")) {
+            throw new IllegalArgumentException("Unknown warm-start training mode: " + mode + " (expected cds or crac)");
+        }
+
+        long start = System.nanoTime();
+        try (ApplicationContext context = Micronaut.build(args).mainClass(mainClass).properties(TRAINING_PROPERTIES).start()) {
+            int operations = context.getBean(UserWarmup.class).run();
+            LOG.info("Warm-start training ran {} operations in {} ms", operations, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-start training failed", e);
+        }
+
+        if (mode.equals("cds")) {
+            return true;
+        }
+        checkpointRestore();
+        LOG.info("Restored from CRaC checkpoint");
+        return false;
+    }
+
+    private static void checkpointRestore() {
+        // org.crac é a API portável (dependência opcional); jdk.crac vem nos JDKs com CRaC
+        for (String name : List.of("org.crac.Core", "jdk.crac.Core")) {
+            Class<?> core;
+            try {
+                core = Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+            try {
+                core.getMethod("checkpointRestore").invoke(null);
+                return;
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("CRaC checkpoint/restore failed", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("CRaC API not accessible: " + name, e);
+            }
+        }
+        throw new IllegalStateException("Warm-start training mode crac requires a JDK with CRaC (-XX:CRaCCheckpointTo)");
+    }
+}
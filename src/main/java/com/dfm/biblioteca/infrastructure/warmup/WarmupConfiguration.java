@@ -0,0 +1,27 @@
+package com.dfm.biblioteca.infrastructure.warmup;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("users.warmup")
+public class WarmupConfiguration {
+
+    // Usuários populados no H2 do treino e voltas pelo roteiro de consultas (ver UserWarmup)
+    private int users = 500;
+    private int iterations = 5000;
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+}
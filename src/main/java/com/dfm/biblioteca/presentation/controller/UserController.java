@@ -0,0 +1,221 @@
+package com.dfm.biblioteca.presentation.controller;
+
+import com.dfm.biblioteca.domain.bulkdelete.UserBulkDeleteProgress;
+import com.dfm.biblioteca.domain.bulkdelete.UserBulkDeleteService;
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.export.UserExportFilter;
+import com.dfm.biblioteca.domain.importer.UserImportReport;
+import com.dfm.biblioteca.domain.lookup.CpfLookupLimitException;
+import com.dfm.biblioteca.domain.lookup.CpfLookupResult;
+import com.dfm.biblioteca.domain.lookup.UserCpfLookupService;
+import com.dfm.biblioteca.domain.pagination.CursorPage;
+import com.dfm.biblioteca.domain.pagination.InvalidCursorException;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import com.dfm.biblioteca.domain.search.UserNameSearchService;
+import com.dfm.biblioteca.domain.service.UserExportService;
+import com.dfm.biblioteca.domain.service.UserImportService;
+import com.dfm.biblioteca.domain.service.UserService;
+import com.dfm.biblioteca.infrastructure.execution.UserExecutorFactory;
+import com.dfm.biblioteca.presentation.etag.UserETag;
+import com.dfm.biblioteca.presentation.export.NdjsonInputStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.server.types.files.StreamedFile;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.rules.SecurityRule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Controller("/users")
+@Secured(SecurityRule.IS_AUTHENTICATED)
+@ExecuteOn(UserExecutorFactory.EXECUTOR)
+public class UserController {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserBulkDeleteService userBulkDeleteService;
+    private final UserNameSearchService userNameSearchService;
+    private final UserCpfLookupService userCpfLookupService;
+    private final ObjectWriter ndjsonWriter;
+
+    public UserController(UserService userService,
+                          UserExportService userExportService,
+                          UserImportService userImportService,
+                          UserBulkDeleteService userBulkDeleteService,
+                          UserNameSearchService userNameSearchService,
+                          UserCpfLookupService userCpfLookupService,
+                          ObjectMapper objectMapper) {
+        this.userService = userService;
+        this.userExportService = userExportService;
+        this.userImportService = userImportService;
+        this.userBulkDeleteService = userBulkDeleteService;
+        this.userNameSearchService = userNameSearchService;
+        this.userCpfLookupService = userCpfLookupService;
+        // NDJSON exige um objeto por linha, independente do indent-output global
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    //Lista usuários por status com paginação por cursor
+    @Get
+    public CursorPage<UserSummary> list(@QueryValue(defaultValue = "REGULAR") User.UserStatus status,
+                                        @QueryValue(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+                                        @Nullable @QueryValue String cursor) {
+        return userService.findByStatus(status, size, cursor);
+    }
+
+    //Busca usuários pelo início do primeiro nome ou do sobrenome, sem diferenciar acentos e maiúsculas
+    @Get("/search")
+    public CursorPage<UserSummary> search(@QueryValue String name,
+                                          @QueryValue(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+                                          @Nullable @QueryValue String cursor) {
+        return userNameSearchService.search(name, size, cursor);
+    }
+
+    //Busca usuário pelo CPF; com If-None-Match confere antes só a versão e responde 304 sem carregar a entidade.
+    //Quando a versão não confere, o corpo tem de ser dessa versão (ou posterior), não uma cópia antiga do cache
+    @Get("/cpf/{cpf}")
+    public HttpResponse<User> findByCpf(String cpf, @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        Optional<User> user;
+        if (ifNoneMatch != null) {
+            Optional<UserVersion> version = userService.findVersionByCpf(cpf);
+            if (version.isEmpty()) {
+                return HttpResponse.notFound();
+            }
+            String etag = UserETag.of(version.get());
+            if (UserETag.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            user = userService.findByCpf(cpf, version.get());
+        } else {
+            user = userService.findByCpf(cpf);
+        }
+        return user
+                .map(found -> withETag(HttpResponse.ok(found), UserETag.of(found)))
+                .orElseGet(HttpResponse::notFound);
+    }
+
+    //Busca só o status do usuário pelo CPF, na mesma consulta que traz a versão para o ETag
+    @Get("/cpf/{cpf}/status")
+    public HttpResponse<Map<String, Object>> findStatusByCpf(String cpf,
+                                                             @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return userService.findVersionByCpf(cpf)
+                .map(version -> {
+                    String etag = UserETag.of(version);
+                    if (UserETag.matches(ifNoneMatch, etag)) {
+                        return UserController.<Map<String, Object>>notModified(etag);
+                    }
+                    return withETag(HttpResponse.ok(Map.<String, Object>of("cpf", cpf, "status", version.status())), etag);
+                })
+                .orElseGet(HttpResponse::notFound);
+    }
+
+    //Consulta o status de vários CPFs numa só requisição; um resultado por CPF, na ordem recebida
+    @Post("/cpf/lookups")
+    public List<CpfLookupResult> lookupByCpfs(@Body List<String> cpfs) {
+        return userCpfLookupService.lookup(cpfs);
+    }
+
+    //Muda o status do usuário só se ele ainda estiver em "from"; 409 com o status atual quando outra alteração chegou antes
+    @Put("/{id}/status")
+    public HttpResponse<Map<String, Object>> changeStatus(Long id,
+                                                          @QueryValue User.UserStatus from,
+                                                          @QueryValue User.UserStatus to,
+                                                          @Nullable @QueryValue LocalDateTime until) {
+        //Sem prazo a persona non grata nunca venceria
+        if (to == User.UserStatus.PERSONA_NON_GRATA && until == null) {
+            return HttpResponse.badRequest(Map.of("message", "until is required when changing to PERSONA_NON_GRATA"));
+        }
+        if (userService.changeStatus(id, from, to, until)) {
+            return HttpResponse.ok(Map.of("id", id, "status", to));
+        }
+        return userService.findStatusById(id)
+                .<HttpResponse<Map<String, Object>>>map(current -> HttpResponse.<Map<String, Object>>status(HttpStatus.CONFLICT)
+                        .body(Map.of("id", id, "status", current, "message", "User is not in status " + from)))
+                .orElseGet(HttpResponse::notFound);
+    }
+
+    //Conta usuários pelo status
+    @Get("/count")
+    public Map<String, Object> countByStatus(@QueryValue User.UserStatus status) {
+        return Map.of("status", status, "count", userService.countByStatus(status));
+    }
+
+    //Exporta usuários em NDJSON, lendo do banco conforme o cliente consome a resposta
+    @Get(uri = "/export", produces = APPLICATION_NDJSON)
+    public StreamedFile export(@Nullable @QueryValue User.UserStatus status,
+                               @Nullable @QueryValue String state,
+                               @Nullable @QueryValue LocalDateTime createdFrom,
+                               @Nullable @QueryValue LocalDateTime createdTo) {
+        UserExportFilter filter = new UserExportFilter(status, state, createdFrom, createdTo);
+        NdjsonInputStream body = new NdjsonInputStream(userExportService.open(filter), ndjsonWriter);
+        return new StreamedFile(body, new MediaType(APPLICATION_NDJSON)).attach("users.ndjson");
+    }
+
+    //Importa usuários em massa; o relatório traz as linhas rejeitadas por bloco
+    @Post("/import")
+    public UserImportReport importUsers(@Body List<User> users) {
+        return userImportService.importUsers(users);
+    }
+
+    //Inicia a remoção em blocos de todos os usuários de um status
+    @Post("/bulk-deletes")
+    public HttpResponse<UserBulkDeleteProgress> startBulkDelete(@QueryValue User.UserStatus status) {
+        return HttpResponse.accepted().body(userBulkDeleteService.start(status));
+    }
+
+    //Consulta o progresso de uma remoção em blocos
+    @Get("/bulk-deletes/{id}")
+    public Optional<UserBulkDeleteProgress> findBulkDelete(Long id) {
+        return userBulkDeleteService.find(id);
+    }
+
+    //Cancela uma remoção em blocos; o que já foi removido permanece removido
+    @Delete("/bulk-deletes/{id}")
+    public Optional<UserBulkDeleteProgress> cancelBulkDelete(Long id) {
+        return userBulkDeleteService.cancel(id);
+    }
+
+    private static <T> MutableHttpResponse<T> notModified(String etag) {
+        return withETag(HttpResponse.notModified(), etag);
+    }
+
+    //no-cache: o cliente sempre revalida; private: dados pessoais não ficam em caches compartilhados
+    private static <T> MutableHttpResponse<T> withETag(MutableHttpResponse<T> response, String etag) {
+        return response.header(HttpHeaders.ETAG, etag).header(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    }
+
+    @Error(exception = CpfLookupLimitException.class)
+    public HttpResponse<Map<String, String>> cpfLookupLimit(HttpRequest<?> request, CpfLookupLimitException e) {
+        return HttpResponse.badRequest(Map.of("message", e.getMessage()));
+    }
+
+    @Error(exception = InvalidCursorException.class)
+    public HttpResponse<Map<String, String>> invalidCursor(HttpRequest<?> request, InvalidCursorException e) {
+        return HttpResponse.badRequest(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.dfm.biblioteca.presentation.etag;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * ETag forte das respostas de usuário, derivada de id, version e updatedAt.
+ *
+ * Toda alteração, pela entidade (@PreUpdate/@Version) ou pelos UPDATEs em massa do UserRepository, avança
+ * version e updatedAt, então a tag muda sempre que a linha muda. O valor é opaco para o cliente.
+ */
+public final class UserETag {
+
+    private UserETag() {
+    }
+
+    public static String of(User user) {
+        return of(user.getId(), user.getVersion(), user.getUpdatedAt());
+    }
+
+    public static String of(UserVersion version) {
+        return of(version.id(), version.version(), version.updatedAt());
+    }
+
+    private static String of(Long id, @Nullable Long version, @Nullable LocalDateTime updatedAt) {
+        long micros = updatedAt == null ? 0
+                : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "\"" + Long.toString(id, 36) + '-' + Long.toString(version == null ? 0 : version, 36) + '-'
+                + Long.toString(micros, 36) + "\"";
+    }
+
+    /**
+     * Compara com o If-None-Match (lista de tags ou "*"), pela comparação fraca que a RFC 9110 define para ele.
+     */
+    public static boolean matches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.dfm.biblioteca.presentation.export;
+
+import com.dfm.biblioteca.domain.export.UserExportCursor;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Converte um cursor de usuários em NDJSON sob demanda: cada linha só é lida do banco e serializada
+ * quando o consumidor do stream precisa de mais bytes.
+ */
+public class NdjsonInputStream extends InputStream {
+
+    private static final int NEWLINE = '\n';
+
+    private final UserExportCursor cursor;
+    private final ObjectWriter writer;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+    private byte[] buffer = new byte[0];
+    private int position;
+
+    public NdjsonInputStream(UserExportCursor cursor, ObjectWriter writer) {
+        this.cursor = cursor;
+        this.writer = writer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int written = 0;
+        while (written < length && fill()) {
+            int chunk = Math.min(length - written, buffer.length - position);
+            System.arraycopy(buffer, position, target, offset + written, chunk);
+            position += chunk;
+            written += chunk;
+        }
+        return written == 0 ? -1 : written;
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (position < buffer.length) {
+            return true;
+        }
+        if (!cursor.hasNext()) {
+            return false;
+        }
+        line.reset();
+        writer.writeValue(line, cursor.next());
+        line.write(NEWLINE);
+        buffer = line.toByteArray();
+        position = 0;
+        return true;
+    }
+}
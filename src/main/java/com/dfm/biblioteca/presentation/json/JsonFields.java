@@ -0,0 +1,89 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Escrita e leitura de campos com as mesmas regras do BeanSerializer/BeanDeserializer do Jackson: respeita a
+ * inclusão configurada (NON_EMPTY por padrão no Micronaut) e delega aos (de)serializadores do Jackson os tipos
+ * com configuração própria (datas, enums na leitura).
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static JsonInclude.Include inclusion(SerializerProvider provider, Class<?> type) {
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion(type).getValueInclusion();
+        return inclusion == null ? JsonInclude.Include.USE_DEFAULTS : inclusion;
+    }
+
+    static void writeString(JsonGenerator gen, JsonInclude.Include inclusion, String name, String value) throws IOException {
+        if (value == null) {
+            writeNull(gen, inclusion, name);
+        } else if (!value.isEmpty() || inclusion != JsonInclude.Include.NON_EMPTY) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, JsonInclude.Include inclusion, String name, Long value) throws IOException {
+        if (value == null) {
+            writeNull(gen, inclusion, name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    static void writeEnum(JsonGenerator gen, JsonInclude.Include inclusion, String name, Enum<?> value) throws IOException {
+        if (value == null) {
+            writeNull(gen, inclusion, name);
+        } else {
+            gen.writeStringField(name, value.name());
+        }
+    }
+
+    static void writeObject(JsonGenerator gen, SerializerProvider provider, JsonInclude.Include inclusion,
+                            String name, Object value, JsonSerializer<Object> serializer) throws IOException {
+        if (value == null) {
+            writeNull(gen, inclusion, name);
+        } else {
+            gen.writeFieldName(name);
+            serializer.serialize(value, gen, provider);
+        }
+    }
+
+    private static void writeNull(JsonGenerator gen, JsonInclude.Include inclusion, String name) throws IOException {
+        if (inclusion != JsonInclude.Include.NON_NULL && inclusion != JsonInclude.Include.NON_EMPTY
+                && inclusion != JsonInclude.Include.NON_ABSENT && inclusion != JsonInclude.Include.NON_DEFAULT) {
+            gen.writeNullField(name);
+        }
+    }
+
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        return token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, String.class);
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+        return token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, Long.class);
+    }
+
+    static Object read(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : deserializer.deserialize(p, ctxt);
+    }
+}
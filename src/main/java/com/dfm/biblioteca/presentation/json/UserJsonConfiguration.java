@@ -0,0 +1,39 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.dfm.biblioteca.presentation.view.EntityView;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("users.json")
+public class UserJsonConfiguration {
+
+    // View ativa em toda serialização sem @JsonView explícita
+    private Class<?> defaultView = EntityView.class;
+    // Indentação das respostas: só para depuração (ambiente debug), custa CPU e bytes em toda resposta
+    private boolean prettyPrint = false;
+    // Serializadores escritos à mão para User e UserSummary; false volta ao BeanSerializer do Jackson
+    private boolean handWrittenSerializers = true;
+
+    public Class<?> getDefaultView() {
+        return defaultView;
+    }
+
+    public void setDefaultView(Class<?> defaultView) {
+        this.defaultView = defaultView;
+    }
+
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
+    public boolean isHandWrittenSerializers() {
+        return handWrittenSerializers;
+    }
+
+    public void setHandWrittenSerializers(boolean handWrittenSerializers) {
+        this.handWrittenSerializers = handWrittenSerializers;
+    }
+}
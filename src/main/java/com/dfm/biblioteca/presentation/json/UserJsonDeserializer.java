@@ -0,0 +1,78 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lê User campo a campo pelos setters, como o BeanDeserializer faria.
+ *
+ * Propriedades desconhecidas seguem DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES; as chaves de busca
+ * (@JsonIgnore) são ignoradas.
+ */
+final class UserJsonDeserializer extends StdDeserializer<User> implements ResolvableDeserializer {
+
+    // Resolvidos uma vez por ObjectMapper em resolve(), em vez de procurados a cada campo
+    private JsonDeserializer<Object> dates;
+    private JsonDeserializer<Object> dateTimes;
+    private JsonDeserializer<Object> statuses;
+
+    UserJsonDeserializer() {
+        super(User.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        dates = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDate.class));
+        dateTimes = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDateTime.class));
+        statuses = ctxt.findRootValueDeserializer(ctxt.constructType(User.UserStatus.class));
+    }
+
+    @Override
+    public User deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (User) ctxt.handleUnexpectedToken(User.class, p);
+        }
+        User user = new User();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "id" -> user.setId(JsonFields.readLong(p, ctxt));
+                case "firstName" -> user.setFirstName(JsonFields.readString(p, ctxt));
+                case "lastName" -> user.setLastName(JsonFields.readString(p, ctxt));
+                case "birthDate" -> user.setBirthDate((LocalDate) JsonFields.read(p, ctxt, dates));
+                case "cpf" -> user.setCpf(JsonFields.readString(p, ctxt));
+                case "nationality" -> user.setNationality(JsonFields.readString(p, ctxt));
+                case "street" -> user.setStreet(JsonFields.readString(p, ctxt));
+                case "number" -> user.setNumber(JsonFields.readString(p, ctxt));
+                case "complement" -> user.setComplement(JsonFields.readString(p, ctxt));
+                case "neighborhood" -> user.setNeighborhood(JsonFields.readString(p, ctxt));
+                case "zipCode" -> user.setZipCode(JsonFields.readString(p, ctxt));
+                case "city" -> user.setCity(JsonFields.readString(p, ctxt));
+                case "state" -> user.setState(JsonFields.readString(p, ctxt));
+                case "country" -> user.setCountry(JsonFields.readString(p, ctxt));
+                case "status" -> user.setStatus((User.UserStatus) JsonFields.read(p, ctxt, statuses));
+                case "personaNonGrataUntilDate" -> user.setPersonaNonGrataUntilDate((LocalDateTime) JsonFields.read(p, ctxt, dateTimes));
+                case "createdAt" -> user.setCreatedAt((LocalDateTime) JsonFields.read(p, ctxt, dateTimes));
+                case "updatedAt" -> user.setUpdatedAt((LocalDateTime) JsonFields.read(p, ctxt, dateTimes));
+                case "version" -> user.setVersion(JsonFields.readLong(p, ctxt));
+                case "firstNameKey", "lastNameKey" -> p.skipChildren();
+                default -> ctxt.handleUnknownProperty(p, this, User.class, name);
+            }
+        }
+        return user;
+    }
+}
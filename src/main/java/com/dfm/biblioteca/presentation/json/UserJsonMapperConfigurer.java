@@ -0,0 +1,30 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Singleton;
+
+/**
+ * Aplica ao ObjectMapper a view padrão e a indentação de users.json.
+ *
+ * O Micronaut não tem propriedade para a view padrão (jackson.serialization só aceita SerializationFeature).
+ */
+@Singleton
+public class UserJsonMapperConfigurer implements BeanCreatedEventListener<ObjectMapper> {
+
+    private final UserJsonConfiguration configuration;
+
+    public UserJsonMapperConfigurer(UserJsonConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public ObjectMapper onCreated(BeanCreatedEvent<ObjectMapper> event) {
+        ObjectMapper objectMapper = event.getBean();
+        objectMapper.setConfig(objectMapper.getSerializationConfig().withView(configuration.getDefaultView()));
+        objectMapper.configure(SerializationFeature.INDENT_OUTPUT, configuration.isPrettyPrint());
+        return objectMapper;
+    }
+}
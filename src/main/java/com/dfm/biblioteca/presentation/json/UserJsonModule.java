@@ -0,0 +1,43 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+/**
+ * Registra os serializadores escritos à mão para User e UserSummary no ObjectMapper do Micronaut (todo bean
+ * Module é registrado). Nada é gerado: um campo novo precisa entrar também em UserJsonSerializer e
+ * UserJsonDeserializer, o que UserJsonModuleTest verifica. Os payloads de listagem e importação deixam de passar pelas propriedades genéricas do
+ * BeanSerializer/BeanDeserializer; o serializer original continua como fallback para outras views.
+ */
+@Singleton
+@Requires(property = "users.json.hand-written-serializers", notEquals = "false")
+public class UserJsonModule extends SimpleModule {
+
+    public UserJsonModule(UserJsonConfiguration configuration) {
+        super("UserJsonModule");
+        Class<?> defaultView = configuration.getDefaultView();
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                Class<?> type = description.getBeanClass();
+                if (type == User.class) {
+                    return new UserJsonSerializer((JsonSerializer<Object>) serializer, defaultView);
+                }
+                if (type == UserSummary.class) {
+                    return new UserSummaryJsonSerializer((JsonSerializer<Object>) serializer, defaultView);
+                }
+                return serializer;
+            }
+        });
+        addDeserializer(User.class, new UserJsonDeserializer());
+    }
+}
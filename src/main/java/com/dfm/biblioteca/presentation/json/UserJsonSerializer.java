@@ -0,0 +1,76 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Escreve User campo a campo, sem passar pelas propriedades do BeanSerializer.
+ *
+ * Só atende a view padrão; com outra view ativa (ex.: @JsonView num controller) delega ao serializer do
+ * Jackson, que aplica os @JsonView das propriedades. Os campos são os mesmos que o Jackson escreveria:
+ * todos os getters exceto os @JsonIgnore (first_name_key e last_name_key).
+ */
+final class UserJsonSerializer extends StdSerializer<User> implements ResolvableSerializer {
+
+    private final JsonSerializer<Object> fallback;
+    private final Class<?> defaultView;
+    // Resolvidos uma vez por ObjectMapper em resolve(), em vez de procurados a cada campo
+    private JsonSerializer<Object> dates;
+    private JsonSerializer<Object> dateTimes;
+
+    UserJsonSerializer(JsonSerializer<Object> fallback, Class<?> defaultView) {
+        super(User.class);
+        this.fallback = fallback;
+        this.defaultView = defaultView;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (fallback instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+        dates = provider.findValueSerializer(LocalDate.class);
+        dateTimes = provider.findValueSerializer(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Class<?> view = provider.getActiveView();
+        if (view != null && view != defaultView) {
+            fallback.serialize(user, gen, provider);
+            return;
+        }
+        JsonInclude.Include inclusion = JsonFields.inclusion(provider, User.class);
+        gen.writeStartObject(user);
+        JsonFields.writeNumber(gen, inclusion, "id", user.getId());
+        JsonFields.writeString(gen, inclusion, "firstName", user.getFirstName());
+        JsonFields.writeString(gen, inclusion, "lastName", user.getLastName());
+        JsonFields.writeObject(gen, provider, inclusion, "birthDate", user.getBirthDate(), dates);
+        JsonFields.writeString(gen, inclusion, "cpf", user.getCpf());
+        JsonFields.writeString(gen, inclusion, "nationality", user.getNationality());
+        JsonFields.writeString(gen, inclusion, "street", user.getStreet());
+        JsonFields.writeString(gen, inclusion, "number", user.getNumber());
+        JsonFields.writeString(gen, inclusion, "complement", user.getComplement());
+        JsonFields.writeString(gen, inclusion, "neighborhood", user.getNeighborhood());
+        JsonFields.writeString(gen, inclusion, "zipCode", user.getZipCode());
+        JsonFields.writeString(gen, inclusion, "city", user.getCity());
+        JsonFields.writeString(gen, inclusion, "state", user.getState());
+        JsonFields.writeString(gen, inclusion, "country", user.getCountry());
+        JsonFields.writeEnum(gen, inclusion, "status", user.getStatus());
+        JsonFields.writeObject(gen, provider, inclusion, "personaNonGrataUntilDate", user.getPersonaNonGrataUntilDate(), dateTimes);
+        JsonFields.writeObject(gen, provider, inclusion, "createdAt", user.getCreatedAt(), dateTimes);
+        JsonFields.writeObject(gen, provider, inclusion, "updatedAt", user.getUpdatedAt(), dateTimes);
+        JsonFields.writeNumber(gen, inclusion, "version", user.getVersion());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,51 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Escreve UserSummary campo a campo; mesmas regras de view do {@link UserJsonSerializer}.
+ */
+final class UserSummaryJsonSerializer extends StdSerializer<UserSummary> implements ResolvableSerializer {
+
+    private final JsonSerializer<Object> fallback;
+    private final Class<?> defaultView;
+
+    UserSummaryJsonSerializer(JsonSerializer<Object> fallback, Class<?> defaultView) {
+        super(UserSummary.class);
+        this.fallback = fallback;
+        this.defaultView = defaultView;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (fallback instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    public void serialize(UserSummary summary, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Class<?> view = provider.getActiveView();
+        if (view != null && view != defaultView) {
+            fallback.serialize(summary, gen, provider);
+            return;
+        }
+        JsonInclude.Include inclusion = JsonFields.inclusion(provider, UserSummary.class);
+        gen.writeStartObject(summary);
+        JsonFields.writeNumber(gen, inclusion, "id", summary.id());
+        JsonFields.writeString(gen, inclusion, "firstName", summary.firstName());
+        JsonFields.writeString(gen, inclusion, "lastName", summary.lastName());
+        JsonFields.writeString(gen, inclusion, "cpf", summary.cpf());
+        JsonFields.writeEnum(gen, inclusion, "status", summary.status());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,9 @@
+package com.dfm.biblioteca.presentation.view;
+
+/**
+ * View padrão do Jackson (users.json.default-view).
+ *
+ * Propriedades sem @JsonView continuam sendo serializadas; views mais restritas devem estender esta.
+ */
+public interface EntityView {
+}
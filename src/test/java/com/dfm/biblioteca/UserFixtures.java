@@ -0,0 +1,38 @@
+package com.dfm.biblioteca;
+
+import com.dfm.biblioteca.domain.entity.User;
+
+import java.time.LocalDate;
+
+/**
+ * Usuários válidos para os testes, com todos os campos obrigatórios preenchidos; cada teste ajusta só o que verifica.
+ */
+public final class UserFixtures {
+
+    private UserFixtures() {
+    }
+
+    public static User newUser(String cpf) {
+        User user = new User();
+        user.setFirstName("João");
+        user.setLastName("Silva");
+        user.setBirthDate(LocalDate.of(1990, 5, 15));
+        user.setCpf(cpf);
+        user.setNationality("Brasileira");
+        user.setStreet("Rua das Flores");
+        user.setNumber("123");
+        user.setNeighborhood("Centro");
+        user.setZipCode("30130100");
+        user.setCity("Belo Horizonte");
+        user.setState("MG");
+        user.setCountry("Brasil");
+        user.setStatus(User.UserStatus.REGULAR);
+        return user;
+    }
+
+    public static User newUser(String cpf, User.UserStatus status) {
+        User user = newUser(cpf);
+        user.setStatus(status);
+        return user;
+    }
+}
@@ -0,0 +1,170 @@
+package com.dfm.biblioteca.domain.bulkdelete;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.entity.UserBulkDeleteJob;
+import com.dfm.biblioteca.domain.repository.UserBulkDeleteJobRepository;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserBulkDeleteServiceTest implements TestPropertyProvider {
+
+    @Inject
+    private UserBulkDeleteService bulkDeleteService;
+
+    @Inject
+    private UserBulkDeleteJobRepository jobRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private UserBulkDeleteConfiguration configuration;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.bulk-delete.chunk-size", "2",
+                "users.bulk-delete.rows-per-second", "0"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReturnSameCountAsRepositoryDelete(){
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(newUser("1000000000" + i, User.UserStatus.BLOCKED));
+        }
+        userRepository.save(newUser("12345678901", User.UserStatus.REGULAR));
+
+        assertEquals(5, bulkDeleteService.deleteAllByStatus(User.UserStatus.BLOCKED));
+
+        assertEquals(0, userRepository.countByStatus(User.UserStatus.BLOCKED));
+        assertEquals(1, userRepository.countByStatus(User.UserStatus.REGULAR));
+        UserBulkDeleteJob job = jobRepository.findAll().iterator().next();
+        assertEquals(UserBulkDeleteJob.State.COMPLETED, job.getState());
+        assertEquals(5, job.getDeleted());
+    }
+
+    @Test
+    void shouldResumeInterruptedJobFromLastId(){
+        User first = userRepository.save(newUser("10000000000", User.UserStatus.BLOCKED));
+        userRepository.save(newUser("10000000001", User.UserStatus.BLOCKED));
+        userRepository.save(newUser("10000000002", User.UserStatus.BLOCKED));
+
+        // Simula uma queda depois do primeiro bloco: o progresso gravado já passou do primeiro usuário
+        UserBulkDeleteJob job = new UserBulkDeleteJob(User.UserStatus.BLOCKED);
+        job.setLastId(first.getId());
+        job.setDeleted(1);
+        jobRepository.save(job);
+
+        bulkDeleteService.resumeInterrupted();
+
+        UserBulkDeleteProgress progress = awaitFinished(job.getId());
+        assertEquals(UserBulkDeleteJob.State.COMPLETED, progress.state());
+        assertEquals(3, progress.deleted());
+        assertEquals(1, userRepository.countByStatus(User.UserStatus.BLOCKED));
+    }
+
+    @Test
+    void shouldResumeOnlyJobsWhoseLeaseExpired(){
+        userRepository.save(newUser("10000000000", User.UserStatus.REGULAR));
+        userRepository.save(newUser("10000000001", User.UserStatus.BLOCKED));
+
+        // Como gravariam outras instâncias: uma ainda no ar, outra que parou de renovar o heartbeat
+        UserBulkDeleteJob live = new UserBulkDeleteJob(User.UserStatus.REGULAR);
+        live.setOwner("live-instance");
+        live.setHeartbeatAt(LocalDateTime.now());
+        jobRepository.save(live);
+        UserBulkDeleteJob expired = new UserBulkDeleteJob(User.UserStatus.BLOCKED);
+        expired.setOwner("dead-instance");
+        expired.setHeartbeatAt(LocalDateTime.now().minus(configuration.getLease()).minusSeconds(1));
+        jobRepository.save(expired);
+
+        bulkDeleteService.resumeInterrupted();
+
+        assertEquals(UserBulkDeleteJob.State.COMPLETED, awaitFinished(expired.getId()).state());
+        assertEquals(0, userRepository.countByStatus(User.UserStatus.BLOCKED));
+        UserBulkDeleteJob skipped = jobRepository.findById(live.getId()).get();
+        assertEquals(UserBulkDeleteJob.State.RUNNING, skipped.getState());
+        assertEquals("live-instance", skipped.getOwner());
+        assertEquals(1, userRepository.countByStatus(User.UserStatus.REGULAR));
+    }
+
+    @Test
+    void shouldCancelOrphanedJob(){
+        UserBulkDeleteJob job = jobRepository.save(new UserBulkDeleteJob(User.UserStatus.BLOCKED));
+
+        assertEquals(UserBulkDeleteJob.State.CANCELLED, bulkDeleteService.cancel(job.getId()).get().state());
+        assertEquals(UserBulkDeleteJob.State.CANCELLED, jobRepository.findById(job.getId()).get().getState());
+    }
+
+    @Test
+    void shouldKeepCancelMadeThroughTheRepositoryWhileRunning() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            userRepository.save(newUser("1000000000" + i, User.UserStatus.BLOCKED));
+        }
+        // Dois usuários por bloco a 10 por segundo: cerca de 200 ms por bloco
+        configuration.setRowsPerSecond(10);
+        try {
+            UserBulkDeleteProgress started = bulkDeleteService.start(User.UserStatus.BLOCKED);
+            while (jobRepository.findById(started.id()).get().getDeleted() == 0) {
+                Thread.sleep(10);
+            }
+
+            // Como faria outra instância, direto no banco
+            assertEquals(1, jobRepository.updateState(started.id(), UserBulkDeleteJob.State.RUNNING,
+                    UserBulkDeleteJob.State.CANCELLED, null, LocalDateTime.now()));
+            Thread.sleep(600);
+            long remaining = userRepository.countByStatus(User.UserStatus.BLOCKED);
+            Thread.sleep(400);
+
+            UserBulkDeleteJob job = jobRepository.findById(started.id()).get();
+            assertEquals(UserBulkDeleteJob.State.CANCELLED, job.getState());
+            assertTrue(remaining > 0);
+            assertEquals(remaining, userRepository.countByStatus(User.UserStatus.BLOCKED));
+            assertEquals(10 - remaining, job.getDeleted());
+        } finally {
+            configuration.setRowsPerSecond(0);
+        }
+    }
+
+    private UserBulkDeleteProgress awaitFinished(Long id){
+        for (int i = 0; i < 100; i++) {
+            UserBulkDeleteProgress progress = bulkDeleteService.find(id).get();
+            if (progress.state() != UserBulkDeleteJob.State.RUNNING) {
+                return progress;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return bulkDeleteService.find(id).get();
+    }
+}
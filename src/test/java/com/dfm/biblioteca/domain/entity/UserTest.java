@@ -213,6 +213,18 @@ class UserTest {
         assertEquals(user1, user2);
     }
 
+    @Test
+    void shouldCompareUsersByCpf() {
+        User sameCpf = new User();
+        sameCpf.setCpf("12345678901");
+        sameCpf.setFirstName("Maria");
+        assertEquals(validUser, sameCpf);
+        assertEquals(validUser.hashCode(), sameCpf.hashCode());
+
+        sameCpf.setCpf("98765432100");
+        assertNotEquals(validUser, sameCpf);
+    }
+
     @Test
     void shouldGenerateToString() {
         String userString = validUser.toString();
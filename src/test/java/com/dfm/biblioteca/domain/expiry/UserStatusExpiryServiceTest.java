@@ -0,0 +1,90 @@
+package com.dfm.biblioteca.domain.expiry;
+
+import com.dfm.biblioteca.UserFixtures;
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.counter.UserStatusCounters;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserStatusExpiryServiceTest implements TestPropertyProvider {
+
+    @Inject
+    private UserStatusExpiryService expiryService;
+
+    @Inject
+    private UserStatusCounters counters;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.status-expiry.chunk-size", "2",
+                "users.status-expiry.minimum-chunk-size", "1",
+                "users.status-expiry.pause-between-chunks", "0ms"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExpireOnlyOverdueUsersInChunks(){
+        LocalDateTime past = LocalDateTime.now().minusDays(1);
+        User first = userRepository.save(newUser("12345678901", User.UserStatus.PERSONA_NON_GRATA, past));
+        userRepository.save(newUser("12345678902", User.UserStatus.PERSONA_NON_GRATA, past));
+        userRepository.save(newUser("12345678903", User.UserStatus.PERSONA_NON_GRATA, past));
+        User future = userRepository.save(newUser("12345678904", User.UserStatus.PERSONA_NON_GRATA, LocalDateTime.now().plusDays(1)));
+        userRepository.save(newUser("12345678905", User.UserStatus.REGULAR, null));
+
+        UserStatusExpiryReport report = expiryService.expire();
+
+        assertEquals(3, report.expired());
+        assertEquals(2, report.chunks());
+        User expired = userRepository.findById(first.getId()).get();
+        assertEquals(User.UserStatus.REGULAR, expired.getStatus());
+        assertNull(expired.getPersonaNonGrataUntilDate());
+        assertEquals(User.UserStatus.PERSONA_NON_GRATA, userRepository.findById(future.getId()).get().getStatus());
+        assertEquals(1, userRepository.countByStatus(User.UserStatus.PERSONA_NON_GRATA));
+    }
+
+    @Test
+    void shouldMoveStatusCounters(){
+        userRepository.save(newUser("12345678901", User.UserStatus.PERSONA_NON_GRATA, LocalDateTime.now().minusDays(1)));
+        long personaNonGrata = counters.count(User.UserStatus.PERSONA_NON_GRATA);
+        long regular = counters.count(User.UserStatus.REGULAR);
+
+        expiryService.expire();
+
+        assertEquals(personaNonGrata - 1, counters.count(User.UserStatus.PERSONA_NON_GRATA));
+        assertEquals(regular + 1, counters.count(User.UserStatus.REGULAR));
+    }
+
+    private User newUser(String cpf, User.UserStatus status, LocalDateTime until){
+        User user = UserFixtures.newUser(cpf);
+        user.setStatus(status);
+        user.setPersonaNonGrataUntilDate(until);
+        return user;
+    }
+}
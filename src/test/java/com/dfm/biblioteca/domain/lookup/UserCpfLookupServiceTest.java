@@ -0,0 +1,210 @@
+package com.dfm.biblioteca.domain.lookup;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserVersion;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.filter.UserCpfFilter;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserCpfLookupServiceTest implements TestPropertyProvider {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private UserCpfLookupService lookupService;
+
+    @Inject
+    private UserCpfFilter userCpfFilter;
+
+    @Inject
+    private CpfLookupConfiguration configuration;
+
+    @Inject
+    @Named(TaskExecutors.SCHEDULED)
+    private TaskScheduler scheduler;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "micronaut.security.enabled", "false",
+                "users.cpf-lookup.max-batch-size", "5",
+                "users.cpf-lookup.max-in-list-size", "2",
+                "users.cpf-lookup.coalesce", "true",
+                "users.cpf-lookup.coalesce-window", "200ms"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReturnStatusPerCpfInRequestOrder(){
+        User regular = userRepository.save(newUser("10000000001", User.UserStatus.REGULAR));
+        userRepository.save(newUser("10000000002", User.UserStatus.BLOCKED));
+        userRepository.save(newUser("10000000003", User.UserStatus.REGULAR));
+        long batches = lookupService.getBatches();
+
+        List<Map> results = client.toBlocking().retrieve(HttpRequest.POST("/users/cpf/lookups",
+                List.of("10000000002", "19999999999", "10000000001", "10000000003", "10000000002")), Argument.listOf(Map.class));
+
+        assertEquals(5, results.size());
+        assertEquals("10000000002", results.get(0).get("cpf"));
+        assertEquals("BLOCKED", results.get(0).get("status"));
+        assertEquals("19999999999", results.get(1).get("cpf"));
+        assertEquals(false, results.get(1).get("found"));
+        assertNull(results.get(1).get("status"));
+        assertEquals(true, results.get(2).get("found"));
+        assertEquals(regular.getId().intValue(), results.get(2).get("id"));
+        assertEquals("REGULAR", results.get(3).get("status"));
+        assertEquals("BLOCKED", results.get(4).get("status"));
+        //Até 4 CPFs distintos em blocos de 2
+        assertTrue(lookupService.getBatches() - batches <= 2);
+    }
+
+    @Test
+    void shouldRejectBatchesOverTheLimit(){
+        HttpClientResponseException tooMany = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.POST("/users/cpf/lookups",
+                        List.of("1", "2", "3", "4", "5", "6"))));
+        assertEquals(HttpStatus.BAD_REQUEST, tooMany.getStatus());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentSingleLookups() throws Exception {
+        List<String> cpfs = List.of("10000000011", "10000000012", "10000000013", "10000000011");
+        userRepository.save(newUser("10000000011", User.UserStatus.REGULAR));
+        userRepository.save(newUser("10000000012", User.UserStatus.PERSONA_NON_GRATA));
+        long batches = lookupService.getBatches();
+        long coalesced = lookupService.getCoalesced();
+
+        ExecutorService callers = Executors.newFixedThreadPool(cpfs.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Optional<UserVersion>>> results = new ArrayList<>();
+            for (String cpf : cpfs) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return lookupService.findVersion(cpf);
+                }));
+            }
+            start.countDown();
+
+            assertEquals(User.UserStatus.REGULAR, results.get(0).get(5, TimeUnit.SECONDS).orElseThrow().status());
+            assertEquals(User.UserStatus.PERSONA_NON_GRATA, results.get(1).get(5, TimeUnit.SECONDS).orElseThrow().status());
+            assertFalse(results.get(2).get(5, TimeUnit.SECONDS).isPresent());
+            assertEquals("10000000011", results.get(3).get(5, TimeUnit.SECONDS).orElseThrow().cpf());
+        } finally {
+            callers.shutdown();
+        }
+
+        //O CPF ausente pode ser descartado pelo filtro de Bloom antes do micro-lote
+        assertTrue(lookupService.getCoalesced() - coalesced >= 3);
+        //Uma janela para todos: até três CPFs distintos, em blocos de até 2 no IN
+        long executed = lookupService.getBatches() - batches;
+        assertTrue(executed >= 1 && executed <= 2, "IN queries: " + executed);
+    }
+
+    @Test
+    void shouldFallBackToDirectLookupWhenTheBatchIsRejected(){
+        userRepository.save(newUser("10000000021", User.UserStatus.BLOCKED));
+        UserCpfLookupService rejecting = service(command -> {
+            throw new RejectedExecutionException("shut down");
+        });
+
+        assertEquals(User.UserStatus.BLOCKED, rejecting.findVersion("10000000021").orElseThrow().status());
+        //A recusa não deixa o micro-lote preso: a consulta seguinte abre outro
+        assertEquals(User.UserStatus.BLOCKED, rejecting.findVersion("10000000021").orElseThrow().status());
+        assertEquals(2, rejecting.getFallbacks());
+    }
+
+    @Test
+    void shouldFallBackToDirectLookupWhenTheBatchStalls(){
+        userRepository.save(newUser("10000000022", User.UserStatus.REGULAR));
+        //Aceita o lote e nunca o executa, como um executor saturado
+        UserCpfLookupService stalled = service(command -> { });
+
+        assertEquals(User.UserStatus.REGULAR, stalled.findVersion("10000000022").orElseThrow().status());
+        assertEquals(1, stalled.getFallbacks());
+    }
+
+    private UserCpfLookupService service(Executor executor){
+        return new UserCpfLookupService(userRepository, userCpfFilter, configuration, scheduler, new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                executor.execute(command);
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return List.of();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return false;
+            }
+        });
+    }
+}
@@ -1,9 +1,14 @@
 package com.dfm.biblioteca.domain.repository;
 
 import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.support.TestPropertyProvider;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +31,9 @@ public class UserRepositoryTest implements TestPropertyProvider {
     @Inject
     private UserRepository userRepository;
 
+    @Inject
+    private EntityManager entityManager;
+
     private User testUser;
 
     @Override
@@ -91,10 +99,28 @@ public class UserRepositoryTest implements TestPropertyProvider {
         assertEquals("12345678901", foundUser.get().getCpf());
     }
 
+    @Test
+    void shouldLoadAddressOnlyForCompleteLookups(){
+        userRepository.save(testUser);
+        // O teste roda em transação: sem o clear a busca devolveria a própria instância salva
+        entityManager.flush();
+        entityManager.clear();
+
+        User summary = userRepository.findByCpf(testUser.getCpf()).orElseThrow();
+        assertFalse(Hibernate.isPropertyInitialized(summary, "street"));
+        assertTrue(Hibernate.isPropertyInitialized(summary, "firstName"));
+        entityManager.clear();
+
+        User complete = userRepository.findCompleteByCpf(testUser.getCpf()).orElseThrow();
+        assertTrue(Hibernate.isPropertyInitialized(complete, "street"));
+        assertEquals("Rua das Flores", complete.getStreet());
+        assertEquals("Apto 45", complete.getComplement());
+    }
+
     @Test
     void shouldReturnEmptyWhenCpfNotFound(){
         Optional<User> foundUser = userRepository.findByCpf("99999999999");
-        assertTrue(foundUser.isPresent());
+        assertFalse(foundUser.isPresent());
     }
 
     @Test
@@ -127,6 +153,61 @@ public class UserRepositoryTest implements TestPropertyProvider {
         assertEquals("Maria", blockedUsers.get(0).getFirstName());
     }
 
+    @Test
+    void shouldSeekUsersByStatusAfterId(){
+        User first = userRepository.save(testUser);
+
+        User second = new User();
+        second.setFirstName("Maria");
+        second.setLastName("Santos");
+        second.setBirthDate(LocalDate.of(1985,3,20));
+        second.setCpf("98765432100");
+        second.setNationality("Brasileira");
+        second.setStreet("Avenida Paulista");
+        second.setNumber("1000");
+        second.setNeighborhood("Bela Vista");
+        second.setZipCode("01310100");
+        second.setCity("São Paulo");
+        second.setState("SP");
+        second.setCountry("Brasil");
+        second.setStatus(User.UserStatus.REGULAR);
+        second = userRepository.save(second);
+
+        Pageable firstRow = Pageable.from(0, 1, Sort.of(Sort.Order.asc("id")));
+
+        List<User> page1 = userRepository.findByStatusAndIdGreaterThan(User.UserStatus.REGULAR, 0L, firstRow);
+        List<User> page2 = userRepository.findByStatusAndIdGreaterThan(User.UserStatus.REGULAR, first.getId(), firstRow);
+        List<User> page3 = userRepository.findByStatusAndIdGreaterThan(User.UserStatus.REGULAR, second.getId(), firstRow);
+
+        assertEquals(1, page1.size());
+        assertEquals(first.getId(), page1.get(0).getId());
+        assertEquals(1, page2.size());
+        assertEquals(second.getId(), page2.get(0).getId());
+        assertTrue(page3.isEmpty());
+    }
+
+    @Test
+    void shouldProjectUserSummariesByStatus(){
+        User saved = userRepository.save(testUser);
+        Pageable firstRow = Pageable.from(0, 1, Sort.of(Sort.Order.asc("id")));
+
+        List<UserSummary> summaries = userRepository.listByStatus(User.UserStatus.REGULAR);
+        List<UserSummary> page = userRepository.listByStatusAndIdGreaterThan(User.UserStatus.REGULAR, 0L, firstRow);
+
+        UserSummary expected = new UserSummary(saved.getId(), "João", "Silva", saved.getCpf(), User.UserStatus.REGULAR);
+        assertEquals(List.of(expected), summaries);
+        assertEquals(List.of(expected), page);
+    }
+
+    @Test
+    void shouldFindOnlyStatusByCpf(){
+        testUser.setStatus(User.UserStatus.BLOCKED);
+        userRepository.save(testUser);
+
+        assertEquals(Optional.of(User.UserStatus.BLOCKED), userRepository.findStatusByCpf(testUser.getCpf()));
+        assertFalse(userRepository.findStatusByCpf("00000000000").isPresent());
+    }
+
     @Test
     void shouldCountUsersByStatus(){
         userRepository.save(testUser);
@@ -0,0 +1,140 @@
+package com.dfm.biblioteca.domain.search;
+
+import com.dfm.biblioteca.UserFixtures;
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.pagination.CursorPage;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserNameSearchServiceTest implements TestPropertyProvider {
+
+    @Inject
+    private UserNameSearchService userNameSearchService;
+
+    @Inject
+    private UserNameKeyBackfill userNameKeyBackfill;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private DataSource dataSource;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.name-search.backfill-on-startup", "false",
+                "users.name-search.backfill-chunk-size", "2"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNormalizeAccentsCaseAndPunctuation(){
+        assertEquals("joao", NameKey.normalize("João"));
+        assertEquals("joao", NameKey.normalize("  JOÃO "));
+        assertEquals("davila", NameKey.normalize("D'Ávila"));
+        assertEquals("maria clara", NameKey.normalize("María\tClara"));
+        assertNull(NameKey.normalize(null));
+    }
+
+    @Test
+    void shouldRankExactMatchesBeforePrefixesAndFirstNamesBeforeLastNames(){
+        userRepository.save(newUser("10000000001", "Joana", "Souza"));
+        userRepository.save(newUser("10000000002", "Pedro", "Joãozinho"));
+        userRepository.save(newUser("10000000003", "João", "Silva"));
+        userRepository.save(newUser("10000000004", "Ana", "Joao"));
+        userRepository.save(newUser("10000000005", "Carlos", "Pereira"));
+
+        List<String> cpfs = userNameSearchService.search("JOA", 10, null).getContent().stream()
+                .map(UserSummary::cpf)
+                .toList();
+        assertEquals(List.of("10000000001", "10000000003", "10000000004", "10000000002"), cpfs);
+
+        cpfs = userNameSearchService.search("joao", 10, null).getContent().stream()
+                .map(UserSummary::cpf)
+                .toList();
+        assertEquals(List.of("10000000003", "10000000004", "10000000002"), cpfs);
+    }
+
+    @Test
+    void shouldWalkAllPagesAcrossRanksWithoutDuplicates(){
+        for (int i = 0; i < 4; i++) {
+            userRepository.save(newUser("1000000000" + i, "Maria", "Costa"));
+            userRepository.save(newUser("2000000000" + i, "Mariana", "Lima"));
+            userRepository.save(newUser("3000000000" + i, "Paula", "Marinho"));
+        }
+
+        List<String> cpfs = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UserSummary> page = userNameSearchService.search("mari", 5, cursor);
+            page.getContent().forEach(summary -> cpfs.add(summary.cpf()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(12, cpfs.size());
+        assertEquals(12, cpfs.stream().distinct().count());
+        assertTrue(cpfs.subList(0, 4).stream().allMatch(cpf -> cpf.startsWith("1")));
+        assertTrue(cpfs.subList(8, 12).stream().allMatch(cpf -> cpf.startsWith("3")));
+    }
+
+    @Test
+    void shouldFillKeysOfRowsWrittenBeforeTheColumns() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            userRepository.save(newUser("1000000000" + i, "José", "Araújo"));
+        }
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE users SET first_name_key = NULL, last_name_key = NULL");
+        }
+        assertTrue(userNameSearchService.search("jose", 10, null).getContent().isEmpty());
+        User before = userRepository.findByCpf("10000000000").orElseThrow();
+
+        assertEquals(3, userNameKeyBackfill.backfill());
+
+        //Só as chaves mudam: a versão e o updatedAt (base do ETag) continuam os mesmos
+        User after = userRepository.findByCpf("10000000000").orElseThrow();
+        assertEquals(before.getVersion(), after.getVersion());
+        assertEquals(before.getUpdatedAt(), after.getUpdatedAt());
+
+        assertEquals(3, userNameSearchService.search("jose", 10, null).getContent().size());
+        assertEquals(3, userNameSearchService.search("ARAUJO", 10, null).getContent().size());
+        assertEquals("Rua das Flores", userRepository.findCompleteByCpf("10000000000").orElseThrow().getStreet());
+    }
+
+    private User newUser(String cpf, String firstName, String lastName){
+        User user = UserFixtures.newUser(cpf);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
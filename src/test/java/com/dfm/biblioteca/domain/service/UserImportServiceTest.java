@@ -0,0 +1,89 @@
+package com.dfm.biblioteca.domain.service;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.importer.UserImportReport;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserImportServiceTest implements TestPropertyProvider {
+
+    @Inject
+    private UserImportService userImportService;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.import.chunk-size", "2"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldInsertAllValidUsersInChunks(){
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(newUser("1000000000" + i));
+        }
+
+        UserImportReport report = userImportService.importUsers(users);
+
+        assertEquals(5, report.received());
+        assertEquals(5, report.inserted());
+        assertEquals(0, report.rejected());
+        assertEquals(3, report.chunks().size());
+        assertEquals(5, userRepository.count());
+    }
+
+    @Test
+    void shouldRejectInvalidDuplicatedAndRegisteredCpfs(){
+        userRepository.save(newUser("10000000000"));
+
+        User invalid = newUser("123");
+        List<User> users = List.of(
+                newUser("10000000000"),
+                newUser("10000000001"),
+                newUser("10000000001"),
+                invalid
+        );
+
+        UserImportReport report = userImportService.importUsers(users);
+
+        assertEquals(1, report.inserted());
+        assertEquals(3, report.rejected());
+        assertEquals("CPF already registered", report.chunks().get(0).rejected().get(0).reason());
+        assertEquals(0, report.chunks().get(0).rejected().get(0).row());
+        assertEquals("Duplicate CPF in import", report.chunks().get(1).rejected().get(0).reason());
+        assertEquals(2, report.chunks().get(1).rejected().get(0).row());
+        assertTrue(report.chunks().get(1).rejected().get(1).reason().contains("CPF must have 11 characters"));
+        assertNull(report.chunks().get(1).failure());
+        assertEquals(2, userRepository.count());
+    }
+}
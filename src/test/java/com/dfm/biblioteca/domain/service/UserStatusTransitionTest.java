@@ -0,0 +1,122 @@
+package com.dfm.biblioteca.domain.service;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserStatusTransitionTest implements TestPropertyProvider {
+
+    @Inject
+    private UserService userService;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldApplyOnlyOneOfConcurrentTransitionsFromTheSameStatus() throws Exception {
+        User user = userRepository.save(newUser("10000000001"));
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> transition = () -> {
+                    start.await();
+                    return userService.changeStatus(user.getId(), User.UserStatus.REGULAR, User.UserStatus.BLOCKED, null);
+                };
+                results.add(executor.submit(transition));
+            }
+            start.countDown();
+
+            int applied = 0;
+            for (Future<Boolean> result : results) {
+                applied += result.get() ? 1 : 0;
+            }
+            assertEquals(1, applied);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(User.UserStatus.BLOCKED, stored.getStatus());
+        assertEquals(user.getVersion() + 1, stored.getVersion());
+    }
+
+    @Test
+    void shouldKeepDeadlineOnlyForPersonaNonGrata(){
+        User user = userRepository.save(newUser("10000000002"));
+        LocalDateTime until = LocalDateTime.now().plusDays(30).withNano(0);
+
+        assertTrue(userService.changeStatus(user.getId(), User.UserStatus.REGULAR, User.UserStatus.PERSONA_NON_GRATA, until));
+        assertEquals(until, userRepository.findById(user.getId()).orElseThrow().getPersonaNonGrataUntilDate());
+
+        assertTrue(userService.changeStatus(user.getId(), User.UserStatus.PERSONA_NON_GRATA, User.UserStatus.REGULAR, until));
+        assertNull(userRepository.findById(user.getId()).orElseThrow().getPersonaNonGrataUntilDate());
+
+        assertFalse(userService.changeStatus(user.getId() + 1000, User.UserStatus.REGULAR, User.UserStatus.BLOCKED, null));
+    }
+
+    @Test
+    void shouldRejectFullUpdateOfStaleEntity(){
+        User user = userRepository.save(newUser("10000000003"));
+        User stale = userRepository.findById(user.getId()).orElseThrow();
+
+        assertTrue(userService.changeStatus(user.getId(), User.UserStatus.REGULAR, User.UserStatus.BLOCKED, null));
+
+        stale.setFirstName("Outro");
+        assertThrows(OptimisticLockException.class, () -> userRepository.update(stale));
+        assertEquals(User.UserStatus.BLOCKED, userRepository.findById(user.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldInvalidateCachedUserAfterTransition(){
+        User user = userRepository.save(newUser("10000000004"));
+        assertEquals(User.UserStatus.REGULAR, userService.findByCpf("10000000004").orElseThrow().getStatus());
+
+        assertTrue(userService.changeStatus(user.getId(), User.UserStatus.REGULAR, User.UserStatus.BLOCKED, null));
+
+        assertEquals(User.UserStatus.BLOCKED, userService.findByCpf("10000000004").orElseThrow().getStatus());
+    }
+}
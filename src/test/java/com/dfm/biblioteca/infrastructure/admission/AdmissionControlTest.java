@@ -0,0 +1,184 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga com H2: consultas artificialmente lentas (CALL SLEEP) ocupam um pool de 2 conexões.
+ */
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AdmissionControlTest implements TestPropertyProvider {
+
+    private static final int SLOW_QUERY_MILLIS = 150;
+    private static final int SLOW_QUERY_WORKERS = 6;
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    private AdmissionController controller;
+
+    @Inject
+    private AdmissionEndpoint endpoint;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "datasources.default.maximum-pool-size", "2",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "micronaut.security.enabled", "false",
+                // Metade das aquisições sob carga não espera (a conexão volta para quem acabou de devolvê-la); um
+                // limite baixo mantém a média móvel acima dele enquanto houver fila no pool
+                "users.admission.pool-wait-threshold", "2ms",
+                "users.admission.max-queue-wait", "300ms"
+        );
+    }
+
+    @BeforeAll
+    void createSleepFunction() throws SQLException {
+        try (Connection connection = pool().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR 'java.lang.Thread.sleep(long)'");
+        }
+    }
+
+    @Test
+    void shouldShedBulkWritesAndQueueReadsWhileThePoolIsSaturated() throws Exception {
+        long bulkShed = controller.getShed(RequestPriority.BULK);
+        long readsDelayed = controller.getDelayed(RequestPriority.READ);
+
+        try (SlowQueries ignored = new SlowQueries()) {
+            awaitSteadySaturation();
+
+            HttpClientResponseException bulk = assertThrows(HttpClientResponseException.class,
+                    () -> client.toBlocking().exchange(HttpRequest.POST("/users/import", List.of())));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, bulk.getStatus());
+            assertEquals("1", bulk.getResponse().getHeaders().get("Retry-After"));
+            // Descartada sem passar pela fila
+            assertEquals(bulkShed + 1, controller.getShed(RequestPriority.BULK));
+            assertEquals(0, controller.getDelayed(RequestPriority.BULK));
+
+            // A leitura espera na fila em vez de ser descartada na hora. Se é liberada ou expira depende do tempo das
+            // consultas lentas; a ordem de liberação está em AdmissionControllerTest
+            try {
+                client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR"));
+            } catch (HttpClientResponseException e) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+            }
+            assertEquals(readsDelayed + 1, controller.getDelayed(RequestPriority.READ));
+        }
+
+        await(() -> !controller.isSaturated());
+        assertEquals(HttpStatus.OK, client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR")).getStatus());
+        HttpResponse<?> bulk = client.toBlocking().exchange(HttpRequest.POST("/users/import", List.of()));
+        assertEquals(HttpStatus.OK, bulk.getStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExposePoolOccupancyAndAcquireTime() throws Exception {
+        try (SlowQueries ignored = new SlowQueries()) {
+            awaitSteadySaturation();
+
+            Map<String, Object> pool = (Map<String, Object>) ((Map<String, Object>) endpoint.stats().get("connectionPools")).get("default");
+            assertEquals(2, pool.get("active"));
+            assertEquals(0, pool.get("idle"));
+            assertTrue((Integer) pool.get("pending") > 0);
+            Map<String, Object> acquireTime = (Map<String, Object>) pool.get("acquireTime");
+            assertTrue((Double) acquireTime.get("maxMs") >= SLOW_QUERY_MILLIS);
+            assertTrue((Double) acquireTime.get("recentMs") > 20);
+        }
+    }
+
+    private DataSource pool() {
+        return DelegatingDataSource.unwrapDataSource(dataSource);
+    }
+
+    // A média móvel da espera cruza o limite logo no início da carga e oscila ali; espera ela subir bem acima
+    @SuppressWarnings("unchecked")
+    private void awaitSteadySaturation() throws InterruptedException {
+        await(() -> {
+            Map<String, Object> pool = (Map<String, Object>) ((Map<String, Object>) endpoint.stats().get("connectionPools")).get("default");
+            Map<String, Object> acquireTime = (Map<String, Object>) pool.get("acquireTime");
+            return controller.isSaturated() && (Double) acquireTime.get("recentMs") > SLOW_QUERY_MILLIS / 3.0;
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the pool state");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Mais consultas lentas simultâneas que conexões no pool, até o close().
+     */
+    private final class SlowQueries implements AutoCloseable {
+
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final ExecutorService workers = Executors.newFixedThreadPool(SLOW_QUERY_WORKERS);
+        private final List<Future<?>> tasks = new ArrayList<>();
+
+        SlowQueries() {
+            for (int i = 0; i < SLOW_QUERY_WORKERS; i++) {
+                tasks.add(workers.submit(() -> {
+                    while (running.get()) {
+                        try (Connection connection = pool().getConnection();
+                             Statement statement = connection.createStatement()) {
+                            statement.execute("CALL SLEEP(" + SLOW_QUERY_MILLIS + ")");
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            running.set(false);
+            for (Future<?> task : tasks) {
+                task.get(10, TimeUnit.SECONDS);
+            }
+            workers.shutdown();
+        }
+    }
+}
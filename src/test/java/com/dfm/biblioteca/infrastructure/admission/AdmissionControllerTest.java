@@ -0,0 +1,72 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import com.dfm.biblioteca.infrastructure.metrics.ConnectionPoolMetrics;
+import io.micronaut.scheduling.ScheduledExecutorTaskScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conduz a fila de admissão chamando check() diretamente, com a saturação do pool controlada pelo teste.
+ */
+public class AdmissionControllerTest {
+
+    private final AtomicBoolean saturated = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionConfiguration configuration = new AdmissionConfiguration();
+        // O agendador nunca chega a rodar o check(): quem o chama é o teste
+        configuration.setCheckInterval(Duration.ofHours(1));
+        configuration.setMaxQueueWait(Duration.ofHours(1));
+        configuration.setReleaseBatch(1);
+        ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics() {
+            @Override
+            public boolean isSaturated(Duration threshold) {
+                return saturated.get();
+            }
+        };
+        executor = Executors.newSingleThreadScheduledExecutor();
+        controller = new AdmissionController(configuration, poolMetrics, new ScheduledExecutorTaskScheduler(executor));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReleaseQueuedReadsBeforeEarlierWrites() {
+        saturated.set(true);
+        CompletableFuture<Boolean> write = controller.admit(RequestPriority.WRITE);
+        CompletableFuture<Boolean> read = controller.admit(RequestPriority.READ);
+        assertFalse(write.isDone());
+        assertFalse(read.isDone());
+
+        controller.check();
+        assertFalse(write.isDone());
+        assertFalse(read.isDone());
+
+        saturated.set(false);
+        controller.check();
+        assertTrue(read.getNow(false));
+        assertFalse(write.isDone());
+
+        controller.check();
+        assertTrue(write.getNow(false));
+        assertEquals(1, controller.getDelayed(RequestPriority.WRITE));
+        assertEquals(1, controller.getDelayed(RequestPriority.READ));
+    }
+}
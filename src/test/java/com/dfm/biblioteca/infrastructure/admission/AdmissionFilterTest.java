@@ -0,0 +1,91 @@
+package com.dfm.biblioteca.infrastructure.admission;
+
+import com.dfm.biblioteca.infrastructure.metrics.ConnectionPoolMetrics;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Requisições que esperaram na fila de admissão, com a saturação do pool controlada pelo teste.
+ */
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AdmissionFilterTest implements TestPropertyProvider {
+
+    private static final AtomicBoolean SATURATED = new AtomicBoolean();
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private AdmissionController controller;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "micronaut.security.enabled", "false",
+                "users.admission.max-queue-wait", "10s",
+                "spec.name", "AdmissionFilterTest"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SATURATED.set(false);
+    }
+
+    @Test
+    void shouldServeARequestReleasedFromTheQueue() throws Exception {
+        long delayed = controller.getDelayed(RequestPriority.READ);
+        SATURATED.set(true);
+
+        CompletableFuture<HttpResponse<String>> response = CompletableFuture.supplyAsync(
+                () -> client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR"), String.class));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (controller.getDelayed(RequestPriority.READ) == delayed) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Request was never queued");
+            }
+            Thread.sleep(10);
+        }
+        SATURATED.set(false);
+
+        assertEquals(HttpStatus.OK, response.get(10, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Singleton
+    @Replaces(ConnectionPoolMetrics.class)
+    @Requires(property = "spec.name", value = "AdmissionFilterTest")
+    static class StubPoolMetrics extends ConnectionPoolMetrics {
+
+        @Override
+        public boolean isSaturated(Duration threshold) {
+            return SATURATED.get();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.dfm.biblioteca.infrastructure.cache;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.routing.ReadReplicaRouter;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserCpfCacheReplicaTest implements TestPropertyProvider {
+
+    private static final String CPF = "12345678901";
+
+    @Inject
+    private UserCpfCache userCpfCache;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ReadReplicaRouter router;
+
+    @Inject
+    private DataSource primary;
+
+    @Inject
+    @Named("replica")
+    private DataSource replica;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.ofEntries(
+                Map.entry("datasources.default.url", "jdbc:h2:mem:cacheprimary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Map.entry("datasources.default.driver-class-name", "org.h2.Driver"),
+                Map.entry("datasources.default.username", "sa"),
+                Map.entry("datasources.default.password", ""),
+                Map.entry("datasources.replica.url", "jdbc:h2:mem:cachereplica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Map.entry("datasources.replica.driver-class-name", "org.h2.Driver"),
+                Map.entry("datasources.replica.username", "sa"),
+                Map.entry("datasources.replica.password", ""),
+                Map.entry("jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"),
+                Map.entry("users.read-replica.enabled", "true"),
+                Map.entry("users.read-replica.check-interval", "1h"),
+                Map.entry("users.read-replica.max-lag", "5s"),
+                Map.entry("users.read-replica.lag-query", "")
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        userCpfCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotCacheValuesReadFromALaggingReplica() throws SQLException {
+        User saved = userRepository.save(newUser(CPF));
+        replicate();
+        assertTrue(router.check());
+
+        // A réplica fica parada com o usuário ainda REGULAR, mas dentro do max-lag
+        saved.setStatus(User.UserStatus.BLOCKED);
+        userRepository.update(saved);
+        assertEquals(User.UserStatus.REGULAR, userRepository.findByCpf(CPF).orElseThrow().getStatus());
+
+        assertEquals(User.UserStatus.BLOCKED, userCpfCache.findByCpf(CPF).orElseThrow().getStatus());
+        assertEquals(User.UserStatus.BLOCKED, userCpfCache.findByCpf(CPF).orElseThrow().getStatus());
+    }
+
+    // Copia o esquema e os dados do primário para a réplica, que depois não recebe mais nada
+    private void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection source = DelegatingDataSource.unwrapDataSource(primary).getConnection();
+             Statement statement = source.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+        try (Connection target = DelegatingDataSource.unwrapDataSource(replica).getConnection();
+             Statement statement = target.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
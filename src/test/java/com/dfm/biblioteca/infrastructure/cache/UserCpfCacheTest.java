@@ -0,0 +1,133 @@
+package com.dfm.biblioteca.infrastructure.cache;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserCpfCacheTest implements TestPropertyProvider {
+
+    private static final String CPF = "12345678901";
+    private static final String OTHER_CPF = "98765432100";
+
+    @Inject
+    private UserCpfCache userCpfCache;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.cpf-cache.negative-expire-after-write", "200ms"
+        );
+    }
+
+    @BeforeEach
+    void setUp(){
+        userCpfCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeSecondLookupFromCache(){
+        userRepository.save(newUser(CPF));
+        long hits = userCpfCache.stats().hitCount();
+
+        assertTrue(userCpfCache.findByCpf(CPF).isPresent());
+        assertTrue(userCpfCache.existsByCpf(CPF));
+
+        assertEquals(hits + 1, userCpfCache.stats().hitCount());
+    }
+
+    @Test
+    void shouldNotServeStaleStatusAfterBlock(){
+        User saved = userRepository.save(newUser(CPF));
+        assertEquals(User.UserStatus.REGULAR, userCpfCache.findByCpf(CPF).get().getStatus());
+
+        saved.setStatus(User.UserStatus.BLOCKED);
+        userRepository.update(saved);
+
+        assertEquals(User.UserStatus.BLOCKED, userCpfCache.findByCpf(CPF).get().getStatus());
+    }
+
+    @Test
+    void shouldForgetNegativeLookupAfterInsert(){
+        assertFalse(userCpfCache.existsByCpf(CPF));
+
+        userRepository.save(newUser(CPF));
+
+        assertTrue(userCpfCache.existsByCpf(CPF));
+    }
+
+    @Test
+    void shouldExpireNegativeLookupOfCpfInsertedElsewhere() throws InterruptedException {
+        userRepository.save(newUser(CPF));
+        assertFalse(userCpfCache.existsByCpf(OTHER_CPF));
+
+        // Outra instância: a linha chega ao banco sem o evento que invalidaria o cache
+        transactionOperations.executeWrite(status -> status.getConnection()
+                .createNativeMutationQuery("INSERT INTO users (id, first_name, last_name, birth_date, cpf, nationality_id, "
+                        + "street, number, neighborhood, zip_code, city_id, state, country_id, status, created_at, updated_at, "
+                        + "version) SELECT id + 1, first_name, last_name, birth_date, :cpf, nationality_id, street, number, "
+                        + "neighborhood, zip_code, city_id, state, country_id, status, created_at, updated_at, version "
+                        + "FROM users WHERE cpf = :source")
+                .setParameter("cpf", OTHER_CPF)
+                .setParameter("source", CPF)
+                .executeUpdate());
+        assertFalse(userCpfCache.existsByCpf(OTHER_CPF));
+        Thread.sleep(300);
+
+        assertTrue(userCpfCache.existsByCpf(OTHER_CPF));
+    }
+
+    @Test
+    void shouldInvalidateOnBulkDeletes(){
+        User saved = userRepository.save(newUser(CPF));
+        assertTrue(userCpfCache.existsByCpf(CPF));
+        userRepository.deleteByIdAndStatus(saved.getId(), User.UserStatus.REGULAR);
+        assertFalse(userCpfCache.existsByCpf(CPF));
+
+        userRepository.save(newUser(CPF));
+        assertTrue(userCpfCache.existsByCpf(CPF));
+        userRepository.deleteAllByStatus(User.UserStatus.REGULAR);
+        assertFalse(userCpfCache.existsByCpf(CPF));
+    }
+
+    @Test
+    void shouldReturnCopiesThatDoNotChangeTheCache(){
+        userRepository.save(newUser(CPF));
+
+        userCpfCache.findByCpf(CPF).get().setStatus(User.UserStatus.PERSONA_NON_GRATA);
+
+        assertEquals(User.UserStatus.REGULAR, userCpfCache.findByCpf(CPF).get().getStatus());
+    }
+}
@@ -0,0 +1,132 @@
+package com.dfm.biblioteca.infrastructure.counter;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserStatusCountersTest implements TestPropertyProvider {
+
+    @Inject
+    private UserStatusCounters counters;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"
+        );
+    }
+
+    @BeforeEach
+    void setUp(){
+        counters.reconcile();
+        assertTrue(counters.isReady());
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFollowInsertStatusChangeAndDelete(){
+        User first = userRepository.save(newUser("12345678901"));
+        userRepository.save(newUser("12345678902"));
+        assertEquals(2, counters.count(User.UserStatus.REGULAR));
+
+        first.setStatus(User.UserStatus.BLOCKED);
+        userRepository.update(first);
+        assertEquals(1, counters.count(User.UserStatus.REGULAR));
+        assertEquals(1, counters.count(User.UserStatus.BLOCKED));
+
+        userRepository.delete(userRepository.findById(first.getId()).get());
+        assertEquals(0, counters.count(User.UserStatus.BLOCKED));
+    }
+
+    @Test
+    void shouldSubtractBulkDeleteByStatus(){
+        userRepository.save(newUser("12345678901"));
+        userRepository.save(newUser("12345678902"));
+        User blocked = newUser("12345678903");
+        blocked.setStatus(User.UserStatus.BLOCKED);
+        userRepository.save(blocked);
+
+        assertEquals(2, userRepository.deleteAllByStatus(User.UserStatus.REGULAR));
+
+        assertEquals(0, counters.count(User.UserStatus.REGULAR));
+        assertEquals(1, counters.count(User.UserStatus.BLOCKED));
+    }
+
+    @Test
+    void shouldReportAndCorrectDriftOnReconcile() throws SQLException {
+        userRepository.save(newUser("12345678901"));
+        long totalDrift = counters.totalDrift();
+
+        // UPDATE direto no banco não gera evento: os contadores ficam defasados até a reconciliação
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE users SET status = 'BLOCKED'");
+        }
+        assertEquals(1, counters.count(User.UserStatus.REGULAR));
+
+        counters.reconcile();
+
+        assertEquals(0, counters.count(User.UserStatus.REGULAR));
+        assertEquals(1, counters.count(User.UserStatus.BLOCKED));
+        assertEquals(1, counters.lastDrift(User.UserStatus.BLOCKED));
+        assertEquals(totalDrift + 2, counters.totalDrift());
+    }
+
+    @Test
+    void shouldReconcileWhileAChangeIsInFlight() throws SQLException {
+        userRepository.save(newUser("12345678901"));
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE users SET status = 'BLOCKED'");
+        }
+
+        // A inserção já foi ao banco mas ainda não tem commit quando a reconciliação lê os totais
+        transactionOperations.executeWrite(status -> {
+            userRepository.save(newUser("12345678902"));
+            status.getConnection().flush();
+            CompletableFuture.runAsync(counters::reconcile).join();
+            return null;
+        });
+
+        assertEquals(1, counters.count(User.UserStatus.REGULAR));
+        assertEquals(1, counters.count(User.UserStatus.BLOCKED));
+        assertTrue(counters.isReady());
+    }
+}
@@ -0,0 +1,72 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Usa o modo padrão (BLOCKING), que no JDK 21 também roda em virtual threads e por isso recebe as permissões.
+ */
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConnectionPermitsTest implements TestPropertyProvider {
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    @Named(UserExecutorFactory.EXECUTOR)
+    private ExecutorService usersExecutor;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "datasources.default.maximum-pool-size", "2",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.execution.permit-timeout", "200ms"
+        );
+    }
+
+    @Test
+    void shouldRunRequestsOnVirtualThreads() throws Exception {
+        assertTrue(usersExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+    }
+
+    @Test
+    void shouldLimitConnectionsToPoolSize() throws Exception {
+        PermitDataSource permits = DelegatingDataSource.unwrapDataSource(dataSource).unwrap(PermitDataSource.class);
+        assertEquals(2, permits.getSize());
+
+        Connection first = permits.getConnection();
+        try (Connection ignored = permits.getConnection()) {
+            assertEquals(0, permits.getAvailablePermits());
+            assertThrows(SQLTransientConnectionException.class, permits::getConnection);
+            assertEquals(1, permits.getTimeouts());
+
+            first.close();
+            first.close();
+            try (Connection third = permits.getConnection()) {
+                assertTrue(third.isValid(1));
+            }
+        }
+        assertEquals(2, permits.getAvailablePermits());
+    }
+}
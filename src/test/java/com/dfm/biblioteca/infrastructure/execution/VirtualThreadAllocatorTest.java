@@ -0,0 +1,43 @@
+package com.dfm.biblioteca.infrastructure.execution;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class VirtualThreadAllocatorTest {
+
+    private final PooledByteBufAllocator pooled = new PooledByteBufAllocator(false);
+    private final VirtualThreadAllocator allocator = new VirtualThreadAllocator(pooled);
+
+    @Test
+    void shouldKeepPlatformThreadsOnThePooledAllocator() {
+        ByteBuf buffer = allocator.buffer();
+        try {
+            assertSame(pooled, buffer.alloc());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    void shouldGrowBuffersOfVirtualThreadsOutsideThePool() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ByteBuf buffer = executor.submit(() -> {
+                ByteBuf grown = allocator.buffer(16);
+                grown.writeBytes(new byte[4096]);
+                return grown;
+            }).get();
+            try {
+                assertNotSame(pooled, buffer.alloc());
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dfm.biblioteca.infrastructure.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpfBloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void shouldNeverReturnFalseNegatives(){
+        CpfBloomFilter filter = CpfBloomFilter.create(INSERTIONS, 0.01);
+        for (long i = 0; i < INSERTIONS; i++) {
+            filter.put(cpf(i));
+        }
+
+        for (long i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(cpf(i)), cpf(i));
+        }
+    }
+
+    @Test
+    void shouldStayCloseToConfiguredFalsePositiveRate(){
+        CpfBloomFilter filter = CpfBloomFilter.create(INSERTIONS, 0.01);
+        for (long i = 0; i < INSERTIONS; i++) {
+            filter.put(cpf(i));
+        }
+
+        int falsePositives = 0;
+        for (long i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain(cpf(50_000_000_000L + i))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / INSERTIONS;
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+        assertTrue(filter.estimatedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void shouldAcceptNonNumericKeys(){
+        CpfBloomFilter filter = CpfBloomFilter.create(10, 0.01);
+        filter.put("123.456.789-01");
+
+        assertTrue(filter.mightContain("123.456.789-01"));
+    }
+
+    @Test
+    void shouldRejectInvalidSizing(){
+        assertThrows(IllegalArgumentException.class, () -> CpfBloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> CpfBloomFilter.create(10, 1));
+    }
+
+    private static String cpf(long value) {
+        return String.format("%011d", value);
+    }
+}
@@ -0,0 +1,125 @@
+package com.dfm.biblioteca.infrastructure.filter;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.domain.service.UserService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserCpfFilterTest implements TestPropertyProvider {
+
+    private static final String CPF = "12345678901";
+    private static final String ABSENT_CPF = "98765432100";
+
+    @Inject
+    private UserCpfFilter userCpfFilter;
+
+    @Inject
+    private UserService userService;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAnswerDefiniteNoForAbsentCpf(){
+        userRepository.save(newUser(CPF));
+        userCpfFilter.rebuild();
+        long negatives = userCpfFilter.getDefiniteNegatives();
+
+        assertFalse(userService.existsByCpf(ABSENT_CPF));
+        assertFalse(userService.findByCpf(ABSENT_CPF).isPresent());
+
+        assertTrue(negatives + 2 <= userCpfFilter.getDefiniteNegatives());
+    }
+
+    @Test
+    void shouldSeeCpfInsertedAfterBuild(){
+        userCpfFilter.rebuild();
+
+        userRepository.save(newUser(CPF));
+
+        assertTrue(userCpfFilter.mightContain(CPF));
+        assertTrue(userService.existsByCpf(CPF));
+    }
+
+    @Test
+    void shouldSeeCpfCommittedWhileRebuilding() throws Exception {
+        userCpfFilter.rebuild();
+
+        // Flush antes da reconstrução, commit depois dela: a leitura não enxerga a linha ainda não confirmada
+        transactionOperations.executeWrite(status -> {
+            userRepository.save(newUser(CPF));
+            status.getConnection().flush();
+            CompletableFuture.runAsync(userCpfFilter::rebuild).join();
+            return null;
+        });
+
+        assertTrue(userCpfFilter.mightContain(CPF));
+        assertTrue(userService.existsByCpf(CPF));
+    }
+
+    @Test
+    void shouldSeeCpfInsertedByAnotherInstanceAfterRefresh(){
+        userRepository.save(newUser(CPF));
+        userCpfFilter.rebuild();
+
+        // Outra instância: a linha chega ao banco sem passar pelos eventos desta
+        transactionOperations.executeWrite(status -> status.getConnection()
+                .createNativeMutationQuery("INSERT INTO users (id, first_name, last_name, birth_date, cpf, nationality_id, "
+                        + "street, number, neighborhood, zip_code, city_id, state, country_id, status, created_at, updated_at, "
+                        + "version) SELECT id + 1, first_name, last_name, birth_date, :cpf, nationality_id, street, number, "
+                        + "neighborhood, zip_code, city_id, state, country_id, status, created_at, updated_at, version "
+                        + "FROM users WHERE cpf = :source")
+                .setParameter("cpf", ABSENT_CPF)
+                .setParameter("source", CPF)
+                .executeUpdate());
+        userCpfFilter.refresh();
+
+        assertTrue(userCpfFilter.mightContain(ABSENT_CPF));
+        assertTrue(userService.existsByCpf(ABSENT_CPF));
+    }
+
+    @Test
+    void shouldConfirmRemovedCpfAgainstDatabase(){
+        User saved = userRepository.save(newUser(CPF));
+        userCpfFilter.rebuild();
+
+        userRepository.deleteById(saved.getId());
+
+        assertFalse(userService.existsByCpf(CPF));
+    }
+}
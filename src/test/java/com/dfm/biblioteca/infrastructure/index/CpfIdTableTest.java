@@ -0,0 +1,80 @@
+package com.dfm.biblioteca.infrastructure.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpfIdTableTest {
+
+    @Test
+    void shouldPackAndUnpackCpf(){
+        assertEquals(12345678901L, CpfCodec.pack("12345678901"));
+        assertEquals(1L, CpfCodec.pack("00000000001"));
+        assertEquals("00000000001", CpfCodec.unpack(1L));
+        assertEquals("99999999999", CpfCodec.unpack(CpfCodec.pack("99999999999")));
+    }
+
+    @Test
+    void shouldRejectMalformedCpf(){
+        assertEquals(CpfCodec.INVALID, CpfCodec.pack(null));
+        assertEquals(CpfCodec.INVALID, CpfCodec.pack("1234567890"));
+        assertEquals(CpfCodec.INVALID, CpfCodec.pack("123.456.789-01"));
+        assertEquals(CpfCodec.INVALID, CpfCodec.pack("1234567890a"));
+        assertThrows(IllegalArgumentException.class, () -> CpfCodec.unpack(-1L));
+    }
+
+    @Test
+    void shouldGrowAndKeepEveryEntry(){
+        CpfIdTable table = new CpfIdTable(1);
+        for (long cpf = 0; cpf < 50_000; cpf++) {
+            table.put(cpf, cpf + 1);
+        }
+
+        assertEquals(50_000, table.size());
+        for (long cpf = 0; cpf < 50_000; cpf++) {
+            assertEquals(cpf + 1, table.get(cpf));
+        }
+        assertEquals(CpfIdTable.MISSING, table.get(50_000));
+    }
+
+    @Test
+    void shouldOnlyRemoveCurrentMapping(){
+        CpfIdTable table = new CpfIdTable(16);
+        table.put(12345678901L, 1);
+        table.put(12345678901L, 2);
+
+        assertFalse(table.remove(12345678901L, 1));
+        assertEquals(2, table.get(12345678901L));
+        assertTrue(table.remove(12345678901L, 2));
+        assertEquals(CpfIdTable.MISSING, table.get(12345678901L));
+    }
+
+    @Test
+    void shouldMatchHashMapUnderRandomPutsAndRemoves(){
+        CpfIdTable table = new CpfIdTable(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long cpf = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                table.put(cpf, i);
+                expected.put(cpf, (long) i);
+            } else if (expected.containsKey(cpf)) {
+                assertTrue(table.remove(cpf, expected.remove(cpf)));
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (long cpf = 0; cpf < 5_000; cpf++) {
+            assertEquals(expected.getOrDefault(cpf, CpfIdTable.MISSING), table.get(cpf));
+        }
+    }
+}
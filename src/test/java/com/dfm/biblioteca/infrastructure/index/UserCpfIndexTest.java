@@ -0,0 +1,78 @@
+package com.dfm.biblioteca.infrastructure.index;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserCpfIndexTest implements TestPropertyProvider {
+
+    private static final String CPF = "12345678901";
+    private static final String OTHER_CPF = "98765432100";
+
+    @Inject
+    private UserCpfIndex userCpfIndex;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"
+        );
+    }
+
+    @BeforeEach
+    void setUp(){
+        userCpfIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFollowInsertCpfChangeAndDelete(){
+        User saved = userRepository.save(newUser(CPF));
+        assertEquals(saved.getId(), userCpfIndex.idFor(CPF));
+
+        saved.setCpf(OTHER_CPF);
+        userRepository.update(saved);
+        assertEquals(CpfIdTable.MISSING, userCpfIndex.idFor(CPF));
+        assertEquals(saved.getId(), userCpfIndex.idFor(OTHER_CPF));
+
+        userRepository.delete(userRepository.findById(saved.getId()).get());
+        assertEquals(CpfIdTable.MISSING, userCpfIndex.idFor(OTHER_CPF));
+    }
+
+    @Test
+    void shouldLoadExistingUsersOnRebuild(){
+        User saved = userRepository.save(newUser(CPF));
+        userCpfIndex.rebuild();
+
+        assertTrue(userCpfIndex.isReady());
+        assertEquals(saved.getId(), userCpfIndex.idFor(CPF));
+        assertEquals(saved.getId(), userCpfIndex.findByCpf(CPF).get().getId());
+        assertFalse(userCpfIndex.findByCpf(OTHER_CPF).isPresent());
+    }
+}
@@ -0,0 +1,37 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinBucketError(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMaxMicros());
+        assertEquals(500.5, histogram.getMeanMicros(), 0.001);
+        assertBetween(500, 500 * 1.125, histogram.percentileMicros(0.50));
+        assertBetween(990, 990 * 1.125, histogram.percentileMicros(0.99));
+        assertEquals(1000, histogram.percentileMicros(1.0));
+    }
+
+    @Test
+    void shouldMapEveryValueToTheBucketThatContainsIt(){
+        for (long micros : new long[]{0, 7, 8, 9, 15, 16, 1023, 1024, 123_456_789L}) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.upperBound(index) >= micros);
+            assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < micros);
+        }
+    }
+
+    private static void assertBetween(double min, double max, long value){
+        assertTrue(value >= min && value <= max, value + " not in [" + min + ", " + max + "]");
+    }
+}
@@ -0,0 +1,107 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RepositoryMetricsTest implements TestPropertyProvider {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private RepositoryMetricsInterceptor interceptor;
+
+    @Inject
+    private RequestStatementMetrics requestStatementMetrics;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "micronaut.security.enabled", "false",
+                "users.repository-metrics.slow-query-threshold", "0ms",
+                "users.repository-metrics.request-statement-threshold", "0"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRecordCallsRowsAndErrorsPerMethod(){
+        userRepository.save(newUser("10000000001"));
+        userRepository.save(newUser("10000000002"));
+        RepositoryMethodMetrics before = metrics("UserRepository.listByStatus(UserStatus)");
+        long calls = before == null ? 0 : before.getCalls();
+        long rows = before == null ? 0 : before.getRows();
+
+        userRepository.listByStatus(User.UserStatus.REGULAR);
+        userRepository.listByStatus(User.UserStatus.BLOCKED);
+
+        RepositoryMethodMetrics listByStatus = metrics("UserRepository.listByStatus(UserStatus)");
+        assertEquals(calls + 2, listByStatus.getCalls());
+        assertEquals(rows + 2, listByStatus.getRows());
+        assertEquals(calls + 2, listByStatus.getSlowCalls());
+        assertTrue(listByStatus.getLatency().percentileMicros(0.99) <= listByStatus.getLatency().getMaxMicros());
+
+        long errors = metrics("UserRepository.save(User)").getErrors();
+        assertThrows(RuntimeException.class, () -> userRepository.save(newUser("10000000001")));
+        assertEquals(errors + 1, metrics("UserRepository.save(User)").getErrors());
+    }
+
+    @Test
+    void shouldCountStatementsPerRequestRoute(){
+        userRepository.save(newUser("10000000003"));
+
+        client.toBlocking().retrieve(HttpRequest.GET("/users/cpf/10000000003/status"));
+
+        RequestStatementMetrics.Route route = requestStatementMetrics.getRoutes().get("GET /users/cpf/{cpf}/status");
+        assertEquals(1, route.getRequests());
+        assertTrue(route.getMaxStatements() >= 1);
+        assertEquals(1, route.getFlagged());
+    }
+
+    @Test
+    void shouldGroupRequestsWithoutRouteUnderOneKey(){
+        for (String path : List.of("/missing/1", "/missing/2")) {
+            assertThrows(HttpClientResponseException.class, () -> client.toBlocking().retrieve(HttpRequest.GET(path)));
+        }
+
+        assertEquals(2, requestStatementMetrics.getRoutes().get(RequestStatementFilter.UNMATCHED).getRequests());
+        assertTrue(requestStatementMetrics.getRoutes().keySet().stream().noneMatch(route -> route.contains("/missing")));
+    }
+
+    private RepositoryMethodMetrics metrics(String method){
+        return interceptor.getMetrics().get(method);
+    }
+}
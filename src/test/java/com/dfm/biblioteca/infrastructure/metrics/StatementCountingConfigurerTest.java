@@ -0,0 +1,78 @@
+package com.dfm.biblioteca.infrastructure.metrics;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StatementCountingConfigurerTest implements TestPropertyProvider {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private RequestStatementMetrics requestStatementMetrics;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "jpa.default.properties.hibernate.session_factory.statement_inspector", RecordingInspector.class.getName(),
+                "micronaut.security.enabled", "false"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldKeepCountingWhenAnotherInspectorIsConfigured(){
+        userRepository.save(newUser("10000000004"));
+        int inspected = RecordingInspector.INSPECTED.get();
+
+        client.toBlocking().retrieve(HttpRequest.GET("/users/cpf/10000000004/status"));
+
+        RequestStatementMetrics.Route route = requestStatementMetrics.getRoutes().get("GET /users/cpf/{cpf}/status");
+        assertEquals(1, route.getRequests());
+        assertTrue(route.getMaxStatements() >= 1);
+        assertTrue(RecordingInspector.INSPECTED.get() > inspected);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final AtomicInteger INSPECTED = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            INSPECTED.incrementAndGet();
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.dfm.biblioteca.infrastructure.persistence;
+
+import com.dfm.biblioteca.UserFixtures;
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import com.dfm.biblioteca.infrastructure.reference.ReferenceKind;
+import com.dfm.biblioteca.infrastructure.reference.ReferenceNameCache;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserAddressMigrationTest implements TestPropertyProvider {
+
+    @Inject
+    private UserAddressMigration userAddressMigration;
+
+    @Inject
+    private ReferenceNameCache referenceNameCache;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private DataSource dataSource;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.address-migration.chunk-size", "1"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldStoreEachReferenceNameOnceAndShareItsInstance() throws Exception {
+        // Instâncias distintas do mesmo texto, como viriam de JSONs diferentes
+        userRepository.save(newUser("10000000001", new String("Belo Horizonte")));
+        userRepository.save(newUser("10000000002", new String("Belo Horizonte")));
+        userRepository.save(newUser("10000000003", "Contagem"));
+
+        User first = userRepository.findCompleteByCpf("10000000001").orElseThrow();
+        User second = userRepository.findCompleteByCpf("10000000002").orElseThrow();
+        assertEquals("Belo Horizonte", first.getCity());
+        assertSame(first.getCity(), second.getCity());
+        assertSame(first.getCountry(), second.getCountry());
+        assertEquals("Contagem", userRepository.findCompleteByCpf("10000000003").orElseThrow().getCity());
+
+        assertEquals(2, count("SELECT COUNT(*) FROM cities"));
+        assertEquals(1, count("SELECT COUNT(DISTINCT city_id) FROM users WHERE cpf IN ('10000000001', '10000000002')"));
+        assertEquals(2, referenceNameCache.size(ReferenceKind.CITY));
+    }
+
+    @Test
+    void shouldMoveLegacyTextColumnsToReferenceTables() throws Exception {
+        userRepository.save(newUser("20000000001", "Belo Horizonte"));
+        userRepository.save(newUser("20000000002", "Belo Horizonte"));
+        userRepository.save(newUser("20000000003", "Belo Horizonte"));
+        // Simula a base antiga depois do hbm2ddl: nomes só nas colunas de texto e ids 0 (default implícito do MySQL)
+        execute("ALTER TABLE users ADD COLUMN city VARCHAR(100)",
+                "ALTER TABLE users ADD COLUMN country VARCHAR(100)",
+                "ALTER TABLE users ADD COLUMN nationality VARCHAR(100)",
+                "UPDATE users SET city = 'Ouro Preto', country = 'Brasil', nationality = 'Portuguesa', "
+                        + "city_id = 0, country_id = 0, nationality_id = 0");
+
+        assertEquals(3, userAddressMigration.migrate());
+
+        User migrated = userRepository.findCompleteByCpf("20000000002").orElseThrow();
+        assertEquals("Ouro Preto", migrated.getCity());
+        assertEquals("Brasil", migrated.getCountry());
+        assertEquals("Portuguesa", migrated.getNationality());
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE city_id = 0 OR country_id = 0 OR nationality_id = 0"));
+        // O expand não remove as colunas antigas
+        assertEquals(3, count("SELECT COUNT(city) FROM users"));
+
+        assertEquals(3, userAddressMigration.contract());
+        assertThrows(SQLException.class, () -> count("SELECT COUNT(city) FROM users"));
+
+        // Sem colunas antigas a migração não faz nada
+        assertEquals(0, userAddressMigration.migrate());
+        assertEquals(0, userAddressMigration.contract());
+        userRepository.save(newUser("20000000004", "Ouro Preto"));
+        assertSame(migrated.getCity(), userRepository.findCompleteByCpf("20000000004").orElseThrow().getCity());
+    }
+
+    @Test
+    void shouldKeepLegacyColumnsWhileRowsWrittenAfterTheFillHaveNoIds() throws Exception {
+        userRepository.save(newUser("30000000001", "Belo Horizonte"));
+        userRepository.save(newUser("30000000002", "Belo Horizonte"));
+        execute("ALTER TABLE users ADD COLUMN city VARCHAR(100)",
+                "ALTER TABLE users ADD COLUMN country VARCHAR(100)",
+                "ALTER TABLE users ADD COLUMN nationality VARCHAR(100)",
+                "UPDATE users SET city = 'Ouro Preto', country = 'Brasil', nationality = 'Portuguesa'",
+                "ALTER TABLE users ALTER COLUMN city SET NOT NULL");
+        assertEquals(3, userAddressMigration.migrate());
+
+        // Instâncias antigas gravam só o texto depois do preenchimento: uma linha sem id e outra com o id antigo
+        execute("UPDATE users SET city = 'Mariana', city_id = 0 WHERE cpf = '30000000001'",
+                "UPDATE users SET city = 'Sabará' WHERE cpf = '30000000002'");
+        // O expand tirou o NOT NULL da coluna antiga: as instâncias novas gravam sem ela
+        userRepository.save(newUser("30000000003", "Belo Horizonte"));
+
+        assertEquals(0, userAddressMigration.contract());
+        assertEquals(2, count("SELECT COUNT(city) FROM users"));
+
+        // O preenchimento periódico completa os ids sem esperar outra subida, e a remoção passa
+        userAddressMigration.scheduledRefill();
+        assertEquals(3, userAddressMigration.contract());
+        assertEquals("Mariana", userRepository.findCompleteByCpf("30000000001").orElseThrow().getCity());
+        assertEquals("Sabará", userRepository.findCompleteByCpf("30000000002").orElseThrow().getCity());
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private void execute(String... sqls) throws SQLException {
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private User newUser(String cpf, String city){
+        User user = UserFixtures.newUser(cpf);
+        user.setCity(city);
+        return user;
+    }
+}
@@ -0,0 +1,110 @@
+package com.dfm.biblioteca.infrastructure.reference;
+
+import com.dfm.biblioteca.UserFixtures;
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReferenceNameCacheTest implements TestPropertyProvider {
+
+    private static final String URL = "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Inject
+    private ReferenceNameCache referenceNameCache;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", URL,
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                // Uma conexão só: a resolução de um nome novo não pode pedir outra ao pool durante o flush
+                "datasources.default.maximum-pool-size", "1",
+                "datasources.default.connection-timeout", "2000",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldInsertNewNamesWithoutASecondPoolConnection() {
+        int cities = referenceNameCache.size(ReferenceKind.CITY);
+
+        userRepository.save(newUser("20000000001", "Betim"));
+        userRepository.save(newUser("20000000002", "Betim"));
+
+        assertEquals("Betim", userRepository.findCompleteByCpf("20000000002").orElseThrow().getCity());
+        assertEquals(cities + 1, referenceNameCache.size(ReferenceKind.CITY));
+    }
+
+    @Test
+    void shouldKeepNamesInsertedForARolledBackTransaction() {
+        int cities = referenceNameCache.size(ReferenceKind.CITY);
+
+        assertThrows(IllegalStateException.class, () -> transactionOperations.executeWrite(status -> {
+            userRepository.save(newUser("20000000003", "Sabará"));
+            status.getConnection().flush();
+            throw new IllegalStateException("rollback");
+        }));
+        assertEquals(cities + 1, referenceNameCache.size(ReferenceKind.CITY));
+
+        userRepository.save(newUser("20000000003", "Sabará"));
+
+        assertEquals("Sabará", userRepository.findCompleteByCpf("20000000003").orElseThrow().getCity());
+        assertEquals(cities + 1, referenceNameCache.size(ReferenceKind.CITY));
+    }
+
+    @Test
+    void shouldNotHoldReferenceRowLocksUntilTheFlushCommits() {
+        transactionOperations.executeWrite(status -> {
+            userRepository.save(newUser("20000000004", "Contagem"));
+            status.getConnection().flush();
+            // Outra importação grava a mesma cidade enquanto a transação que a criou segue aberta
+            try (Connection other = DriverManager.getConnection(URL, "sa", "");
+                 Statement statement = other.createStatement()) {
+                assertEquals(1, statement.executeUpdate("UPDATE " + ReferenceKind.CITY.getTable()
+                        + " SET name = name WHERE name = 'Contagem'"));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        assertEquals("Contagem", userRepository.findCompleteByCpf("20000000004").orElseThrow().getCity());
+    }
+
+    private User newUser(String cpf, String city){
+        User user = UserFixtures.newUser(cpf);
+        user.setCity(city);
+        return user;
+    }
+}
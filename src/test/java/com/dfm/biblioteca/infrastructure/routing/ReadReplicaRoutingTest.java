@@ -0,0 +1,149 @@
+package com.dfm.biblioteca.infrastructure.routing;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReadReplicaRoutingTest implements TestPropertyProvider {
+
+    private static final String CPF = "12345678901";
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ReadReplicaRouter router;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Inject
+    private DataSource primary;
+
+    @Inject
+    @Named("replica")
+    private DataSource replica;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.ofEntries(
+                Map.entry("datasources.default.url", "jdbc:h2:mem:routingprimary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Map.entry("datasources.default.driver-class-name", "org.h2.Driver"),
+                Map.entry("datasources.default.username", "sa"),
+                Map.entry("datasources.default.password", ""),
+                Map.entry("datasources.replica.url", "jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Map.entry("datasources.replica.driver-class-name", "org.h2.Driver"),
+                Map.entry("datasources.replica.username", "sa"),
+                Map.entry("datasources.replica.password", ""),
+                Map.entry("jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"),
+                Map.entry("users.read-replica.enabled", "true"),
+                Map.entry("users.read-replica.check-interval", "1h"),
+                Map.entry("users.read-replica.max-lag", "5s"),
+                Map.entry("users.read-replica.lag-query", "SELECT lag_seconds FROM replication_status")
+        );
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicate(0);
+        assertTrue(router.check());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldSendReadOnlyWorkToReplica() throws SQLException {
+        userRepository.save(newUser(CPF));
+
+        assertFalse(userRepository.findByCpf(CPF).isPresent());
+        assertFalse(transactionOperations.<Boolean>executeRead(status -> userRepository.existsByCpf(CPF)));
+        assertTrue(transactionOperations.<Boolean>executeWrite(status -> userRepository.existsByCpf(CPF)));
+
+        replicate(0);
+
+        assertTrue(userRepository.findByCpf(CPF).isPresent());
+    }
+
+    @Test
+    void shouldReadOwnWritesWithinScope() {
+        try (PropagatedContext.Scope ignored = ReadYourWrites.open()) {
+            assertFalse(userRepository.existsByCpf(CPF));
+
+            userRepository.save(newUser(CPF));
+
+            assertTrue(userRepository.findByCpf(CPF).isPresent());
+        }
+
+        assertFalse(userRepository.findByCpf(CPF).isPresent());
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaLags() throws SQLException {
+        replicate(60);
+        assertFalse(router.check());
+
+        userRepository.save(newUser(CPF));
+        assertTrue(userRepository.findByCpf(CPF).isPresent());
+
+        setLag(0);
+        assertTrue(router.check());
+        assertFalse(userRepository.findByCpf(CPF).isPresent());
+    }
+
+    // Simula a replicação copiando o esquema e os dados do primário para a réplica
+    private void replicate(double lagSeconds) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection source = DelegatingDataSource.unwrapDataSource(primary).getConnection();
+             Statement statement = source.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+        try (Connection target = DelegatingDataSource.unwrapDataSource(replica).getConnection();
+             Statement statement = target.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+            statement.execute("CREATE TABLE replication_status(lag_seconds DOUBLE)");
+            statement.execute("INSERT INTO replication_status VALUES (" + lagSeconds + ")");
+        }
+    }
+
+    private void setLag(double lagSeconds) throws SQLException {
+        try (Connection target = DelegatingDataSource.unwrapDataSource(replica).getConnection();
+             Statement statement = target.createStatement()) {
+            statement.execute("UPDATE replication_status SET lag_seconds = " + lagSeconds);
+        }
+    }
+}
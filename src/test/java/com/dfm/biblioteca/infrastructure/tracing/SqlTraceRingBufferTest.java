@@ -0,0 +1,103 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlTraceRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityToPowerOfTwo() {
+        assertEquals(8, new SqlTraceRingBuffer(5).capacity());
+        assertEquals(8192, new SqlTraceRingBuffer(8192).capacity());
+    }
+
+    @Test
+    void shouldDeliverInOrderAndDropOldestWhenLapped() {
+        SqlTraceRingBuffer buffer = new SqlTraceRingBuffer(4);
+        for (int i = 0; i < 6; i++) {
+            publish(buffer);
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        assertEquals(4, buffer.drain(event -> sequences.add(event.sequence())));
+
+        assertEquals(List.of(2L, 3L, 4L, 5L), sequences);
+        assertEquals(2, buffer.dropped());
+        assertEquals(0, buffer.drain(event -> sequences.add(event.sequence())));
+    }
+
+    @Test
+    void shouldWaitForClaimedEventsNotYetPublished() {
+        SqlTraceRingBuffer buffer = new SqlTraceRingBuffer(8);
+        publish(buffer);
+        long pending = buffer.claim();
+        publish(buffer);
+
+        List<Long> sequences = new ArrayList<>();
+        buffer.drain(event -> sequences.add(event.sequence()));
+        assertEquals(List.of(0L), sequences);
+
+        buffer.publish(event(pending));
+        buffer.drain(event -> sequences.add(event.sequence()));
+        assertEquals(List.of(0L, 1L, 2L), sequences);
+        assertEquals(0, buffer.dropped());
+    }
+
+    @Test
+    void shouldNotLetALappedProducerOverwriteANewerEvent() {
+        SqlTraceRingBuffer buffer = new SqlTraceRingBuffer(4);
+        long stalled = buffer.claim();
+        for (int i = 0; i < 4; i++) {
+            publish(buffer);
+        }
+        // Grava depois que o sequencial 4 já ocupou a mesma posição
+        buffer.publish(event(stalled));
+
+        List<Long> sequences = new ArrayList<>();
+        assertEquals(4, buffer.drain(event -> sequences.add(event.sequence())));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), sequences);
+        assertEquals(1, buffer.dropped());
+    }
+
+    @Test
+    void shouldSkipAClaimedEventOnceProducersLapItDuringTheDrain() {
+        SqlTraceRingBuffer buffer = new SqlTraceRingBuffer(4);
+        publish(buffer);
+        buffer.claim();
+        publish(buffer);
+
+        List<Long> sequences = new ArrayList<>();
+        buffer.drain(event -> {
+            sequences.add(event.sequence());
+            if (event.sequence() == 0) {
+                // Enquanto o flush roda, os produtores dão uma volta; o 1 e o 5 (mesma posição) nunca gravam
+                publish(buffer);
+                publish(buffer);
+                buffer.claim();
+                publish(buffer);
+                publish(buffer);
+            }
+        });
+
+        // O drain não fica parado no 1: desiste dele e do 2, já sobrescrito pelo 6
+        assertEquals(List.of(0L), sequences);
+        assertEquals(2, buffer.dropped());
+
+        buffer.drain(event -> sequences.add(event.sequence()));
+        assertEquals(List.of(0L, 4L), sequences);
+        assertEquals(3, buffer.dropped());
+    }
+
+    private static void publish(SqlTraceRingBuffer buffer) {
+        buffer.publish(event(buffer.claim()));
+    }
+
+    private static SqlTraceEvent event(long sequence) {
+        return new SqlTraceEvent(sequence, 0, "t", null, "default", "select 1", List.of(), 0, -1, 0, null);
+    }
+}
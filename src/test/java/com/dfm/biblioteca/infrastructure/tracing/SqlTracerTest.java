@@ -0,0 +1,113 @@
+package com.dfm.biblioteca.infrastructure.tracing;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SqlTracerTest implements TestPropertyProvider {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private SqlTracer tracer;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "micronaut.security.enabled", "false",
+                "users.sql-trace.enabled", "true",
+                "users.sql-trace.sample-rate", "0",
+                "users.sql-trace.flush-interval", "1h"
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        tracer.setEnabled(true);
+        tracer.flush(event -> { });
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldTraceRequestsSelectedByHeaderWithMaskedCpf() {
+        userRepository.save(newUser("12345678901"));
+        tracer.flush(event -> { });
+
+        client.toBlocking().exchange(HttpRequest.GET("/users/cpf/12345678901/status").header("X-Sql-Trace", "incident-42"));
+
+        List<SqlTraceEvent> events = drain();
+        assertFalse(events.isEmpty());
+        SqlTraceEvent event = events.stream().filter(e -> e.parameters().contains("12345678901")).findFirst().orElseThrow();
+        assertEquals("incident-42", event.trace());
+        assertEquals("default", event.dataSource());
+        assertTrue(event.sql().toLowerCase().startsWith("select"));
+        assertTrue(SqlTracer.parameters(event).contains("'*********01'"));
+        assertFalse(SqlTracer.parameters(event).contains("12345678901"));
+        assertEquals("GET /users/cpf/*********01/status", SqlTracer.mask(event.route()));
+    }
+
+    @Test
+    void shouldNotTraceUnsampledRequests() {
+        userRepository.save(newUser("12345678902"));
+        tracer.flush(event -> { });
+
+        client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR"));
+        client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR").header("X-Sql-Trace", "false"));
+
+        assertEquals(List.of(), drain());
+    }
+
+    @Test
+    void shouldSwitchTracingAtRuntime() {
+        tracer.setEnabled(false);
+        client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR").header("X-Sql-Trace", "true"));
+        assertEquals(List.of(), drain());
+
+        tracer.setEnabled(true);
+        client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR").header("X-Sql-Trace", "true"));
+        assertFalse(drain().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> tracer.setSampleRate(1.5));
+    }
+
+    private List<SqlTraceEvent> drain() {
+        List<SqlTraceEvent> events = new ArrayList<>();
+        tracer.flush(events::add);
+        return events;
+    }
+}
@@ -0,0 +1,64 @@
+package com.dfm.biblioteca.infrastructure.warmup;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserWarmupTest implements TestPropertyProvider {
+
+    @Inject
+    private UserWarmup userWarmup;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "users.warmup.users", "20",
+                "users.warmup.iterations", "50"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+        System.clearProperty(WarmStart.TRAINING_PROPERTY);
+    }
+
+    @Test
+    void shouldSeedUsersAndRunTheScript() throws Exception {
+        int operations = userWarmup.run();
+
+        // 20 inserções + 2 consultas por volta + 3 a cada 10 voltas + 3 requisições HTTP a cada 50 voltas
+        assertEquals(20 + 50 * 2 + 5 * 3 + 3, operations);
+        assertEquals(19, userRepository.countByStatus(User.UserStatus.REGULAR));
+        assertEquals(1, userRepository.countByStatus(User.UserStatus.BLOCKED));
+    }
+
+    @Test
+    void shouldSkipTrainingUnlessRequested() {
+        assertFalse(WarmStart.trainIfRequested(WarmStart.class));
+
+        System.setProperty(WarmStart.TRAINING_PROPERTY, "aot");
+        assertThrows(IllegalArgumentException.class, () -> WarmStart.trainIfRequested(WarmStart.class));
+    }
+}
@@ -0,0 +1,291 @@
+package com.dfm.biblioteca.presentation.controller;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.repository.UserRepository;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserControllerTest implements TestPropertyProvider {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop",
+                "micronaut.security.enabled", "false"
+        );
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldWalkAllPagesWithCursor(){
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(newUser("1000000000" + i, User.UserStatus.REGULAR));
+        }
+        userRepository.save(newUser("20000000000", User.UserStatus.BLOCKED));
+
+        List<String> cpfs = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String uri = "/users?status=REGULAR&size=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            Map<String, Object> page = client.toBlocking().retrieve(HttpRequest.GET(uri), Argument.mapOf(String.class, Object.class));
+            List<?> content = (List<?>) page.get("content");
+            content.forEach(user -> cpfs.add((String) ((Map<?, ?>) user).get("cpf")));
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("10000000000", "10000000001", "10000000002", "10000000003", "10000000004"), cpfs);
+    }
+
+    @Test
+    void shouldReturnNoCursorOnLastPage(){
+        userRepository.save(newUser("10000000000", User.UserStatus.BLOCKED));
+
+        Map<String, Object> page = client.toBlocking()
+                .retrieve(HttpRequest.GET("/users?status=BLOCKED&size=10"), Argument.mapOf(String.class, Object.class));
+
+        assertEquals(1, ((List<?>) page.get("content")).size());
+        assertNull(page.get("nextCursor"));
+        assertFalse((Boolean) page.get("hasNext"));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor(){
+        HttpClientResponseException e = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/users?status=REGULAR&cursor=n%C3%A3o-%C3%A9-base64")));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+
+    @Test
+    void shouldRejectCursorFromAnotherStatus(){
+        for (int i = 0; i < 3; i++) {
+            userRepository.save(newUser("1000000000" + i, User.UserStatus.REGULAR));
+        }
+        Map<String, Object> page = client.toBlocking()
+                .retrieve(HttpRequest.GET("/users?status=REGULAR&size=1"), Argument.mapOf(String.class, Object.class));
+        String cursor = (String) page.get("nextCursor");
+        assertNotNull(cursor);
+        assertTrue((Boolean) page.get("hasNext"));
+
+        HttpClientResponseException e = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/users?status=BLOCKED&cursor=" + cursor)));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+
+    @Test
+    void shouldExportFilteredUsersAsNdjson(){
+        userRepository.save(newUser("10000000000", User.UserStatus.REGULAR));
+        userRepository.save(newUser("10000000001", User.UserStatus.BLOCKED));
+        userRepository.save(newUser("10000000002", User.UserStatus.REGULAR));
+
+        String body = client.toBlocking().retrieve(HttpRequest.GET("/users/export?status=REGULAR&state=MG"));
+        String[] lines = body.split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"cpf\":\"10000000000\""));
+        assertTrue(lines[1].startsWith("{") && lines[1].contains("\"cpf\":\"10000000002\""));
+    }
+
+    @Test
+    void shouldExportNothingOutsideCreationWindow(){
+        userRepository.save(newUser("10000000000", User.UserStatus.REGULAR));
+
+        HttpResponse<String> response = client.toBlocking()
+                .exchange(HttpRequest.GET("/users/export?createdTo=2000-01-01T00:00:00"), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertTrue(response.getBody().isEmpty());
+    }
+
+    @Test
+    void shouldImportUsersAndReportRejections(){
+        List<User> users = List.of(
+                newUser("10000000000", User.UserStatus.REGULAR),
+                newUser("10000000000", User.UserStatus.REGULAR)
+        );
+
+        Map<String, Object> report = client.toBlocking()
+                .retrieve(HttpRequest.POST("/users/import", users), Argument.mapOf(String.class, Object.class));
+
+        assertEquals(1, report.get("inserted"));
+        assertEquals(1, report.get("rejected"));
+        assertEquals(1, ((List<?>) report.get("chunks")).size());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void shouldCountUsersByStatus(){
+        userRepository.save(newUser("10000000000", User.UserStatus.BLOCKED));
+        userRepository.save(newUser("10000000001", User.UserStatus.REGULAR));
+
+        Map<String, Object> result = client.toBlocking()
+                .retrieve(HttpRequest.GET("/users/count?status=BLOCKED"), Argument.mapOf(String.class, Object.class));
+
+        assertEquals("BLOCKED", result.get("status"));
+        assertEquals(1, result.get("count"));
+    }
+
+    @Test
+    void shouldRunBulkDeleteInBackground() throws InterruptedException {
+        userRepository.save(newUser("10000000000", User.UserStatus.BLOCKED));
+        userRepository.save(newUser("10000000001", User.UserStatus.BLOCKED));
+
+        HttpResponse<Map<String, Object>> started = client.toBlocking()
+                .exchange(HttpRequest.POST("/users/bulk-deletes?status=BLOCKED", ""), Argument.mapOf(String.class, Object.class));
+        assertEquals(HttpStatus.ACCEPTED, started.getStatus());
+
+        String uri = "/users/bulk-deletes/" + started.body().get("id");
+        Map<String, Object> progress = started.body();
+        for (int i = 0; i < 100 && "RUNNING".equals(progress.get("state")); i++) {
+            Thread.sleep(50);
+            progress = client.toBlocking().retrieve(HttpRequest.GET(uri), Argument.mapOf(String.class, Object.class));
+        }
+
+        assertEquals("COMPLETED", progress.get("state"));
+        assertEquals(2, progress.get("deleted"));
+        assertEquals(0, userRepository.countByStatus(User.UserStatus.BLOCKED));
+    }
+
+    @Test
+    void shouldChangeStatusOnlyFromExpectedStatus(){
+        User user = userRepository.save(newUser("10000000000", User.UserStatus.REGULAR));
+        String uri = "/users/" + user.getId() + "/status?from=REGULAR&to=BLOCKED";
+
+        Map<String, Object> changed = client.toBlocking().retrieve(HttpRequest.PUT(uri, ""), Argument.mapOf(String.class, Object.class));
+        assertEquals("BLOCKED", changed.get("status"));
+
+        HttpClientResponseException conflict = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.PUT(uri, "")));
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatus());
+
+        HttpClientResponseException missing = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.PUT("/users/" + (user.getId() + 1000) + "/status?from=REGULAR&to=BLOCKED", "")));
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatus());
+    }
+
+    @Test
+    void shouldRequireDeadlineForPersonaNonGrata(){
+        User user = userRepository.save(newUser("10000000000", User.UserStatus.REGULAR));
+
+        HttpClientResponseException missingUntil = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.PUT("/users/" + user.getId() + "/status?from=REGULAR&to=PERSONA_NON_GRATA", "")));
+        assertEquals(HttpStatus.BAD_REQUEST, missingUntil.getStatus());
+        assertEquals(User.UserStatus.REGULAR, userRepository.findStatusById(user.getId()).orElseThrow());
+
+        Map<String, Object> changed = client.toBlocking().retrieve(HttpRequest.PUT("/users/" + user.getId()
+                + "/status?from=REGULAR&to=PERSONA_NON_GRATA&until=2099-01-01T00:00:00", ""), Argument.mapOf(String.class, Object.class));
+        assertEquals("PERSONA_NON_GRATA", changed.get("status"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhileUserIsUnchanged(){
+        User user = userRepository.save(newUser("10000000001", User.UserStatus.REGULAR));
+
+        HttpResponse<String> first = client.toBlocking().exchange(HttpRequest.GET("/users/cpf/10000000001"), String.class);
+        String etag = first.getHeaders().get(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertEquals("private, no-cache", first.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+
+        HttpResponse<String> notModified = client.toBlocking().exchange(
+                HttpRequest.GET("/users/cpf/10000000001").header(HttpHeaders.IF_NONE_MATCH, etag), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatus());
+        assertFalse(notModified.getBody().isPresent());
+        assertEquals(etag, notModified.getHeaders().get(HttpHeaders.ETAG));
+
+        //O endpoint de status usa a mesma versão
+        HttpResponse<String> status = client.toBlocking().exchange(
+                HttpRequest.GET("/users/cpf/10000000001/status").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, status.getStatus());
+
+        client.toBlocking().exchange(HttpRequest.PUT("/users/" + user.getId() + "/status?from=REGULAR&to=BLOCKED", ""));
+
+        HttpResponse<Map<String, Object>> changed = client.toBlocking().exchange(
+                HttpRequest.GET("/users/cpf/10000000001/status").header(HttpHeaders.IF_NONE_MATCH, etag),
+                Argument.mapOf(String.class, Object.class));
+        assertEquals(HttpStatus.OK, changed.getStatus());
+        assertEquals("BLOCKED", changed.body().get("status"));
+        assertNotEquals(etag, changed.getHeaders().get(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldNotServeCachedCopyWhenVersionDiffers(){
+        userRepository.save(newUser("10000000002", User.UserStatus.REGULAR));
+        String etag = client.toBlocking().exchange(HttpRequest.GET("/users/cpf/10000000002"), String.class)
+                .getHeaders().get(HttpHeaders.ETAG);
+
+        // Outra instância: a linha muda sem o evento que invalidaria o cache desta
+        transactionOperations.executeWrite(status -> status.getConnection()
+                .createNativeMutationQuery("UPDATE users SET status = 'BLOCKED', version = version + 1 WHERE cpf = :cpf")
+                .setParameter("cpf", "10000000002")
+                .executeUpdate());
+
+        HttpResponse<Map<String, Object>> changed = client.toBlocking().exchange(
+                HttpRequest.GET("/users/cpf/10000000002").header(HttpHeaders.IF_NONE_MATCH, etag),
+                Argument.mapOf(String.class, Object.class));
+        assertEquals(HttpStatus.OK, changed.getStatus());
+        assertEquals("BLOCKED", changed.body().get("status"));
+        String changedEtag = changed.getHeaders().get(HttpHeaders.ETAG);
+        assertNotEquals(etag, changedEtag);
+
+        HttpResponse<String> notModified = client.toBlocking().exchange(
+                HttpRequest.GET("/users/cpf/10000000002").header(HttpHeaders.IF_NONE_MATCH, changedEtag), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatus());
+    }
+
+    @Test
+    void shouldReturnNotFoundForConditionalGetOfUnknownCpf(){
+        HttpClientResponseException missing = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/users/cpf/19999999999").header(HttpHeaders.IF_NONE_MATCH, "*")));
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatus());
+    }
+}
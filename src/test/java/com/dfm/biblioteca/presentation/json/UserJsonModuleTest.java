@@ -0,0 +1,128 @@
+package com.dfm.biblioteca.presentation.json;
+
+import com.dfm.biblioteca.domain.entity.User;
+import com.dfm.biblioteca.domain.projection.UserSummary;
+import com.dfm.biblioteca.presentation.view.EntityView;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.dfm.biblioteca.UserFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserJsonModuleTest implements TestPropertyProvider {
+
+    // View diferente da padrão: força o BeanSerializer original do Jackson, usado como referência
+    interface ReferenceView extends EntityView {
+    }
+
+    @Inject
+    private ObjectMapper objectMapper;
+
+    @Override
+    public Map<String, String> getProperties() {
+        return Map.of(
+                "datasources.default.url", "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "datasources.default.driver-class-name", "org.h2.Driver",
+                "datasources.default.username", "sa",
+                "datasources.default.password", "",
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create-drop"
+        );
+    }
+
+    @Test
+    void shouldWriteTheSameFieldsAsTheJacksonBeanSerializer() throws Exception {
+        assertInstanceOf(UserJsonSerializer.class, objectMapper.getSerializerProviderInstance().findValueSerializer(User.class));
+        assertEquals(EntityView.class, objectMapper.getSerializationConfig().getActiveView());
+
+        User complete = newUser("12345678901");
+        complete.setId(7L);
+        complete.setVersion(3L);
+        complete.setStatus(User.UserStatus.PERSONA_NON_GRATA);
+        complete.setPersonaNonGrataUntilDate(LocalDateTime.of(2030, 1, 2, 3, 4, 5));
+        complete.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4));
+        complete.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000));
+        User sparse = newUser("12345678901");
+        sparse.setComplement("");
+
+        for (User user : new User[]{complete, sparse}) {
+            String written = objectMapper.writeValueAsString(user);
+            String reference = objectMapper.writerWithView(ReferenceView.class).writeValueAsString(user);
+            assertEquals(objectMapper.readTree(reference), objectMapper.readTree(written));
+        }
+        JsonNode sparseJson = objectMapper.readTree(objectMapper.writeValueAsString(sparse));
+        assertFalse(sparseJson.has("complement"));
+        assertFalse(sparseJson.has("firstNameKey"));
+        assertEquals(objectMapper.valueToTree(LocalDate.of(1990, 5, 15)), sparseJson.get("birthDate"));
+
+        UserSummary summary = new UserSummary(1L, "João", "Silva", "12345678901", User.UserStatus.BLOCKED);
+        assertEquals(objectMapper.readTree(objectMapper.writerWithView(ReferenceView.class).writeValueAsString(summary)),
+                objectMapper.readTree(objectMapper.writeValueAsString(summary)));
+    }
+
+    @Test
+    void shouldCoverEveryPropertyJacksonWouldWrite() throws Exception {
+        // Com inclusão ALWAYS os nulos também são escritos: um objeto vazio lista todas as propriedades
+        ObjectMapper always = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.ALWAYS);
+        for (Object value : new Object[]{new User(), new UserSummary(null, null, null, null, null)}) {
+            Set<String> reference = fieldNames(always.writerWithView(ReferenceView.class).writeValueAsString(value));
+            assertEquals(reference, fieldNames(always.writeValueAsString(value)),
+                    "Property missing from the hand-written serializer of " + value.getClass().getSimpleName());
+        }
+
+        // Todo campo que o serializer escreve é lido de volta, sem cair no tratamento de propriedade desconhecida
+        String user = always.writerWithView(ReferenceView.class).writeValueAsString(new User());
+        assertInstanceOf(User.class, objectMapper.readerFor(User.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(user));
+    }
+
+    @Test
+    void shouldReadUsersWrittenByTheSerializer() throws Exception {
+        User user = newUser("12345678901");
+        user.setId(9L);
+        user.setStatus(User.UserStatus.BLOCKED);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        User read = objectMapper.readValue(objectMapper.writeValueAsString(user), User.class);
+        assertEquals(9L, read.getId());
+        assertEquals("João", read.getFirstName());
+        assertEquals(LocalDate.of(1990, 5, 15), read.getBirthDate());
+        assertEquals("Belo Horizonte", read.getCity());
+        assertEquals(User.UserStatus.BLOCKED, read.getStatus());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5), read.getCreatedAt());
+        assertNull(read.getComplement());
+
+        User lenient = objectMapper.readValue("{\"cpf\":\"12345678901\",\"firstNameKey\":\"x\",\"unknown\":{\"a\":[1]},\"number\":12}", User.class);
+        assertEquals("12345678901", lenient.getCpf());
+        assertEquals("12", lenient.getNumber());
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readerFor(User.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue("{\"unknown\":1}"));
+    }
+
+    private Set<String> fieldNames(String json) throws Exception {
+        Set<String> names = new TreeSet<>();
+        objectMapper.readTree(json).fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}